@@ -17,6 +17,8 @@ import java.util.Collections;
 import java.util.HashSet;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
 import java.util.function.Function;
 
 import org.eclipse.core.runtime.IProgressMonitor;
@@ -84,7 +86,22 @@ public class BaseJDTLanguageServer {
 	}
 
 	protected <R> CompletableFuture<R> computeAsync(Function<IProgressMonitor, R> code) {
-		return CompletableFutures.computeAsync(cc -> code.apply(toMonitor(cc)));
+		return CompletableFutures.computeAsync(getRequestExecutor(), cc -> code.apply(toMonitor(cc)));
+	}
+
+	/**
+	 * Computes the work of a notification ahead of the queued requests.
+	 */
+	protected <R> CompletableFuture<R> computeNotificationAsync(Function<IProgressMonitor, R> code) {
+		return CompletableFutures.computeAsync(getNotificationExecutor(), cc -> code.apply(toMonitor(cc)));
+	}
+
+	protected static Executor getRequestExecutor() {
+		return JavaLanguageServerPlugin.getInstance() == null ? ForkJoinPool.commonPool() : JavaLanguageServerPlugin.getMessageExecutor();
+	}
+
+	protected static Executor getNotificationExecutor() {
+		return JavaLanguageServerPlugin.getInstance() == null ? ForkJoinPool.commonPool() : JavaLanguageServerPlugin.getMessageExecutor().getHighPriorityExecutor();
 	}
 
 	protected IProgressMonitor toMonitor(CancelChecker checker) {
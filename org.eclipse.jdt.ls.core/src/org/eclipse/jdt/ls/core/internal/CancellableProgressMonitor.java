@@ -13,13 +13,16 @@
 package org.eclipse.jdt.ls.core.internal;
 
 import java.util.concurrent.CancellationException;
+import java.util.concurrent.TimeUnit;
 
+import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.NullProgressMonitor;
 import org.eclipse.lsp4j.jsonrpc.CancelChecker;
 
 /**
  * Progress monitor wrapping a {@link CancelChecker}. Cancelling the
- * CancelChecker will also cancel this monitor.
+ * CancelChecker will also cancel this monitor. The monitor is also cancelled
+ * once its time budget, if any, is exceeded.
  *
  * @author Gorkem Ercan
  */
@@ -29,6 +32,10 @@ public class CancellableProgressMonitor extends NullProgressMonitor {
 
 	private boolean done;
 
+	private volatile long deadline;
+
+	private volatile boolean timedOut;
+
 	public CancellableProgressMonitor(CancelChecker checker) {
 		this.cancelChecker = checker;
 	}
@@ -45,9 +52,41 @@ public class CancellableProgressMonitor extends NullProgressMonitor {
 				return true;
 			}
 		}
+		if (deadline != 0 && System.nanoTime() - deadline >= 0) {
+			timedOut = true;
+			return true;
+		}
 		return false;
 	}
 
+	/**
+	 * Sets the time budget of the monitor, from now on. The monitor is cancelled
+	 * once the budget is exceeded.
+	 *
+	 * @param millis
+	 *            the time budget, in milliseconds, or 0 for none
+	 */
+	public void setTimeBudget(long millis) {
+		deadline = millis > 0 ? System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(millis) : 0;
+	}
+
+	/**
+	 * Returns whether the monitor was cancelled because its time budget was
+	 * exceeded, rather than by the client.
+	 */
+	public boolean isTimedOut() {
+		return timedOut;
+	}
+
+	/**
+	 * Returns whether the monitor is a {@link CancellableProgressMonitor} whose
+	 * time budget was exceeded, in which case the results found so far should be
+	 * returned.
+	 */
+	public static boolean isTimedOut(IProgressMonitor monitor) {
+		return monitor instanceof CancellableProgressMonitor cancellable && cancellable.isTimedOut();
+	}
+
 	@Override
 	public void done() {
 		super.done();
@@ -0,0 +1,195 @@
+/*******************************************************************************
+ * Copyright (c) 2024 Red Hat Inc. and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Red Hat Inc. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ls.core.internal;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.lsp4j.Diagnostic;
+import org.eclipse.lsp4j.PublishDiagnosticsParams;
+
+/**
+ * Publishes diagnostics to the client.
+ * <ul>
+ * <li>Diagnostics identical to the ones last published for a URI are
+ * suppressed.</li>
+ * <li>When a window is set, the diagnostics published within the window are
+ * coalesced into the latest diagnostics per URI, and sent in batches of at most
+ * <code>batchSize</code> URIs.</li>
+ * </ul>
+ */
+public class DiagnosticsPublisher {
+
+	private final Consumer<PublishDiagnosticsParams> sender;
+	private final long window;
+	private final int batchSize;
+	// the diagnostics last sent per URI
+	private final Map<String, Published> published = new ConcurrentHashMap<>();
+	// the diagnostics waiting to be sent, guarded by itself
+	private final Map<String, PublishDiagnosticsParams> pending = new LinkedHashMap<>();
+	// the URIs forgotten while their diagnostics were pending, guarded by pending
+	private final Set<String> forgotten = new HashSet<>();
+	private final Job flushJob;
+	private final AtomicLong sentCount = new AtomicLong();
+	private final AtomicLong suppressedCount = new AtomicLong();
+	private final AtomicLong coalescedCount = new AtomicLong();
+
+	/**
+	 * @param sender
+	 *            sends the diagnostics to the client
+	 * @param window
+	 *            the time to wait for more diagnostics before sending them, in
+	 *            milliseconds. <code>0</code> sends the diagnostics immediately.
+	 * @param batchSize
+	 *            the maximum number of URIs sent per batch
+	 */
+	public DiagnosticsPublisher(Consumer<PublishDiagnosticsParams> sender, long window, int batchSize) {
+		this.sender = sender;
+		this.window = window;
+		this.batchSize = Math.max(1, batchSize);
+		this.flushJob = new Job("Publish diagnostics") {
+			@Override
+			protected IStatus run(IProgressMonitor monitor) {
+				flush();
+				return Status.OK_STATUS;
+			}
+		};
+		this.flushJob.setSystem(true);
+	}
+
+	public void publish(PublishDiagnosticsParams params) {
+		if (params == null || params.getUri() == null) {
+			return;
+		}
+		if (window <= 0) {
+			send(params);
+			return;
+		}
+		synchronized (pending) {
+			if (pending.put(params.getUri(), params) != null) {
+				coalescedCount.incrementAndGet();
+			}
+			if (pending.size() == 1) {
+				flushJob.schedule(window);
+			}
+		}
+	}
+
+	/**
+	 * Sends the pending diagnostics, one batch at a time.
+	 */
+	public void flush() {
+		while (true) {
+			List<PublishDiagnosticsParams> batch = new ArrayList<>();
+			synchronized (pending) {
+				Iterator<PublishDiagnosticsParams> iterator = pending.values().iterator();
+				while (iterator.hasNext() && batch.size() < batchSize) {
+					batch.add(iterator.next());
+					iterator.remove();
+				}
+			}
+			if (batch.isEmpty()) {
+				return;
+			}
+			batch.forEach(this::send);
+		}
+	}
+
+	private void send(PublishDiagnosticsParams params) {
+		boolean forget;
+		synchronized (pending) {
+			forget = forgotten.remove(params.getUri());
+		}
+		if (forget) {
+			published.remove(params.getUri());
+			sentCount.incrementAndGet();
+			sender.accept(params);
+			return;
+		}
+		Published current = new Published(params);
+		if (current.equals(published.put(params.getUri(), current))) {
+			suppressedCount.incrementAndGet();
+			return;
+		}
+		sentCount.incrementAndGet();
+		sender.accept(params);
+	}
+
+	/**
+	 * Forgets the diagnostics last sent for the given URI, so the next
+	 * diagnostics are sent even if they are identical. The diagnostics pending
+	 * for the URI are still sent, without being remembered, e.g. the empty
+	 * diagnostics clearing a closed document or a deleted resource.
+	 */
+	public void forget(String uri) {
+		synchronized (pending) {
+			if (pending.containsKey(uri)) {
+				forgotten.add(uri);
+			}
+		}
+		published.remove(uri);
+	}
+
+	public long getSentCount() {
+		return sentCount.get();
+	}
+
+	public long getSuppressedCount() {
+		return suppressedCount.get();
+	}
+
+	public long getCoalescedCount() {
+		return coalescedCount.get();
+	}
+
+	/**
+	 * A copy of published diagnostics, compared by hash first.
+	 */
+	private static final class Published {
+		private final int hash;
+		private final Integer version;
+		private final List<Diagnostic> diagnostics;
+
+		private Published(PublishDiagnosticsParams params) {
+			this.hash = params.hashCode();
+			this.version = params.getVersion();
+			this.diagnostics = params.getDiagnostics() == null ? null : new ArrayList<>(params.getDiagnostics());
+		}
+
+		@Override
+		public int hashCode() {
+			return hash;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj) {
+				return true;
+			}
+			return obj instanceof Published other && hash == other.hash && Objects.equals(version, other.version) && Objects.equals(diagnostics, other.diagnostics);
+		}
+	}
+}
@@ -15,23 +15,38 @@ package org.eclipse.jdt.ls.core.internal;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
 
+/**
+ * The error levels of the non-project files. The state is read from the
+ * reconcile jobs and written from the request threads, so the global level and
+ * the customized levels are swapped atomically.
+ */
 public class DiagnosticsState {
 
-	private ErrorLevel globalErrorLevel = ErrorLevel.SYNTAX_ERROR;
-
-	private Map<String, ErrorLevel> customizedErrorLevels = new HashMap<>();
+	private final AtomicReference<Levels> levels = new AtomicReference<>(new Levels(ErrorLevel.SYNTAX_ERROR, Map.of()));
 
 	public boolean isOnlySyntaxReported(String uri) {
-		return customizedErrorLevels.getOrDefault(uri, globalErrorLevel) == ErrorLevel.SYNTAX_ERROR;
+		return getErrorLevel(uri) == ErrorLevel.SYNTAX_ERROR;
+	}
+
+	public ErrorLevel getErrorLevel(String uri) {
+		Levels current = levels.get();
+		return uri == null ? current.global() : current.customized().getOrDefault(uri, current.global());
 	}
 
 	public void setErrorLevel(String uri, boolean syntaxOnly) {
-		customizedErrorLevels.put(uri, syntaxOnly ? ErrorLevel.SYNTAX_ERROR : ErrorLevel.COMPILATION_ERROR);
+		ErrorLevel level = syntaxOnly ? ErrorLevel.SYNTAX_ERROR : ErrorLevel.COMPILATION_ERROR;
+		// a concurrent change of the global level would discard an update of the map in place
+		levels.updateAndGet(current -> {
+			Map<String, ErrorLevel> customized = new HashMap<>(current.customized());
+			customized.put(uri, level);
+			return new Levels(current.global(), customized);
+		});
 	}
 
 	public ErrorLevel getGlobalErrorLevel() {
-		return globalErrorLevel;
+		return levels.get().global();
 	}
 
 	public void setGlobalErrorLevel(boolean syntaxOnly) {
@@ -39,8 +54,20 @@ public class DiagnosticsState {
 	}
 
 	public void setGlobalErrorLevel(ErrorLevel level) {
-		globalErrorLevel = level == null ? ErrorLevel.SYNTAX_ERROR : level;
-		customizedErrorLevels.clear();
+		levels.set(new Levels(level == null ? ErrorLevel.SYNTAX_ERROR : level, Map.of()));
+	}
+
+	/**
+	 * Returns an immutable snapshot of the customized error levels.
+	 */
+	public Map<String, ErrorLevel> getCustomizedErrorLevels() {
+		return levels.get().customized();
+	}
+
+	private record Levels(ErrorLevel global, Map<String, ErrorLevel> customized) {
+		private Levels {
+			customized = Map.copyOf(customized);
+		}
 	}
 
 	public enum ErrorLevel {
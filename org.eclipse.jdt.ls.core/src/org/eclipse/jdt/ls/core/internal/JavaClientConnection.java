@@ -29,11 +29,13 @@ import org.eclipse.lsp4j.ExecuteCommandParams;
 import org.eclipse.lsp4j.MessageActionItem;
 import org.eclipse.lsp4j.MessageParams;
 import org.eclipse.lsp4j.MessageType;
+import org.eclipse.lsp4j.ProgressParams;
 import org.eclipse.lsp4j.PublishDiagnosticsParams;
 import org.eclipse.lsp4j.RegistrationParams;
 import org.eclipse.lsp4j.ShowMessageRequestParams;
 import org.eclipse.lsp4j.UnregistrationParams;
 import org.eclipse.lsp4j.WorkspaceEdit;
+import org.eclipse.lsp4j.jsonrpc.messages.Either;
 import org.eclipse.lsp4j.jsonrpc.services.JsonNotification;
 import org.eclipse.lsp4j.services.LanguageClient;
 
@@ -76,11 +78,42 @@ public class JavaClientConnection {
 	}
 
 	final JavaLanguageClient client;
+	private DiagnosticsPublisher diagnosticsPublisher;
 
 	public JavaClientConnection(JavaLanguageClient client) {
 		this.client = client;
 	}
 
+	/**
+	 * Routes the published diagnostics through a {@link DiagnosticsPublisher},
+	 * which suppresses identical diagnostics and coalesces bursts.
+	 *
+	 * @param window
+	 *            the time to wait for more diagnostics before sending them, in
+	 *            milliseconds
+	 * @param batchSize
+	 *            the maximum number of URIs sent per batch
+	 */
+	public void enableDiagnosticsPublisher(long window, int batchSize) {
+		this.diagnosticsPublisher = new DiagnosticsPublisher(client::publishDiagnostics, window, batchSize);
+	}
+
+	public DiagnosticsPublisher getDiagnosticsPublisher() {
+		return diagnosticsPublisher;
+	}
+
+	/**
+	 * Forgets the diagnostics published for the URI, once they are cleared
+	 * because the document is closed or the resource is deleted.
+	 *
+	 * @see DiagnosticsPublisher#forget(String)
+	 */
+	public void forgetDiagnostics(String uri) {
+		if (diagnosticsPublisher != null) {
+			diagnosticsPublisher.forget(uri);
+		}
+	}
+
 	public Object executeClientCommand(Duration timeout, String id, Object... params) throws InterruptedException, ExecutionException, TimeoutException {
 		return this.client.executeClientCommand(new ExecuteCommandParams(id, ImmutableList.copyOf(params))).get(timeout.toNanos(), TimeUnit.NANOSECONDS);
 	}
@@ -169,8 +202,25 @@ public class JavaClientConnection {
 		client.sendEventNotification(notification);
 	}
 
+	/**
+	 * Sends a partial result of a request, identified by the
+	 * <code>partialResultToken</code> of the request, to the client.
+	 *
+	 * @param token
+	 *            the partial result token
+	 * @param partialResult
+	 *            the partial result
+	 */
+	public void sendPartialResult(Either<String, Integer> token, Object partialResult) {
+		client.notifyProgress(new ProgressParams(token, Either.forRight(partialResult)));
+	}
+
 	public void publishDiagnostics(PublishDiagnosticsParams diagnostics){
-		client.publishDiagnostics(diagnostics);
+		if (diagnosticsPublisher != null) {
+			diagnosticsPublisher.publish(diagnostics);
+		} else {
+			client.publishDiagnostics(diagnostics);
+		}
 	}
 
 
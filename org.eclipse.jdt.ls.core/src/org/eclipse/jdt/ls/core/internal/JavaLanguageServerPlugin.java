@@ -21,9 +21,14 @@ import java.net.PasswordAuthentication;
 import java.nio.channels.AsynchronousServerSocketChannel;
 import java.nio.channels.AsynchronousSocketChannel;
 import java.nio.channels.Channels;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
 
 import org.apache.commons.lang3.StringUtils;
@@ -65,6 +70,9 @@ import org.eclipse.jdt.ls.core.internal.syntaxserver.SyntaxLanguageServer;
 import org.eclipse.jdt.ls.core.internal.syntaxserver.SyntaxProjectsManager;
 import org.eclipse.lsp4j.jsonrpc.Launcher;
 import org.eclipse.lsp4j.jsonrpc.MessageConsumer;
+import org.eclipse.lsp4j.jsonrpc.json.JsonRpcMethod;
+import org.eclipse.lsp4j.jsonrpc.json.MessageJsonHandler;
+import org.eclipse.lsp4j.jsonrpc.services.ServiceEndpoints;
 import org.eclipse.text.templates.ContextTypeRegistry;
 import org.osgi.framework.Bundle;
 import org.osgi.framework.BundleContext;
@@ -126,7 +134,9 @@ public class JavaLanguageServerPlugin extends Plugin {
 
 	private DiagnosticsState nonProjectDiagnosticsState;
 
-	private ExecutorService executorService;
+	private MessageExecutor executorService;
+	private ExecutorService timeLimitedExecutorService;
+	private StreamingMessageConsumer outgoingMessageConsumer;
 	private CompletionContributionService completionContributionService;
 	private LogHandler logHandler;
 
@@ -339,7 +349,8 @@ public class JavaLanguageServerPlugin extends Plugin {
 				AsynchronousSocketChannel socketChannel = serverSocket.accept().get();
 				InputStream in = Channels.newInputStream(socketChannel);
 				OutputStream out = Channels.newOutputStream(socketChannel);
-				Function<MessageConsumer, MessageConsumer> messageConsumer = it -> it;
+				outgoingMessageConsumer = new StreamingMessageConsumer(out, createJsonHandler());
+				Function<MessageConsumer, MessageConsumer> messageConsumer = outgoingMessageConsumer::replaceOutgoing;
 				launcher = Launcher.createIoLauncher(protocol, JavaLanguageClient.class, in, out, executorService, messageConsumer);
 			} catch (InterruptedException | ExecutionException e) {
 				throw new RuntimeException("Error when opening a socket channel at " + host + ":" + port + ".", e);
@@ -348,11 +359,10 @@ public class JavaLanguageServerPlugin extends Plugin {
 			ConnectionStreamFactory connectionFactory = new ConnectionStreamFactory(languageServer);
 			InputStream in = connectionFactory.getInputStream();
 			OutputStream out = connectionFactory.getOutputStream();
-			Function<MessageConsumer, MessageConsumer> wrapper;
-			if ("false".equals(System.getProperty("watchParentProcess"))) {
-				wrapper = it -> it;
-			} else {
-				wrapper = new ParentProcessWatcher(this.languageServer);
+			outgoingMessageConsumer = new StreamingMessageConsumer(out, createJsonHandler());
+			Function<MessageConsumer, MessageConsumer> wrapper = outgoingMessageConsumer::replaceOutgoing;
+			if (!"false".equals(System.getProperty("watchParentProcess"))) {
+				wrapper = wrapper.andThen(new ParentProcessWatcher(this.languageServer));
 			}
 			launcher = Launcher.createLauncher(protocol, JavaLanguageClient.class, in, out, executorService, wrapper);
 		}
@@ -361,6 +371,24 @@ public class JavaLanguageServerPlugin extends Plugin {
 		logHandler.setClientConnection(pluginInstance.getClientConnection());
 	}
 
+	/**
+	 * Creates the JSON handler of the outgoing messages, supporting the same
+	 * methods as the handler of the launcher.
+	 */
+	private MessageJsonHandler createJsonHandler() {
+		Map<String, JsonRpcMethod> supportedMethods = new LinkedHashMap<>(ServiceEndpoints.getSupportedMethods(JavaLanguageClient.class));
+		supportedMethods.putAll(ServiceEndpoints.getSupportedMethods(protocol.getClass()));
+		return new MessageJsonHandler(supportedMethods);
+	}
+
+	/**
+	 * Returns the consumer writing the outgoing messages, or <code>null</code>
+	 * if the connection isn't started.
+	 */
+	public StreamingMessageConsumer getOutgoingMessageConsumer() {
+		return outgoingMessageConsumer;
+	}
+
 	/*
 	 * (non-Javadoc)
 	 * @see org.osgi.framework.BundleActivator#stop(org.osgi.framework.BundleContext)
@@ -562,9 +590,36 @@ public class JavaLanguageServerPlugin extends Plugin {
 		return pluginInstance.sourceDownloader;
 	}
 
-	public synchronized static ExecutorService getExecutorService() {
+	public static ExecutorService getExecutorService() {
+		return getMessageExecutor();
+	}
+
+	/**
+	 * Returns the executor of the tasks run with a time limit by the requests,
+	 * e.g. the Javadoc lookups. The requests wait for these tasks, so they
+	 * mustn't be queued behind the requests on the bounded message executor.
+	 */
+	public synchronized static ExecutorService getTimeLimitedExecutorService() {
+		if (pluginInstance.timeLimitedExecutorService == null || pluginInstance.timeLimitedExecutorService.isShutdown()) {
+			int threads = Math.max(2, Runtime.getRuntime().availableProcessors() / 2);
+			AtomicInteger count = new AtomicInteger();
+			ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 60L, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), runnable -> {
+				Thread thread = new Thread(runnable, "JDTLS time-limited task " + count.incrementAndGet());
+				thread.setDaemon(true);
+				return thread;
+			});
+			executor.allowCoreThreadTimeOut(true);
+			pluginInstance.timeLimitedExecutorService = executor;
+		}
+		return pluginInstance.timeLimitedExecutorService;
+	}
+
+	/**
+	 * Returns the executor of the JSON-RPC messages and of the requests.
+	 */
+	public synchronized static MessageExecutor getMessageExecutor() {
 		if (pluginInstance.executorService == null || pluginInstance.executorService.isShutdown()) {
-			pluginInstance.executorService = Executors.newCachedThreadPool();
+			pluginInstance.executorService = MessageExecutor.create();
 		}
 		return pluginInstance.executorService;
 	}
@@ -0,0 +1,207 @@
+/*******************************************************************************
+ * Copyright (c) 2024 Red Hat Inc. and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Red Hat Inc. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ls.core.internal;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Executes the JSON-RPC messages and the requests of the language server on a
+ * bounded number of threads.
+ * <ul>
+ * <li>Queued tasks run by priority, and in submission order for the same
+ * priority, so that the work of notifications runs before the queued
+ * requests.</li>
+ * <li>Normal priority tasks are rejected once <code>maxQueueSize</code> tasks
+ * wait for a thread.</li>
+ * <li>The threads are virtual threads if requested and supported by the
+ * runtime.</li>
+ * </ul>
+ * The message reader of the connection occupies one of the threads for the
+ * lifetime of the server.
+ */
+public class MessageExecutor extends ThreadPoolExecutor {
+
+	/**
+	 * Environment variable or system property for the maximum number of threads.
+	 */
+	public static final String THREADS = "jdt.ls.executor.threads";
+	/**
+	 * Environment variable or system property for the maximum number of queued
+	 * requests.
+	 */
+	public static final String QUEUE_SIZE = "jdt.ls.executor.queueSize";
+	/**
+	 * Environment variable or system property enabling virtual threads.
+	 */
+	public static final String VIRTUAL_THREADS = "jdt.ls.executor.virtualThreads";
+
+	public static final int PRIORITY_HIGH = 0;
+	public static final int PRIORITY_NORMAL = 1;
+
+	private static final int DEFAULT_QUEUE_SIZE = 1000;
+	// the message reader and at least one request
+	private static final int MIN_THREADS = 2;
+
+	private final int maxQueueSize;
+	private final boolean virtualThreads;
+	private final AtomicLong sequence = new AtomicLong();
+	private final AtomicLong rejectedCount = new AtomicLong();
+	private final Executor highPriorityExecutor = command -> execute(command, PRIORITY_HIGH);
+
+	public MessageExecutor(int threads, int maxQueueSize, boolean virtualThreads) {
+		this(Math.max(MIN_THREADS, threads), maxQueueSize, virtualThreads ? createVirtualThreadFactory() : null);
+	}
+
+	private MessageExecutor(int threads, int maxQueueSize, ThreadFactory virtualThreadFactory) {
+		super(threads, threads, 60L, TimeUnit.SECONDS, new PriorityBlockingQueue<>(), virtualThreadFactory == null ? new PlatformThreadFactory() : virtualThreadFactory);
+		// the queue is unbounded, so the pool never grows past its core size
+		allowCoreThreadTimeOut(true);
+		this.maxQueueSize = Math.max(1, maxQueueSize);
+		this.virtualThreads = virtualThreadFactory != null;
+	}
+
+	/**
+	 * Creates an executor configured by the {@link #THREADS},
+	 * {@link #QUEUE_SIZE} and {@link #VIRTUAL_THREADS} environment variables or
+	 * system properties.
+	 */
+	public static MessageExecutor create() {
+		int threads = getInt(THREADS, Runtime.getRuntime().availableProcessors() + 1);
+		int queueSize = getInt(QUEUE_SIZE, DEFAULT_QUEUE_SIZE);
+		boolean virtualThreads = Boolean.parseBoolean(Environment.get(VIRTUAL_THREADS, "false"));
+		return new MessageExecutor(threads, queueSize, virtualThreads);
+	}
+
+	private static int getInt(String name, int defaultValue) {
+		String value = Environment.get(name);
+		if (value != null) {
+			try {
+				return Integer.parseInt(value.trim());
+			} catch (NumberFormatException e) {
+				JavaLanguageServerPlugin.logError(name + " value (" + value + ") is not an int, falling back on " + defaultValue);
+			}
+		}
+		return defaultValue;
+	}
+
+	@Override
+	public void execute(Runnable command) {
+		execute(command, PRIORITY_NORMAL);
+	}
+
+	/**
+	 * Executes the command with the given priority, a lower value running
+	 * first.
+	 *
+	 * @throws RejectedExecutionException
+	 *             if the queue is full and the command doesn't have a high
+	 *             priority
+	 */
+	public void execute(Runnable command, int priority) {
+		if (command == null) {
+			throw new NullPointerException();
+		}
+		if (priority > PRIORITY_HIGH && getQueue().size() >= maxQueueSize) {
+			long rejected = rejectedCount.incrementAndGet();
+			JavaLanguageServerPlugin.debugTrace("Rejected a request, " + getQueue().size() + " pending tasks, " + rejected + " requests rejected so far");
+			throw new RejectedExecutionException("Too many pending requests (" + maxQueueSize + ")");
+		}
+		super.execute(new PrioritizedTask(command, priority, sequence.getAndIncrement()));
+	}
+
+	/**
+	 * Returns an executor running its commands ahead of the queued requests.
+	 */
+	public Executor getHighPriorityExecutor() {
+		return highPriorityExecutor;
+	}
+
+	public int getQueueDepth() {
+		return getQueue().size();
+	}
+
+	public int getMaxQueueSize() {
+		return maxQueueSize;
+	}
+
+	public long getRejectedCount() {
+		return rejectedCount.get();
+	}
+
+	public boolean isVirtualThreads() {
+		return virtualThreads;
+	}
+
+	/**
+	 * Returns a summary of the queue and of the rejected requests, for the
+	 * logs.
+	 */
+	public String getStatistics() {
+		return String.format("%d pending tasks, %d requests rejected (max queue size %d, %d %s threads)", getQueueDepth(), getRejectedCount(), maxQueueSize,
+				getMaximumPoolSize(), virtualThreads ? "virtual" : "platform");
+	}
+
+	/**
+	 * Virtual threads are available from Java 21, the bundle targets Java 17.
+	 */
+	private static ThreadFactory createVirtualThreadFactory() {
+		try {
+			Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+			Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+			builder = builderClass.getMethod("name", String.class, long.class).invoke(builder, "jdtls-message-", 0L);
+			return (ThreadFactory) builderClass.getMethod("factory").invoke(builder);
+		} catch (ReflectiveOperationException | RuntimeException e) {
+			JavaLanguageServerPlugin.logInfo("Virtual threads are not supported by the Java runtime, using platform threads");
+			return null;
+		}
+	}
+
+	private static final class PlatformThreadFactory implements ThreadFactory {
+		private final AtomicInteger count = new AtomicInteger();
+
+		@Override
+		public Thread newThread(Runnable runnable) {
+			return new Thread(runnable, "jdtls-message-" + count.getAndIncrement());
+		}
+	}
+
+	private static final class PrioritizedTask implements Runnable, Comparable<PrioritizedTask> {
+		private final Runnable command;
+		private final int priority;
+		private final long sequence;
+
+		private PrioritizedTask(Runnable command, int priority, long sequence) {
+			this.command = command;
+			this.priority = priority;
+			this.sequence = sequence;
+		}
+
+		@Override
+		public void run() {
+			command.run();
+		}
+
+		@Override
+		public int compareTo(PrioritizedTask other) {
+			int result = Integer.compare(priority, other.priority);
+			return result != 0 ? result : Long.compare(sequence, other.sequence);
+		}
+	}
+}
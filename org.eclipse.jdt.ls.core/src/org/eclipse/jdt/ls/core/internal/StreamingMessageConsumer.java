@@ -0,0 +1,182 @@
+/*******************************************************************************
+ * Copyright (c) 2024 Red Hat Inc. and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Red Hat Inc. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ls.core.internal;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+import org.eclipse.lsp4j.jsonrpc.JsonRpcException;
+import org.eclipse.lsp4j.jsonrpc.MessageConsumer;
+import org.eclipse.lsp4j.jsonrpc.json.MessageJsonHandler;
+import org.eclipse.lsp4j.jsonrpc.json.StreamMessageConsumer;
+import org.eclipse.lsp4j.jsonrpc.messages.Message;
+
+/**
+ * Writes the outgoing JSON-RPC messages to the output stream, like
+ * {@link StreamMessageConsumer}, without serializing them into an intermediate
+ * String.
+ *
+ * The messages are serialized as UTF-8 into a buffer reused across messages,
+ * since the content length must be known before the content is written. The
+ * buffer is released after a message larger than
+ * <code>MAX_RETAINED_BUFFER_SIZE</code>, so a single huge response doesn't stay
+ * in memory.
+ */
+public class StreamingMessageConsumer implements MessageConsumer {
+
+	private static final int INITIAL_BUFFER_SIZE = 8 * 1024;
+	private static final int MAX_RETAINED_BUFFER_SIZE = 4 * 1024 * 1024;
+	private static final String CONTENT_LENGTH_HEADER = "Content-Length: ";
+	private static final String CRLF = "\r\n";
+
+	private final OutputStream output;
+	private final MessageJsonHandler jsonHandler;
+	// guarded by itself
+	private final MessageBuffer buffer = new MessageBuffer();
+	private final Writer writer = new OutputStreamWriter(buffer, StandardCharsets.UTF_8);
+	private long messageCount;
+	private long byteCount;
+	private long allocatedBytes;
+	private int maxMessageSize;
+
+	public StreamingMessageConsumer(OutputStream output, MessageJsonHandler jsonHandler) {
+		this.output = output;
+		this.jsonHandler = jsonHandler;
+	}
+
+	/**
+	 * Message wrapper of the launcher, replacing the consumer of the outgoing
+	 * messages by this consumer.
+	 */
+	public MessageConsumer replaceOutgoing(MessageConsumer consumer) {
+		return consumer instanceof StreamMessageConsumer ? this : consumer;
+	}
+
+	@Override
+	public void consume(Message message) {
+		synchronized (buffer) {
+			try {
+				jsonHandler.serialize(message, writer);
+				writer.flush();
+				int size = buffer.size;
+				String header = CONTENT_LENGTH_HEADER + size + CRLF + CRLF;
+				output.write(header.getBytes(StandardCharsets.US_ASCII));
+				output.write(buffer.bytes, 0, size);
+				output.flush();
+				messageCount++;
+				byteCount += size;
+				maxMessageSize = Math.max(maxMessageSize, size);
+			} catch (IOException e) {
+				throw new JsonRpcException(e);
+			} finally {
+				discardPendingOutput();
+			}
+		}
+	}
+
+	/**
+	 * Discards the serialized content, including the content the writer still
+	 * holds when the serialization failed.
+	 */
+	private void discardPendingOutput() {
+		try {
+			writer.flush();
+		} catch (IOException e) {
+			// the buffer doesn't throw
+		}
+		buffer.reset();
+	}
+
+	public long getMessageCount() {
+		synchronized (buffer) {
+			return messageCount;
+		}
+	}
+
+	/**
+	 * Returns the number of content bytes written, the headers excluded.
+	 */
+	public long getByteCount() {
+		synchronized (buffer) {
+			return byteCount;
+		}
+	}
+
+	public int getMaxMessageSize() {
+		synchronized (buffer) {
+			return maxMessageSize;
+		}
+	}
+
+	/**
+	 * Returns the number of bytes allocated by the serialization buffer.
+	 */
+	public long getAllocatedBytes() {
+		synchronized (buffer) {
+			return allocatedBytes;
+		}
+	}
+
+	/**
+	 * Returns a summary of the messages written and of the memory allocated to
+	 * serialize them, for the logs.
+	 */
+	public String getStatistics() {
+		synchronized (buffer) {
+			long averageAllocation = messageCount == 0 ? 0 : allocatedBytes / messageCount;
+			return String.format("%d messages, %d bytes written (max message size %d), %d bytes allocated (%d per message)", messageCount, byteCount, maxMessageSize,
+					allocatedBytes, averageAllocation);
+		}
+	}
+
+	private final class MessageBuffer extends OutputStream {
+		private byte[] bytes = allocate(INITIAL_BUFFER_SIZE);
+		private int size;
+
+		@Override
+		public void write(int b) {
+			ensureCapacity(size + 1);
+			bytes[size++] = (byte) b;
+		}
+
+		@Override
+		public void write(byte[] b, int off, int len) {
+			ensureCapacity(size + len);
+			System.arraycopy(b, off, bytes, size, len);
+			size += len;
+		}
+
+		private void ensureCapacity(int capacity) {
+			if (capacity > bytes.length) {
+				byte[] newBytes = allocate(Math.max(capacity, bytes.length * 2));
+				System.arraycopy(bytes, 0, newBytes, 0, size);
+				bytes = newBytes;
+			}
+		}
+
+		private void reset() {
+			size = 0;
+			if (bytes.length > MAX_RETAINED_BUFFER_SIZE) {
+				bytes = allocate(INITIAL_BUFFER_SIZE);
+			}
+		}
+
+		private byte[] allocate(int length) {
+			allocatedBytes += length;
+			return new byte[length];
+		}
+	}
+}
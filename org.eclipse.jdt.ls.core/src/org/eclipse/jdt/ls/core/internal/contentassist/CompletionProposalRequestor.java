@@ -409,11 +409,8 @@ public final class CompletionProposalRequestor extends CompletionRequestor {
 				$.setDeprecated(true);
 			}
 		}
-		Map<String, String> data = new HashMap<>();
 		// append data field so that resolve request can use it.
-		data.put(CompletionResolveHandler.DATA_FIELD_REQUEST_ID, String.valueOf(response.getId()));
-		data.put(CompletionResolveHandler.DATA_FIELD_PROPOSAL_ID, String.valueOf(index));
-		$.setData(data);
+		$.setData(CompletionResolveHandler.createData(response.getId(), index));
 		this.descriptionProvider.updateDescription(proposal, $);
 		$.setSortText(SortTextHelper.computeSortText(proposal));
 		proposalProvider.updateReplacement(proposal, $, '\0');
@@ -213,7 +213,7 @@ public final class SignatureHelpRequestor extends CompletionRequestor {
 							}
 							String javadoc = null;
 							try {
-								javadoc = SimpleTimeLimiter.create(JavaLanguageServerPlugin.getExecutorService()).callWithTimeout(() -> {
+								javadoc = SimpleTimeLimiter.create(JavaLanguageServerPlugin.getTimeLimitedExecutorService()).callWithTimeout(() -> {
 									Reader reader = JavadocContentAccess2.getPlainTextContentReader(method);
 									return reader == null ? null : CharStreams.toString(reader);
 								}, 500, TimeUnit.MILLISECONDS);
@@ -16,9 +16,7 @@ package org.eclipse.jdt.ls.core.internal.contentassist;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 import java.util.function.Predicate;
 
 import org.eclipse.core.runtime.CoreException;
@@ -392,10 +390,7 @@ public class SnippetCompletionProposal extends CompletionProposal {
 				item.setLabelDetails(itemLabelDetails);
 			}
 
-			Map<String, String> data = new HashMap<>(2);
-			data.put(CompletionResolveHandler.DATA_FIELD_REQUEST_ID, String.valueOf(response.getId()));
-			data.put(CompletionResolveHandler.DATA_FIELD_PROPOSAL_ID, String.valueOf(i));
-			item.setData(data);
+			item.setData(CompletionResolveHandler.createData(response.getId(), i));
 
 			proposals.add(i - indexReduction, new SnippetCompletionProposal(template));
 			res.add(item);
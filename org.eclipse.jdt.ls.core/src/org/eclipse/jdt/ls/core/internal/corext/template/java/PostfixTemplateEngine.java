@@ -14,9 +14,7 @@ package org.eclipse.jdt.ls.core.internal.corext.template.java;
 
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 
 import org.eclipse.jdt.core.CompletionContext;
 import org.eclipse.jdt.core.CompletionProposal;
@@ -135,10 +133,7 @@ public class PostfixTemplateEngine {
 			// we hope postfix shows at the bottom of the completion list.
 			item.setSortText(SortTextHelper.convertRelevance(0));
 
-			Map<String, String> data = new HashMap<>(2);
-			data.put(CompletionResolveHandler.DATA_FIELD_REQUEST_ID, String.valueOf(response.getId()));
-			data.put(CompletionResolveHandler.DATA_FIELD_PROPOSAL_ID, String.valueOf(i++));
-			item.setData(data);
+			item.setData(CompletionResolveHandler.createData(response.getId(), i++));
 
 			proposals.add(new PostfixCompletionProposal(template, context));
 			res.add(item);
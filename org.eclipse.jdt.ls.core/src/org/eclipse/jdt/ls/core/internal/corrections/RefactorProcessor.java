@@ -110,8 +110,10 @@ import org.eclipse.jdt.ui.text.java.IInvocationContext;
 import org.eclipse.jdt.ui.text.java.IProblemLocation;
 import org.eclipse.lsp4j.CodeActionKind;
 import org.eclipse.lsp4j.CodeActionParams;
+import org.eclipse.ltk.core.refactoring.Change;
 import org.eclipse.ltk.core.refactoring.CheckConditionsOperation;
 import org.eclipse.ltk.core.refactoring.CreateChangeOperation;
+import org.eclipse.ltk.core.refactoring.Refactoring;
 import org.eclipse.ltk.core.refactoring.RefactoringStatus;
 
 /**
@@ -337,12 +339,9 @@ public class RefactorProcessor {
 						if (refactoring != null && refactoring.checkInitialConditions(new NullProgressMonitor()).isOK() && refactoring.getReferences(new NullProgressMonitor(), new RefactoringStatus()).length > 0) {
 							refactoring.setRemoveDeclaration(refactoring.isDeclarationSelected());
 							refactoring.setReplaceAllReferences(refactoring.isDeclarationSelected());
-							CheckConditionsOperation check = new CheckConditionsOperation(refactoring, CheckConditionsOperation.FINAL_CONDITIONS);
-							final CreateChangeOperation create = new CreateChangeOperation(check, RefactoringStatus.FATAL);
-							create.run(new NullProgressMonitor());
 							String label = ActionMessages.InlineConstantRefactoringAction_label;
 							int relevance = IProposalRelevance.INLINE_LOCAL;
-							ChangeCorrectionProposalCore proposal = new ChangeCorrectionProposalCore(label, create.getChange(), relevance);
+							ChangeCorrectionProposalCore proposal = createDeferredProposal(label, refactoring, relevance);
 							resultingCollections.add(CodeActionHandler.wrap(proposal, CodeActionKind.RefactorInline));
 							return true;
 						}
@@ -383,12 +382,9 @@ public class RefactorProcessor {
 				if (RefactoringAvailabilityTesterCore.isInlineMethodAvailable((IMethod) binding.getJavaElement())) {
 					InlineMethodRefactoring refactoring = InlineMethodRefactoring.create(context.getCompilationUnit(), context.getASTRoot(), context.getSelectionOffset(), context.getSelectionLength());
 					if (refactoring != null && refactoring.checkInitialConditions(new NullProgressMonitor()).isOK()) {
-						CheckConditionsOperation check = new CheckConditionsOperation(refactoring, CheckConditionsOperation.FINAL_CONDITIONS);
-						final CreateChangeOperation create = new CreateChangeOperation(check, RefactoringStatus.FATAL);
-						create.run(new NullProgressMonitor());
 						String label = ActionMessages.InlineMethodRefactoringAction_label;
 						int relevance = IProposalRelevance.INLINE_LOCAL;
-						ChangeCorrectionProposalCore proposal = new ChangeCorrectionProposalCore(label, create.getChange(), relevance);
+						ChangeCorrectionProposalCore proposal = createDeferredProposal(label, refactoring, relevance);
 						resultingCollections.add(CodeActionHandler.wrap(proposal, CodeActionKind.RefactorInline));
 						return true;
 					}
@@ -401,6 +397,22 @@ public class RefactorProcessor {
 		return false;
 	}
 
+	/**
+	 * Creates a proposal whose change is only computed when the code action is
+	 * resolved, since checking the final conditions searches the references.
+	 */
+	private static ChangeCorrectionProposalCore createDeferredProposal(String label, Refactoring refactoring, int relevance) {
+		return new ChangeCorrectionProposalCore(label, null, relevance) {
+			@Override
+			protected Change createChange() throws CoreException {
+				CheckConditionsOperation check = new CheckConditionsOperation(refactoring, CheckConditionsOperation.FINAL_CONDITIONS);
+				final CreateChangeOperation create = new CreateChangeOperation(check, RefactoringStatus.FATAL);
+				create.run(new NullProgressMonitor());
+				return create.getChange();
+			}
+		};
+	}
+
 
 	private boolean getConvertAnonymousToNestedProposals(CodeActionParams params, IInvocationContext context, ASTNode node, Collection<ProposalKindWrapper> proposals) throws CoreException {
 		if (proposals == null) {
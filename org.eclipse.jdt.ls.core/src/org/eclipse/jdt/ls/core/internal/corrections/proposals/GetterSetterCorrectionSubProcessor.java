@@ -37,8 +37,17 @@ public class GetterSetterCorrectionSubProcessor extends GetterSetterCorrectionBa
 
 	public static class SelfEncapsulateFieldProposal extends SelfEncapsulateFieldProposalCore { // public for tests
 
+		private final IField field;
+
 		public SelfEncapsulateFieldProposal(int relevance, IField field) {
-			super(relevance, getRefactoringChange(field), field);
+			// the change is created once the proposal is resolved
+			super(relevance, null, field);
+			this.field = field;
+		}
+
+		@Override
+		protected Change createChange() throws CoreException {
+			return getRefactoringChange(field);
 		}
 
 		public static Change getRefactoringChange(IField field) {
@@ -390,5 +390,6 @@ public abstract class BaseDiagnosticsHandler implements IProblemRequestor {
 		problems.clear();
 		PublishDiagnosticsParams $ = new PublishDiagnosticsParams(ResourceUtils.toClientUri(uri), Collections.emptyList());
 		this.connection.publishDiagnostics($);
+		this.connection.forgetDiagnostics($.getUri());
 	}
 }
@@ -16,16 +16,26 @@ package org.eclipse.jdt.ls.core.internal.handlers;
 import java.io.File;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.eclipse.core.internal.resources.Workspace;
 import org.eclipse.core.resources.IFile;
@@ -58,6 +68,7 @@ import org.eclipse.jdt.core.WorkingCopyOwner;
 import org.eclipse.jdt.core.compiler.IProblem;
 import org.eclipse.jdt.core.dom.CompilationUnit;
 import org.eclipse.jdt.core.manipulation.CoreASTProvider;
+import org.eclipse.jdt.internal.corext.dom.IASTSharedValues;
 import org.eclipse.jdt.internal.core.OpenableElementInfo;
 import org.eclipse.jdt.internal.core.PackageFragment;
 import org.eclipse.jdt.ls.core.internal.DocumentAdapter;
@@ -71,8 +82,10 @@ import org.eclipse.jdt.ls.core.internal.corrections.DiagnosticsHelper;
 import org.eclipse.jdt.ls.core.internal.managers.InvisibleProjectImporter;
 import org.eclipse.jdt.ls.core.internal.managers.ProjectsManager;
 import org.eclipse.jdt.ls.core.internal.preferences.PreferenceManager;
+import org.eclipse.jdt.ls.core.internal.preferences.Preferences;
 import org.eclipse.jface.text.BadLocationException;
 import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.IDocumentExtension4;
 import org.eclipse.lsp4j.DidChangeTextDocumentParams;
 import org.eclipse.lsp4j.DidCloseTextDocumentParams;
 import org.eclipse.lsp4j.DidOpenTextDocumentParams;
@@ -113,6 +126,20 @@ public abstract class BaseDocumentLifeCycleHandler {
 	 */
 	private static final long PUBLISH_DIAGNOSTICS_MAX_DEBOUNCE = 2000; /*ms*/
 
+	/**
+	 * The max number of units of independent projects validated concurrently.
+	 */
+	private static final int MAX_CONCURRENT_VALIDATIONS = Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors() / 2));
+
+	/**
+	 * System property enabling the sharing of the AST of the diagnostics
+	 * reconcile with {@link CoreASTProvider}. Disabled by default, the AST of the
+	 * active unit is then cached until its next change.
+	 */
+	public static final String JAVA_LSP_SHARE_RECONCILE_AST = "java.lsp.shareReconcileAST";
+
+	private static ExecutorService validationExecutor;
+
 	private CoreASTProvider sharedASTProvider;
 	private Job validationTimer;
 	private Job publishDiagnosticsJob;
@@ -123,7 +150,8 @@ public abstract class BaseDocumentLifeCycleHandler {
 	private MovingAverage movingAverageForValidation = new MovingAverage(DOCUMENT_LIFECYCLE_MAX_DEBOUNCE);
 	private MovingAverage movingAverageForDiagnostics = new MovingAverage(PUBLISH_DIAGNOSTICS_MIN_DEBOUNCE);
 	protected final PreferenceManager preferenceManager;
-	private Object reconcileLock = new Object();
+	private final ReconcileLocks reconcileLocks = new ReconcileLocks();
+	private final OpenUnitDependencies openUnitDependencies = new OpenUnitDependencies();
 
 	public BaseDocumentLifeCycleHandler(PreferenceManager preferenceManager, boolean delayValidation) {
 		this.preferenceManager = preferenceManager;
@@ -219,18 +247,17 @@ public abstract class BaseDocumentLifeCycleHandler {
 		}
 		// first reconcile all units with content changes
 		SubMonitor progress = SubMonitor.convert(monitor, cusToReconcile.size() + 1);
-		synchronized(reconcileLock) {
-			for (ICompilationUnit cu : cusToReconcile) {
-				if (monitor.isCanceled()) {
-					return Status.CANCEL_STATUS;
-				}
-				cu.makeConsistent(progress);
-				toValidate.add(cu);
-				//cu.reconcile(ICompilationUnit.NO_AST, false, null, progress.newChild(1));
+		long lockWaitTime = 0;
+		for (ICompilationUnit cu : cusToReconcile) {
+			if (monitor.isCanceled()) {
+				return Status.CANCEL_STATUS;
 			}
+			lockWaitTime += reconcileLocks.run(cu, () -> cu.makeConsistent(progress));
+			toValidate.add(cu);
+			//cu.reconcile(ICompilationUnit.NO_AST, false, null, progress.newChild(1));
 		}
 
-		JavaLanguageServerPlugin.logInfo("Reconciled " + cusToReconcile.size() + ". Took " + (System.currentTimeMillis() - start) + " ms");
+		JavaLanguageServerPlugin.logInfo("Reconciled " + cusToReconcile.size() + ". Took " + (System.currentTimeMillis() - start) + " ms, waited " + lockWaitTime + " ms for the reconcile locks");
 		if (monitor.isCanceled()) {
 			return Status.CANCEL_STATUS;
 		}
@@ -278,7 +305,8 @@ public abstract class BaseDocumentLifeCycleHandler {
 		Set<ICompilationUnit> validateCopy = new LinkedHashSet<>(toValidate);
 		// LinkedHashSet ensures explicitly requested CUs to validate are processed first
 		// as they're likely to be the one user is editing at the moment.
-		if (preferenceManager.getPreferences().isValidateAllOpenBuffersOnChanges()) {
+		// when tracking the dependencies, the units referencing the changed types are added once reconciled
+		if (preferenceManager.getPreferences().isValidateAllOpenBuffersOnChanges() && !preferenceManager.getPreferences().isValidateOpenBuffersByDependencies()) {
 			toValidate.addAll(Arrays.asList(JavaCore.getWorkingCopies(null)));
 		}
 		if (validateCopy.isEmpty()) {
@@ -288,18 +316,89 @@ public abstract class BaseDocumentLifeCycleHandler {
 		if (monitor.isCanceled()) {
 			return Status.CANCEL_STATUS;
 		}
-		for (ICompilationUnit rootToValidate : validateCopy) {
+		Collection<List<ICompilationUnit>> groups = groupByProjects(validateCopy);
+		AtomicLong lockWaitTime = new AtomicLong();
+		if (groups.size() == 1) {
+			for (ICompilationUnit rootToValidate : validateCopy) {
+				if (monitor.isCanceled()) {
+					return Status.CANCEL_STATUS;
+				}
+				lockWaitTime.addAndGet(publishDiagnostics(rootToValidate, progress.newChild(1)));
+				toValidate.remove(rootToValidate);
+			}
+		} else {
+			// the units of independent projects don't wait for each other's reconcile
+			IProgressMonitor groupMonitor = new NullProgressMonitor() {
+				@Override
+				public boolean isCanceled() {
+					return monitor.isCanceled();
+				}
+			};
+			List<CompletableFuture<Void>> futures = new ArrayList<>(groups.size());
+			for (List<ICompilationUnit> group : groups) {
+				futures.add(CompletableFuture.runAsync(() -> {
+					for (ICompilationUnit rootToValidate : group) {
+						if (groupMonitor.isCanceled()) {
+							return;
+						}
+						try {
+							lockWaitTime.addAndGet(publishDiagnostics(rootToValidate, groupMonitor));
+						} catch (JavaModelException e) {
+							throw new CompletionException(e);
+						}
+						toValidate.remove(rootToValidate);
+					}
+				}, getValidationExecutor()));
+			}
+			try {
+				CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+			} catch (CompletionException e) {
+				if (e.getCause() instanceof JavaModelException javaModelException) {
+					throw javaModelException;
+				} else if (e.getCause() instanceof RuntimeException runtimeException) {
+					throw runtimeException;
+				}
+				throw e;
+			}
+			progress.worked(validateCopy.size());
 			if (monitor.isCanceled()) {
 				return Status.CANCEL_STATUS;
 			}
-			publishDiagnostics(rootToValidate, progress.newChild(1));
-			toValidate.remove(rootToValidate);
 		}
-		JavaLanguageServerPlugin.logInfo("Validated " + validateCopy.size() + ". Took " + (System.currentTimeMillis() - start) + " ms");
+		JavaLanguageServerPlugin.logInfo("Validated " + validateCopy.size() + ". Took " + (System.currentTimeMillis() - start) + " ms, waited " + lockWaitTime.get() + " ms for the reconcile locks");
 		return Status.OK_STATUS;
 	}
 
-	private void publishDiagnostics(ICompilationUnit unit, IProgressMonitor monitor) throws JavaModelException {
+	/**
+	 * Groups the units by the projects locked by their reconcile, keeping the
+	 * order of the units.
+	 */
+	private static Collection<List<ICompilationUnit>> groupByProjects(Collection<ICompilationUnit> units) {
+		Map<Set<String>, List<ICompilationUnit>> groups = new LinkedHashMap<>();
+		for (ICompilationUnit unit : units) {
+			groups.computeIfAbsent(ReconcileLocks.getProjectNames(unit), projectNames -> new ArrayList<>()).add(unit);
+		}
+		return groups.values();
+	}
+
+	private static synchronized ExecutorService getValidationExecutor() {
+		if (validationExecutor == null) {
+			AtomicInteger count = new AtomicInteger();
+			ThreadPoolExecutor executor = new ThreadPoolExecutor(MAX_CONCURRENT_VALIDATIONS, MAX_CONCURRENT_VALIDATIONS, 60L, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), runnable -> {
+				Thread thread = new Thread(runnable, "jdtls-validation-" + count.getAndIncrement());
+				thread.setDaemon(true);
+				return thread;
+			});
+			executor.allowCoreThreadTimeOut(true);
+			validationExecutor = executor;
+		}
+		return validationExecutor;
+	}
+
+	/**
+	 * @return the time waited for the reconcile locks, in milliseconds
+	 */
+	private long publishDiagnostics(ICompilationUnit unit, IProgressMonitor monitor) throws JavaModelException {
 		final BaseDiagnosticsHandler handler = createDiagnosticsHandler(unit);
 		WorkingCopyOwner wcOwner = new WorkingCopyOwner() {
 
@@ -328,9 +427,61 @@ public abstract class BaseDocumentLifeCycleHandler {
 
 		};
 		int flags = ICompilationUnit.FORCE_PROBLEM_DETECTION | ICompilationUnit.ENABLE_BINDINGS_RECOVERY | ICompilationUnit.ENABLE_STATEMENTS_RECOVERY;
-		synchronized(reconcileLock) {
-			unit.reconcile(ICompilationUnit.NO_AST, flags, wcOwner, monitor);
+		long modificationStamp = getModificationStamp(unit);
+		boolean shareAST = Boolean.getBoolean(JAVA_LSP_SHARE_RECONCILE_AST) && modificationStamp != IDocumentExtension4.UNKNOWN_MODIFICATION_STAMP && unit.equals(sharedASTProvider.getActiveJavaElement());
+		Preferences preferences = preferenceManager.getPreferences();
+		boolean trackDependencies = preferences.isValidateAllOpenBuffersOnChanges() && preferences.isValidateOpenBuffersByDependencies();
+		if (!shareAST && !trackDependencies) {
+			return reconcileLocks.run(unit, () -> unit.reconcile(ICompilationUnit.NO_AST, flags, wcOwner, monitor));
+		}
+		CompilationUnit[] ast = new CompilationUnit[1];
+		long lockWaitTime = reconcileLocks.run(unit, () -> {
+			ast[0] = shareAST ? reconcileSharedAST(unit, modificationStamp, flags, wcOwner, monitor) : unit.reconcile(IASTSharedValues.SHARED_AST_LEVEL, flags, wcOwner, monitor);
+		});
+		if (trackDependencies && !monitor.isCanceled()) {
+			if (ast[0] != null) {
+				toValidate.addAll(openUnitDependencies.update(unit, ast[0]));
+			} else {
+				for (ICompilationUnit workingCopy : JavaCore.getWorkingCopies(null)) {
+					if (!workingCopy.equals(unit)) {
+						toValidate.add(workingCopy);
+					}
+				}
+			}
+		}
+		return lockWaitTime;
+	}
+
+	/**
+	 * Reconciles the active unit, requesting the AST of the shared level and
+	 * caching it in {@link CoreASTProvider}, so that the requests following an
+	 * edit don't resolve the unit again. The requests waiting for the shared AST
+	 * meanwhile get the reconciled one.
+	 *
+	 * The reconcile flags match the bindings and statements recovery of the
+	 * shared AST. An AST of an outdated buffer isn't cached.
+	 */
+	private CompilationUnit reconcileSharedAST(ICompilationUnit unit, long modificationStamp, int flags, WorkingCopyOwner wcOwner, IProgressMonitor monitor) throws JavaModelException {
+		sharedASTProvider.aboutToBeReconciled(unit);
+		CompilationUnit ast = null;
+		try {
+			ast = unit.reconcile(IASTSharedValues.SHARED_AST_LEVEL, flags, wcOwner, monitor);
+			return ast;
+		} finally {
+			boolean outdated = monitor.isCanceled() || getModificationStamp(unit) != modificationStamp;
+			sharedASTProvider.reconciled(outdated ? null : ast, unit, monitor);
+		}
+	}
+
+	private static long getModificationStamp(ICompilationUnit unit) {
+		try {
+			if (unit.getBuffer() instanceof DocumentAdapter adapter && adapter.getDocument() instanceof IDocumentExtension4 document) {
+				return document.getModificationStamp();
+			}
+		} catch (JavaModelException e) {
+			// the unit doesn't exist anymore
 		}
+		return IDocumentExtension4.UNKNOWN_MODIFICATION_STAMP;
 	}
 
 	public void didClose(DidCloseTextDocumentParams params) {
@@ -534,6 +685,7 @@ public abstract class BaseDocumentLifeCycleHandler {
 			}
 			sharedASTProvider.disposeAST();
 			unit.discardWorkingCopy();
+			openUnitDependencies.remove(unit);
 			if (JDTUtils.isDefaultProject(unit)) {
 				File f = new File(unit.getUnderlyingResource().getLocationURI());
 				if (!f.exists()) {
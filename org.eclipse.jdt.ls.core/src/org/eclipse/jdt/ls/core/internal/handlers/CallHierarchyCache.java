@@ -0,0 +1,275 @@
+/*******************************************************************************
+ * Copyright (c) 2024 Red Hat Inc. and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Red Hat Inc. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ls.core.internal.handlers;
+
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.eclipse.jdt.core.ElementChangedEvent;
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IElementChangedListener;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IJavaElementDelta;
+import org.eclipse.jdt.core.IMember;
+import org.eclipse.jdt.core.JavaCore;
+import org.eclipse.jdt.core.JavaModelException;
+import org.eclipse.jdt.internal.corext.callhierarchy.MethodWrapper;
+
+/**
+ * Caches the call hierarchy {@link MethodWrapper}s across requests.
+ *
+ * An entry is evicted when a compilation unit containing the member, one of
+ * its callers or one of its callees changes. Incoming calls are additionally
+ * evicted when an identifier of a changed compilation unit is the member name,
+ * since it may be a new call. Classpath changes discard the whole cache.
+ */
+public final class CallHierarchyCache implements IElementChangedListener {
+
+	/**
+	 * Maximum number of cached wrappers per direction, the cache is discarded
+	 * when it grows bigger.
+	 */
+	private static final int MAX_ENTRIES = 5000;
+
+	private static final CallHierarchyCache INSTANCE = new CallHierarchyCache();
+
+	private final WrapperCache incoming = new WrapperCache();
+	private final WrapperCache outgoing = new WrapperCache();
+	private boolean registered = false;
+
+	private CallHierarchyCache() {
+	}
+
+	public static CallHierarchyCache getInstance() {
+		INSTANCE.register();
+		return INSTANCE;
+	}
+
+	private synchronized void register() {
+		if (!registered) {
+			JavaCore.addElementChangedListener(this, ElementChangedEvent.POST_CHANGE | ElementChangedEvent.POST_RECONCILE);
+			registered = true;
+		}
+	}
+
+	public MethodWrapper get(IMember member, boolean isIncomingCall) {
+		return getCache(isIncomingCall).wrappers.get(member);
+	}
+
+	/**
+	 * Caches the root wrapper of the given member.
+	 */
+	public void put(IMember member, MethodWrapper wrapper, boolean isIncomingCall) {
+		WrapperCache cache = getCache(isIncomingCall);
+		if (cache.wrappers.size() >= MAX_ENTRIES) {
+			cache.clear();
+		}
+		cache.put(member, wrapper);
+		cache.addDependency(member, member);
+	}
+
+	/**
+	 * Caches the calls computed for the given member, so they can be expanded
+	 * by subsequent requests.
+	 */
+	public void putCalls(IMember member, MethodWrapper[] calls, boolean isIncomingCall) {
+		WrapperCache cache = getCache(isIncomingCall);
+		if (calls.length > MAX_ENTRIES) {
+			return;
+		}
+		if (cache.wrappers.size() + calls.length > MAX_ENTRIES) {
+			cache.clear();
+		}
+		for (MethodWrapper call : calls) {
+			IMember callMember = call.getMember();
+			if (callMember == null) {
+				continue;
+			}
+			// the calls of the member are affected by changes of the caller or callee
+			cache.addDependency(callMember, member);
+			cache.put(callMember, call);
+			cache.addDependency(callMember, callMember);
+			cache.parents.computeIfAbsent(callMember, k -> ConcurrentHashMap.newKeySet()).add(member);
+		}
+	}
+
+	public void clear() {
+		incoming.clear();
+		outgoing.clear();
+	}
+
+	private WrapperCache getCache(boolean isIncomingCall) {
+		return isIncomingCall ? incoming : outgoing;
+	}
+
+	@Override
+	public void elementChanged(ElementChangedEvent event) {
+		if (incoming.wrappers.isEmpty() && outgoing.wrappers.isEmpty()) {
+			return;
+		}
+		Set<ICompilationUnit> units = new HashSet<>();
+		if (!processDelta(event.getDelta(), units)) {
+			clear();
+			return;
+		}
+		for (ICompilationUnit unit : units) {
+			incoming.invalidate(unit);
+			outgoing.invalidate(unit);
+			invalidatePossibleCallers(unit);
+		}
+	}
+
+	/**
+	 * A changed compilation unit that isn't a dependency yet may contain new
+	 * callers of the cached members. The identifiers of the unit are looked up
+	 * in the cached member names, so a change costs a single scan of the unit.
+	 */
+	private void invalidatePossibleCallers(ICompilationUnit unit) {
+		if (incoming.names.isEmpty() || !unit.exists()) {
+			return;
+		}
+		String source;
+		try {
+			source = unit.getSource();
+		} catch (JavaModelException e) {
+			source = null;
+		}
+		if (source == null) {
+			incoming.clear();
+			return;
+		}
+		Set<String> identifiers = new HashSet<>();
+		int length = source.length();
+		int i = 0;
+		while (i < length) {
+			if (!Character.isJavaIdentifierStart(source.charAt(i))) {
+				i++;
+				continue;
+			}
+			int start = i++;
+			while (i < length && Character.isJavaIdentifierPart(source.charAt(i))) {
+				i++;
+			}
+			String identifier = source.substring(start, i);
+			if (identifiers.add(identifier)) {
+				Set<IMember> members = incoming.names.get(identifier);
+				if (members != null) {
+					Set.copyOf(members).forEach(incoming::invalidate);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Collects the changed compilation units.
+	 *
+	 * @return <code>false</code> if the change is too coarse to be tracked per
+	 *         compilation unit
+	 */
+	private boolean processDelta(IJavaElementDelta delta, Set<ICompilationUnit> units) {
+		IJavaElement element = delta.getElement();
+		switch (element.getElementType()) {
+			case IJavaElement.JAVA_MODEL:
+				return processDeltaChildren(delta, units);
+			case IJavaElement.JAVA_PROJECT:
+				if (delta.getKind() != IJavaElementDelta.CHANGED || (delta.getFlags() & (IJavaElementDelta.F_CLASSPATH_CHANGED | IJavaElementDelta.F_RESOLVED_CLASSPATH_CHANGED | IJavaElementDelta.F_CLOSED | IJavaElementDelta.F_OPENED)) != 0) {
+					return false;
+				}
+				return processDeltaChildren(delta, units);
+			case IJavaElement.PACKAGE_FRAGMENT_ROOT:
+				if (delta.getKind() != IJavaElementDelta.CHANGED || (delta.getFlags() & (IJavaElementDelta.F_ADDED_TO_CLASSPATH | IJavaElementDelta.F_REMOVED_FROM_CLASSPATH | IJavaElementDelta.F_ARCHIVE_CONTENT_CHANGED)) != 0) {
+					return false;
+				}
+				return processDeltaChildren(delta, units);
+			case IJavaElement.PACKAGE_FRAGMENT:
+				if (delta.getKind() != IJavaElementDelta.CHANGED) {
+					return false;
+				}
+				return processDeltaChildren(delta, units);
+			case IJavaElement.COMPILATION_UNIT:
+				if (delta.getKind() != IJavaElementDelta.CHANGED || (delta.getFlags() & (IJavaElementDelta.F_CONTENT | IJavaElementDelta.F_CHILDREN | IJavaElementDelta.F_PRIMARY_RESOURCE)) != 0) {
+					units.add(((ICompilationUnit) element).getPrimary());
+				}
+				return true;
+			default:
+				return true;
+		}
+	}
+
+	private boolean processDeltaChildren(IJavaElementDelta delta, Set<ICompilationUnit> units) {
+		for (IJavaElementDelta child : delta.getAffectedChildren()) {
+			if (!processDelta(child, units)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static IJavaElement getDependencyKey(IMember member) {
+		ICompilationUnit unit = member.getCompilationUnit();
+		return unit == null ? member.getTypeRoot() : unit.getPrimary();
+	}
+
+	private static final class WrapperCache {
+		private final Map<IMember, MethodWrapper> wrappers = new ConcurrentHashMap<>();
+		// the members whose cached calls are affected by a change of the type root
+		private final Map<IJavaElement, Set<IMember>> dependents = new ConcurrentHashMap<>();
+		// the members whose cached calls contain the member
+		private final Map<IMember, Set<IMember>> parents = new ConcurrentHashMap<>();
+		// the cached members by name
+		private final Map<String, Set<IMember>> names = new ConcurrentHashMap<>();
+
+		private void put(IMember member, MethodWrapper wrapper) {
+			wrappers.put(member, wrapper);
+			names.computeIfAbsent(member.getElementName(), k -> ConcurrentHashMap.newKeySet()).add(member);
+		}
+
+		private void addDependency(IMember dependency, IMember member) {
+			IJavaElement key = getDependencyKey(dependency);
+			if (key != null) {
+				dependents.computeIfAbsent(key, k -> ConcurrentHashMap.newKeySet()).add(member);
+			}
+		}
+
+		private void invalidate(ICompilationUnit unit) {
+			Set<IMember> members = dependents.remove(unit);
+			if (members != null) {
+				members.forEach(this::invalidate);
+			}
+		}
+
+		private void invalidate(IMember member) {
+			if (wrappers.remove(member) == null) {
+				return;
+			}
+			names.computeIfPresent(member.getElementName(), (name, members) -> {
+				members.remove(member);
+				return members.isEmpty() ? null : members;
+			});
+			// a parent would hand out the stale wrapper again
+			Set<IMember> memberParents = parents.remove(member);
+			if (memberParents != null) {
+				memberParents.forEach(this::invalidate);
+			}
+		}
+
+		private void clear() {
+			wrappers.clear();
+			dependents.clear();
+			parents.clear();
+			names.clear();
+		}
+	}
+}
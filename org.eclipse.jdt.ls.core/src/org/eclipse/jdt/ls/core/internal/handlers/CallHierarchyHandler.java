@@ -22,9 +22,7 @@ import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
-import java.util.Map;
 import java.util.Optional;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Stream;
 
 import org.eclipse.core.runtime.Assert;
@@ -46,8 +44,10 @@ import org.eclipse.jdt.core.JavaModelException;
 import org.eclipse.jdt.internal.corext.callhierarchy.CallHierarchyCore;
 import org.eclipse.jdt.internal.corext.callhierarchy.CallLocation;
 import org.eclipse.jdt.internal.corext.callhierarchy.MethodWrapper;
+import org.eclipse.jdt.ls.core.internal.CancellableProgressMonitor;
 import org.eclipse.jdt.ls.core.internal.JDTUtils;
 import org.eclipse.jdt.ls.core.internal.JDTUtils.LocationType;
+import org.eclipse.jdt.ls.core.internal.JavaClientConnection;
 import org.eclipse.jdt.ls.core.internal.JavaLanguageServerPlugin;
 import org.eclipse.lsp4j.CallHierarchyIncomingCall;
 import org.eclipse.lsp4j.CallHierarchyIncomingCallsParams;
@@ -59,18 +59,19 @@ import org.eclipse.lsp4j.Location;
 import org.eclipse.lsp4j.Position;
 import org.eclipse.lsp4j.Range;
 import org.eclipse.lsp4j.SymbolTag;
+import org.eclipse.lsp4j.jsonrpc.messages.Either;
 
 public class CallHierarchyHandler {
-	private static Map<IJavaElement, MethodWrapper> incomingMethodWrapperCache = new ConcurrentHashMap<>();
-	private static Map<IJavaElement, MethodWrapper> outgoingMethodWrapperCache = new ConcurrentHashMap<>();
+	/**
+	 * Number of incoming calls sent per partial result.
+	 */
+	private static final int PARTIAL_RESULT_BATCH_SIZE = 100;
+
+	private final CallHierarchyCache cache = CallHierarchyCache.getInstance();
 
 	public List<CallHierarchyItem> prepareCallHierarchy(CallHierarchyPrepareParams params, IProgressMonitor monitor) {
 		Assert.isNotNull(params, "params");
 
-		// trigger call hierarchy at a new position, clean the method wrapper cache.
-		incomingMethodWrapperCache.clear();
-		outgoingMethodWrapperCache.clear();
-
 		String uri = params.getTextDocument().getUri();
 		int line = params.getPosition().getLine();
 		int character = params.getPosition().getCharacter();
@@ -112,11 +113,14 @@ public class CallHierarchyHandler {
 		int character = position.getCharacter();
 
 		try {
-			return getIncomingCallItemsAt(item.getUri(), line, character, monitor);
+			return getIncomingCallItemsAt(item.getUri(), line, character, params.getPartialResultToken(), monitor);
 		} catch (JavaModelException e) {
 			JavaLanguageServerPlugin.log(e);
 		} catch (OperationCanceledException e) {
-			// do nothing
+			if (CancellableProgressMonitor.isTimedOut(monitor)) {
+				// the time budget was exceeded before the calls were found
+				return Collections.emptyList();
+			}
 		}
 
 		return null;
@@ -136,7 +140,10 @@ public class CallHierarchyHandler {
 		} catch (JavaModelException e) {
 			JavaLanguageServerPlugin.log(e);
 		} catch (OperationCanceledException e) {
-			// do nothing
+			if (CancellableProgressMonitor.isTimedOut(monitor)) {
+				// the time budget was exceeded before the calls were found
+				return Collections.emptyList();
+			}
 		}
 
 		return null;
@@ -182,7 +189,7 @@ public class CallHierarchyHandler {
 		return candidate;
 	}
 
-	private List<CallHierarchyIncomingCall> getIncomingCallItemsAt(String uri, int line, int character, IProgressMonitor monitor) throws JavaModelException {
+	private List<CallHierarchyIncomingCall> getIncomingCallItemsAt(String uri, int line, int character, Either<String, Integer> partialResultToken, IProgressMonitor monitor) throws JavaModelException {
 		SubMonitor sub = SubMonitor.convert(monitor, 2);
 		IMember candidate = getCallHierarchyElement(uri, line, character, false, sub.split(1));
 		if (candidate == null) {
@@ -192,8 +199,7 @@ public class CallHierarchyHandler {
 
 		checkMonitor(monitor);
 
-		MethodWrapper wrapper = incomingMethodWrapperCache.containsKey(candidate) ?
-			incomingMethodWrapperCache.get(candidate) : getCallRoot(candidate, true);
+		MethodWrapper wrapper = getMethodWrapper(candidate, true);
 		if (wrapper == null || !wrapper.canHaveChildren()) {
 			return null;
 		}
@@ -206,9 +212,18 @@ public class CallHierarchyHandler {
 		if (calls == null) {
 			return null;
 		}
+		cache.putCalls(candidate, calls, true);
 
+		JavaClientConnection connection = partialResultToken == null ? null : JavaLanguageServerPlugin.getInstance().getClientConnection();
 		List<CallHierarchyIncomingCall> result = new ArrayList<>();
 		for (MethodWrapper call : calls) {
+			if (monitor != null && monitor.isCanceled()) {
+				if (CancellableProgressMonitor.isTimedOut(monitor)) {
+					// the calls collected so far are returned when the time budget is exceeded
+					break;
+				}
+				throw new OperationCanceledException();
+			}
 			Collection<CallLocation> callLocations = call.getMethodCall().getCallLocations();
 			if (callLocations != null) {
 				for (CallLocation location : callLocations) {
@@ -222,12 +237,19 @@ public class CallHierarchyHandler {
 					}
 				}
 			}
-			IMember member = call.getMember();
-			if (member != null) {
-				incomingMethodWrapperCache.put(member, call);
+			if (connection != null && result.size() >= PARTIAL_RESULT_BATCH_SIZE) {
+				connection.sendPartialResult(partialResultToken, result);
+				result = new ArrayList<>();
 			}
 		}
 
+		if (connection != null) {
+			// all results have been reported, the final response must be empty
+			if (!result.isEmpty()) {
+				connection.sendPartialResult(partialResultToken, result);
+			}
+			return Collections.emptyList();
+		}
 		return result;
 	}
 
@@ -251,7 +273,7 @@ public class CallHierarchyHandler {
 
 		checkMonitor(monitor);
 
-		MethodWrapper wrapper = outgoingMethodWrapperCache.containsKey(candidate) ? outgoingMethodWrapperCache.get(candidate) : getCallRoot(candidate, false);
+		MethodWrapper wrapper = getMethodWrapper(candidate, false);
 		if (wrapper == null) {
 			return null;
 		}
@@ -264,9 +286,17 @@ public class CallHierarchyHandler {
 		if (calls == null) {
 			return null;
 		}
+		cache.putCalls(candidate, calls, false);
 
 		List<CallHierarchyOutgoingCall> result = new ArrayList<>();
 		for (MethodWrapper call : calls) {
+			if (monitor != null && monitor.isCanceled()) {
+				if (CancellableProgressMonitor.isTimedOut(monitor)) {
+					// the calls collected so far are returned when the time budget is exceeded
+					break;
+				}
+				throw new OperationCanceledException();
+			}
 			Collection<CallLocation> callLocations = call.getMethodCall().getCallLocations();
 			if (callLocations != null && !callLocations.isEmpty()) {
 				List<Range> ranges = toCallRanges(callLocations);
@@ -277,10 +307,6 @@ public class CallHierarchyHandler {
 					}
 				}
 			}
-			IMember member = call.getMember();
-			if (member != null) {
-				outgoingMethodWrapperCache.put(member, call);
-			}
 		}
 
 		return result;
@@ -293,6 +319,17 @@ public class CallHierarchyHandler {
 		return emptyList();
 	}
 
+	private MethodWrapper getMethodWrapper(IMember member, boolean isIncomingCall) {
+		MethodWrapper wrapper = cache.get(member, isIncomingCall);
+		if (wrapper == null) {
+			wrapper = getCallRoot(member, isIncomingCall);
+			if (wrapper != null) {
+				cache.put(member, wrapper, isIncomingCall);
+			}
+		}
+		return wrapper;
+	}
+
 	private MethodWrapper getCallRoot(IMember member, boolean isIncomingCall) {
 		Assert.isNotNull(member, "member");
 
@@ -59,6 +59,9 @@ public class ClasspathUpdateHandler implements IElementChangedListener {
 		// Collect project names which have classpath changed.
 		Set<IJavaProject> projects = new HashSet<>();
 		processDelta(event.getDelta(), projects);
+		if (!projects.isEmpty() || isProjectAddedOrRemoved(event.getDelta())) {
+			SearchScopeCache.getInstance().clear();
+		}
 		if (connection != null && projects != null && !projects.isEmpty()) {
 			for (IJavaProject javaProject : projects) {
 				String uri = ProjectUtils.getProjectRealFolder(javaProject.getProject()).toFile().toURI().toString();
@@ -111,10 +114,12 @@ public class ClasspathUpdateHandler implements IElementChangedListener {
 
 	public void addElementChangeListener() {
 		JavaCore.addElementChangedListener(this);
+		SearchScopeCache.getInstance().setEnabled(true);
 	}
 
 	public void removeElementChangeListener() {
 		JavaCore.removeElementChangedListener(this);
+		SearchScopeCache.getInstance().setEnabled(false);
 	}
 
 	private void processDeltaChildren(IJavaElementDelta delta, Set<IJavaProject> projects) {
@@ -140,6 +145,18 @@ public class ClasspathUpdateHandler implements IElementChangedListener {
 		}
 	}
 
+	private boolean isProjectAddedOrRemoved(IJavaElementDelta delta) {
+		if (delta.getElement().getElementType() != IJavaElement.JAVA_MODEL) {
+			return false;
+		}
+		for (IJavaElementDelta c : delta.getAffectedChildren()) {
+			if (c.getKind() == IJavaElementDelta.ADDED || c.getKind() == IJavaElementDelta.REMOVED) {
+				return true;
+			}
+		}
+		return false;
+	}
+
 	private boolean isClasspathChanged(int flags) {
 		return 0 != (flags & (IJavaElementDelta.F_CLASSPATH_CHANGED | IJavaElementDelta.F_RESOLVED_CLASSPATH_CHANGED
 				| IJavaElementDelta.F_CLOSED | IJavaElementDelta.F_OPENED));
@@ -0,0 +1,158 @@
+/*******************************************************************************
+ * Copyright (c) 2024 Red Hat Inc. and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Red Hat Inc. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ls.core.internal.handlers;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.jdt.core.ElementChangedEvent;
+import org.eclipse.jdt.core.IBuffer;
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IElementChangedListener;
+import org.eclipse.jdt.core.JavaCore;
+import org.eclipse.jdt.core.JavaModelException;
+import org.eclipse.jdt.ls.core.internal.DocumentAdapter;
+import org.eclipse.jdt.ls.core.internal.preferences.PreferenceManager;
+import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.IDocumentExtension4;
+import org.eclipse.lsp4j.CodeAction;
+import org.eclipse.lsp4j.CodeActionParams;
+import org.eclipse.lsp4j.Command;
+import org.eclipse.lsp4j.Diagnostic;
+import org.eclipse.lsp4j.Range;
+import org.eclipse.lsp4j.jsonrpc.messages.Either;
+
+/**
+ * Caches the code actions of the latest requests per document, so that
+ * requesting the code actions again at the same position doesn't recompute
+ * them.
+ *
+ * The cached code actions are keyed by the modification stamp of the document,
+ * the range, the diagnostics and the kinds of the request. Any change of the
+ * Java model discards the cache, since it may affect the code actions of other
+ * documents.
+ */
+public class CodeActionCache implements IElementChangedListener {
+
+	/**
+	 * Maximum number of documents with cached code actions.
+	 */
+	private static final int MAX_ENTRIES = 16;
+
+	private final AtomicLong generation = new AtomicLong();
+	private final Map<String, Entry> entries = Collections.synchronizedMap(new LinkedHashMap<>(MAX_ENTRIES, 0.75f, true) {
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+			return size() > MAX_ENTRIES;
+		}
+	});
+
+	public CodeActionCache() {
+		JavaCore.addElementChangedListener(this, ElementChangedEvent.POST_CHANGE | ElementChangedEvent.POST_RECONCILE);
+	}
+
+	/**
+	 * Creates the cache key of the request.
+	 *
+	 * @return the key, or <code>null</code> if the code actions of the document
+	 *         cannot be cached
+	 */
+	public Key createKey(ICompilationUnit unit, CodeActionParams params, Map<String, String> options, PreferenceManager preferenceManager) {
+		// read the generation first, so that a change happening while the code actions are computed discards them
+		long currentGeneration = generation.get();
+		IBuffer buffer;
+		try {
+			buffer = unit.getBuffer();
+		} catch (JavaModelException e) {
+			return null;
+		}
+		if (!(buffer instanceof DocumentAdapter adapter) || !(adapter.getDocument() instanceof IDocumentExtension4 document)) {
+			return null;
+		}
+		List<String> only = params.getContext().getOnly() == null ? null : new ArrayList<>(params.getContext().getOnly());
+		return new Key(currentGeneration, adapter.getDocument(), document.getModificationStamp(), params.getRange(), new ArrayList<>(params.getContext().getDiagnostics()), only, options,
+				preferenceManager.getPreferences(), preferenceManager.getClientPreferences());
+	}
+
+	/**
+	 * Returns a copy of the cached code actions, or <code>null</code> if there
+	 * are none for the key.
+	 */
+	public List<Either<Command, CodeAction>> get(String uri, Key key) {
+		Entry entry = entries.get(uri);
+		if (entry == null || !entry.key().equals(key)) {
+			return null;
+		}
+		return copy(entry.codeActions());
+	}
+
+	/**
+	 * Caches a copy of the code actions.
+	 */
+	public void put(String uri, Key key, List<Either<Command, CodeAction>> codeActions) {
+		if (key.generation() == generation.get()) {
+			entries.put(uri, new Entry(key, copy(codeActions)));
+		}
+	}
+
+	public void clear() {
+		generation.incrementAndGet();
+		entries.clear();
+	}
+
+	@Override
+	public void elementChanged(ElementChangedEvent event) {
+		if (!entries.isEmpty()) {
+			clear();
+		}
+	}
+
+	private static List<Either<Command, CodeAction>> copy(List<Either<Command, CodeAction>> codeActions) {
+		List<Either<Command, CodeAction>> result = new ArrayList<>(codeActions.size());
+		for (Either<Command, CodeAction> codeAction : codeActions) {
+			if (codeAction.isLeft()) {
+				result.add(codeAction);
+				continue;
+			}
+			// the data of the returned code actions is replaced by the resolve data
+			CodeAction original = codeAction.getRight();
+			CodeAction copy = new CodeAction(original.getTitle());
+			copy.setKind(original.getKind());
+			copy.setDiagnostics(original.getDiagnostics());
+			copy.setIsPreferred(original.getIsPreferred());
+			copy.setDisabled(original.getDisabled());
+			copy.setEdit(original.getEdit());
+			copy.setCommand(original.getCommand());
+			copy.setData(original.getData());
+			result.add(Either.forRight(copy));
+		}
+		return result;
+	}
+
+	/**
+	 * The document is compared by identity, since a reopened document may reuse
+	 * the modification stamps.
+	 */
+	public record Key(long generation, IDocument document, long modificationStamp, Range range, List<Diagnostic> diagnostics, List<String> only, Map<String, String> options, Object preferences,
+			Object clientPreferences) {
+	}
+
+	private record Entry(Key key, List<Either<Command, CodeAction>> codeActions) {
+	}
+}
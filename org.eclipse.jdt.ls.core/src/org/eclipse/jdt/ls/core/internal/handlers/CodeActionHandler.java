@@ -17,6 +17,7 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -104,9 +105,15 @@ public class CodeActionHandler {
 	private NonProjectFixProcessor nonProjectFixProcessor;
 
 	private PreferenceManager preferenceManager;
+	private CodeActionCache cache;
 
 	public CodeActionHandler(PreferenceManager preferenceManager) {
+		this(preferenceManager, null);
+	}
+
+	public CodeActionHandler(PreferenceManager preferenceManager, CodeActionCache cache) {
 		this.preferenceManager = preferenceManager;
+		this.cache = cache;
 		this.quickFixProcessor = new QuickFixProcessor();
 		this.sourceAssistProcessor = new SourceAssistProcessor(preferenceManager);
 		this.quickAssistProcessor = new QuickAssistProcessor(preferenceManager);
@@ -128,10 +135,10 @@ public class CodeActionHandler {
 		}
 
 		Map<String, Object> formattingOptions = ConfigurationHandler.getFormattingOptions(params.getTextDocument().getUri());
+		Map<String, String> customOptions = new HashMap<>();
 		if (formattingOptions != null && !formattingOptions.isEmpty()) {
 			Object tabSizeValue = formattingOptions.get(Preferences.JAVA_CONFIGURATION_TABSIZE);
 			Object insertSpacesValue = formattingOptions.get(Preferences.JAVA_CONFIGURATION_INSERTSPACES);
-			Map<String, String> customOptions = new HashMap<>();
 			if (tabSizeValue != null) {
 				try {
 					int tabSize = Integer.parseInt(String.valueOf(tabSizeValue));
@@ -148,11 +155,21 @@ public class CodeActionHandler {
 				customOptions.put(DefaultCodeFormatterConstants.FORMATTER_TAB_CHAR, insertSpaces ? JavaCore.SPACE : JavaCore.TAB);
 			}
 
-			if (!customOptions.isEmpty()) {
+			if (!customOptions.isEmpty() && !hasOptions(unit, customOptions)) {
 				unit.setOptions(customOptions);
 			}
 		}
 
+		String uri = params.getTextDocument().getUri();
+		CodeActionCache.Key cacheKey = cache == null ? null : cache.createKey(unit, params, customOptions, preferenceManager);
+		if (cacheKey != null) {
+			List<Either<Command, CodeAction>> cachedCodeActions = cache.get(uri, cacheKey);
+			if (cachedCodeActions != null) {
+				populateDataFields(cachedCodeActions);
+				return cachedCodeActions;
+			}
+		}
+
 		CompilationUnit astRoot = getASTRoot(unit, monitor);
 		if (astRoot == null || monitor.isCanceled()) {
 			return Collections.emptyList();
@@ -224,9 +241,10 @@ public class CodeActionHandler {
 			return Collections.emptyList();
 		}
 		try {
+			Set<Either<Command, CodeAction>> uniqueCodeActions = new HashSet<>(codeActions);
 			for (ProposalKindWrapper proposal : proposals) {
 				Optional<Either<Command, CodeAction>> codeActionFromProposal = getCodeActionFromProposal(params.getTextDocument().getUri(), proposal, params.getContext());
-				if (codeActionFromProposal.isPresent() && !codeActions.contains(codeActionFromProposal.get())) {
+				if (codeActionFromProposal.isPresent() && uniqueCodeActions.add(codeActionFromProposal.get())) {
 					codeActions.add(codeActionFromProposal.get());
 				}
 			}
@@ -244,10 +262,18 @@ public class CodeActionHandler {
 		}
 
 		codeActions.sort(new CodeActionComparator());
+		if (cacheKey != null) {
+			cache.put(uri, cacheKey, codeActions);
+		}
 		populateDataFields(codeActions);
 		return codeActions;
 	}
 
+	private static boolean hasOptions(ICompilationUnit unit, Map<String, String> options) {
+		Map<String, String> unitOptions = unit.getOptions(true);
+		return options.entrySet().stream().allMatch(option -> option.getValue().equals(unitOptions.get(option.getKey())));
+	}
+
 	private void populateDataFields(List<Either<Command, CodeAction>> codeActions) {
 		ResponseStore.ResponseItem<Either<ChangeCorrectionProposalCore, CodeActionProposal>> response = codeActionStore.createResponse();
 		List<Either<ChangeCorrectionProposalCore, CodeActionProposal>> proposals = new ArrayList<>();
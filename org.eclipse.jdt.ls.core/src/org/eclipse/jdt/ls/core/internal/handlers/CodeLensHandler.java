@@ -22,6 +22,7 @@ import java.util.List;
 import org.eclipse.core.resources.ResourcesPlugin;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
 import org.eclipse.jdt.core.Flags;
 import org.eclipse.jdt.core.IClassFile;
 import org.eclipse.jdt.core.ICompilationUnit;
@@ -40,6 +41,7 @@ import org.eclipse.jdt.core.search.SearchMatch;
 import org.eclipse.jdt.core.search.SearchParticipant;
 import org.eclipse.jdt.core.search.SearchPattern;
 import org.eclipse.jdt.core.search.SearchRequestor;
+import org.eclipse.jdt.ls.core.internal.CancellableProgressMonitor;
 import org.eclipse.jdt.ls.core.internal.JDTUtils;
 import org.eclipse.jdt.ls.core.internal.JSONUtility;
 import org.eclipse.jdt.ls.core.internal.JavaLanguageServerPlugin;
@@ -121,7 +123,9 @@ public class CodeLensHandler {
 		}
 		if (label != null && command != null) {
 			int size = locations.size();
-			Command c = new Command(size + " " + label + ((size == 1) ? "" : "s"), command, Arrays.asList(uri, position, locations));
+			// the locations are partial when the time budget of the request is exceeded
+			String count = CancellableProgressMonitor.isTimedOut(monitor) ? size + "+" : String.valueOf(size);
+			Command c = new Command(count + " " + label + ((size == 1) ? "" : "s"), command, Arrays.asList(uri, position, locations));
 			lens.setCommand(c);
 		}
 		return lens;
@@ -144,24 +148,33 @@ public class CodeLensHandler {
 		SearchPattern pattern = SearchPattern.createPattern(element, IJavaSearchConstants.REFERENCES);
 		final List<Location> result = new ArrayList<>();
 		SearchEngine engine = new SearchEngine();
-		engine.search(pattern, new SearchParticipant[] { SearchEngine.getDefaultSearchParticipant() }, createSearchScope(), new SearchRequestor() {
+		try {
+			engine.search(pattern, new SearchParticipant[] { SearchEngine.getDefaultSearchParticipant() }, createSearchScope(), new SearchRequestor() {
 
-			@Override
-			public void acceptSearchMatch(SearchMatch match) throws CoreException {
-				if (match.getAccuracy() == SearchMatch.A_INACCURATE) {
-					return;
-				}
-				Object o = match.getElement();
-				if (o instanceof IJavaElement element) {
-					ICompilationUnit compilationUnit = (ICompilationUnit) element.getAncestor(IJavaElement.COMPILATION_UNIT);
-					if (compilationUnit == null) {
+				@Override
+				public void acceptSearchMatch(SearchMatch match) throws CoreException {
+					if (monitor.isCanceled()) {
+						throw new OperationCanceledException();
+					}
+					if (match.getAccuracy() == SearchMatch.A_INACCURATE) {
 						return;
 					}
-					Location location = JDTUtils.toLocation(compilationUnit, match.getOffset(), match.getLength());
-					result.add(location);
+					Object o = match.getElement();
+					if (o instanceof IJavaElement element) {
+						ICompilationUnit compilationUnit = (ICompilationUnit) element.getAncestor(IJavaElement.COMPILATION_UNIT);
+						if (compilationUnit == null) {
+							return;
+						}
+						Location location = JDTUtils.toLocation(compilationUnit, match.getOffset(), match.getLength());
+						result.add(location);
+					}
 				}
+			}, monitor);
+		} catch (OperationCanceledException e) {
+			if (!CancellableProgressMonitor.isTimedOut(monitor)) {
+				throw e;
 			}
-		}, monitor);
+		}
 
 		return result;
 	}
@@ -261,6 +274,6 @@ public class CodeLensHandler {
 
 	private IJavaSearchScope createSearchScope() throws JavaModelException {
 		IJavaProject[] projects = JavaCore.create(ResourcesPlugin.getWorkspace().getRoot()).getJavaProjects();
-		return SearchEngine.createJavaSearchScope(projects, IJavaSearchScope.SOURCES);
+		return SearchScopeCache.getInstance().getScope(projects, IJavaSearchScope.SOURCES);
 	}
 }
@@ -16,6 +16,7 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -141,27 +142,22 @@ public class CompletionHandler{
 		long executionTime = System.currentTimeMillis() - startTime;
 		String lastRequestId = null;
 		for (CompletionItem item : $.getItems()) {
-			String requestId = "";
-			String proposalId = "";
-			Map<String, String> data = (Map<String, String>) item.getData();
-			if (data != null) {
-				requestId = data.getOrDefault(CompletionResolveHandler.DATA_FIELD_REQUEST_ID, "");
-				proposalId = data.getOrDefault(CompletionResolveHandler.DATA_FIELD_PROPOSAL_ID, "");
-			}
-			if (requestId.isEmpty() || proposalId.isEmpty()) {
+			CompletionResolveHandler.ItemData data = CompletionResolveHandler.parseData(item.getData());
+			if (data == null) {
 				continue;
 			}
+			String requestId = String.valueOf(data.requestId());
 			item.setCommand(new Command("", "java.completion.onDidSelect", Arrays.asList(
 					requestId,
-					proposalId
+					String.valueOf(data.proposalId())
 			)));
 
 			if (Objects.equals(requestId, lastRequestId)) {
 				continue;
 			}
 			lastRequestId = requestId;
-			int pId = Integer.parseInt(proposalId);
-			long rId = Long.parseLong(requestId);
+			int pId = data.proposalId();
+			long rId = data.requestId();
 			CompletionResponse completionResponse = CompletionResponses.get(rId);
 			if (completionResponse == null || completionResponse.getProposals().size() <= pId) {
 				JavaLanguageServerPlugin.logError("Failed to save common data for completion items.");
@@ -200,16 +196,21 @@ public class CompletionHandler{
 			throw ExceptionFactory.newException("Cannot get the completion item.");
 		}
 
+		// the providers expect the data as a map, rather than the compact form sent to the client
+		Map<String, String> data = new HashMap<>();
+		data.put(CompletionResolveHandler.DATA_FIELD_REQUEST_ID, requestId);
+		data.put(CompletionResolveHandler.DATA_FIELD_PROPOSAL_ID, proposalId);
 		// get the cached completion execution time and set it to the selected item in case that providers need it.
 		String executionTime = completionResponse.getCommonData(CompletionRanking.COMPLETION_EXECUTION_TIME);
 		if (executionTime != null) {
-			((Map<String, String>)item.getData()).put(CompletionRanking.COMPLETION_EXECUTION_TIME, executionTime);
+			data.put(CompletionRanking.COMPLETION_EXECUTION_TIME, executionTime);
 		}
 
 		Map<String, String> contributedData = completionResponse.getCompletionItemData(pId);
 		if (contributedData != null) {
-			((Map<String, String>)item.getData()).putAll(contributedData);
+			data.putAll(contributedData);
 		}
+		item.setData(data);
 
 		List<ICompletionRankingProvider> providers =
 				((CompletionContributionService) JavaLanguageServerPlugin.getCompletionContributionService()).getRankingProviders();
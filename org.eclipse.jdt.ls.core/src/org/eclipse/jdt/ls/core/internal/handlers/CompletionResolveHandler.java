@@ -17,6 +17,7 @@ import static org.eclipse.jdt.internal.corext.template.java.SignatureUtil.getLow
 import static org.eclipse.jdt.internal.corext.template.java.SignatureUtil.stripSignatureToFQN;
 
 import java.io.Reader;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
@@ -67,6 +68,8 @@ import org.eclipse.osgi.util.NLS;
 import com.google.common.io.CharStreams;
 import com.google.common.util.concurrent.SimpleTimeLimiter;
 import com.google.common.util.concurrent.UncheckedTimeoutException;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
 
 /**
  * Adds the completion string and documentation.
@@ -90,17 +93,62 @@ public class CompletionResolveHandler {
 	public static final String DATA_FIELD_REQUEST_ID = "rid";
 	public static final String DATA_FIELD_PROPOSAL_ID = "pid";
 
-	public CompletionItem resolve(CompletionItem param, IProgressMonitor monitor) {
+	/**
+	 * Returns the data of a completion item, i.e. the ids of its completion
+	 * response and proposal. They're encoded as a two-element array rather than
+	 * a map, since they're repeated by each item of the completion list.
+	 */
+	public static long[] createData(long requestId, int proposalId) {
+		return new long[] { requestId, proposalId };
+	}
 
+	/**
+	 * Returns the ids of the completion response and proposal of the data of a
+	 * completion item, or <code>null</code> if it has none. The data is either
+	 * the two-element array of {@link #createData(long, int)}, or the map of
+	 * {@link #DATA_FIELD_REQUEST_ID} and {@link #DATA_FIELD_PROPOSAL_ID}.
+	 */
+	public static ItemData parseData(Object data) {
+		if (data instanceof long[] ids && ids.length == 2) {
+			return new ItemData(ids[0], (int) ids[1]);
+		}
+		if (data instanceof JsonArray ids) {
+			if (ids.size() != 2 || !ids.get(0).isJsonPrimitive() || !ids.get(1).isJsonPrimitive()) {
+				return null;
+			}
+			return new ItemData(ids.get(0).getAsLong(), ids.get(1).getAsInt());
+		}
+		if (data instanceof List<?> ids) {
+			if (ids.size() != 2 || !(ids.get(0) instanceof Number requestId) || !(ids.get(1) instanceof Number proposalId)) {
+				return null;
+			}
+			return new ItemData(requestId.longValue(), proposalId.intValue());
+		}
+		if (data instanceof JsonElement json && !json.isJsonObject()) {
+			return null;
+		}
 		@SuppressWarnings("unchecked")
-		Map<String, String> data = JSONUtility.toModel(param.getData(),Map.class);
+		Map<String, String> map = JSONUtility.toModel(data, Map.class);
+		if (map == null || !map.containsKey(DATA_FIELD_REQUEST_ID) || !map.containsKey(DATA_FIELD_PROPOSAL_ID)) {
+			return null;
+		}
+		try {
+			return new ItemData(Long.parseLong(String.valueOf(map.get(DATA_FIELD_REQUEST_ID))), Integer.parseInt(String.valueOf(map.get(DATA_FIELD_PROPOSAL_ID))));
+		} catch (NumberFormatException e) {
+			return null;
+		}
+	}
+
+	public CompletionItem resolve(CompletionItem param, IProgressMonitor monitor) {
+
+		ItemData data = parseData(param.getData());
 		// clean resolve data
 		param.setData(null);
-		if (!CompletionProposalRequestor.SUPPORTED_KINDS.contains(param.getKind()) || data == null || !data.containsKey(DATA_FIELD_REQUEST_ID) || !data.containsKey(DATA_FIELD_PROPOSAL_ID)) {
+		if (!CompletionProposalRequestor.SUPPORTED_KINDS.contains(param.getKind()) || data == null) {
 			return param;
 		}
-		int proposalId = Integer.parseInt(data.get(DATA_FIELD_PROPOSAL_ID));
-		long requestId = Long.parseLong(data.get(DATA_FIELD_REQUEST_ID));
+		int proposalId = data.proposalId();
+		long requestId = data.requestId();
 		CompletionResponse completionResponse = CompletionResponses.get(requestId);
 		if (completionResponse == null || completionResponse.getProposals().size() <= proposalId) {
 			throw new IllegalStateException("Invalid completion proposal");
@@ -274,7 +322,7 @@ public class CompletionResolveHandler {
 			String javadoc = null;
 			try {
 				final IMember curMember = member;
-				javadoc = SimpleTimeLimiter.create(JavaLanguageServerPlugin.getExecutorService()).callWithTimeout(() -> {
+				javadoc = SimpleTimeLimiter.create(JavaLanguageServerPlugin.getTimeLimitedExecutorService()).callWithTimeout(() -> {
 					Reader reader;
 					if (manager.getClientPreferences().isSupportsCompletionDocumentationMarkdown()) {
 						reader = JavadocContentAccess2.getMarkdownContentReader(curMember);
@@ -358,4 +406,9 @@ public class CompletionResolveHandler {
 		return param;
 	}
 
+	/**
+	 * The ids of the completion response and proposal of a completion item.
+	 */
+	public record ItemData(long requestId, int proposalId) {
+	}
 }
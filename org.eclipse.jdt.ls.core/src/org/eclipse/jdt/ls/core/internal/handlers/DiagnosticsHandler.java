@@ -27,6 +27,7 @@ public class DiagnosticsHandler extends BaseDiagnosticsHandler {
 	private final String uri;
 	private boolean isDefaultProject;
 	private boolean nonProjectFile = false;
+	private boolean syntaxMode;
 
 	public DiagnosticsHandler(JavaClientConnection conn, ICompilationUnit cu) {
 		super(conn, cu);
@@ -34,16 +35,23 @@ public class DiagnosticsHandler extends BaseDiagnosticsHandler {
 		this.uri = JDTUtils.toURI(cu);
 		this.isDefaultProject = JDTUtils.isDefaultProject(cu);
 		this.nonProjectFile = isDefaultProject || !JDTUtils.isOnClassPath(cu);
+		this.syntaxMode = computeSyntaxMode();
 	}
 
 	@Override
 	public boolean isSyntaxMode() {
+		return syntaxMode;
+	}
+
+	private boolean computeSyntaxMode() {
 		return nonProjectFile && JavaLanguageServerPlugin.getNonProjectDiagnosticsState().isOnlySyntaxReported(uri);
 	}
 
 	@Override
 	public void beginReporting() {
 		super.beginReporting();
+		// use the same error level for the whole reporting session
+		syntaxMode = computeSyntaxMode();
 		if (nonProjectFile) {
 			problems.add(createNonProjectProblem());
 		}
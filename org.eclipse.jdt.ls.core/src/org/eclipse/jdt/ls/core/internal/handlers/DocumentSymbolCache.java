@@ -0,0 +1,321 @@
+/*******************************************************************************
+ * Copyright (c) 2024 Red Hat Inc. and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Red Hat Inc. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ls.core.internal.handlers;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.jdt.core.IBuffer;
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IMethod;
+import org.eclipse.jdt.core.ISourceRange;
+import org.eclipse.jdt.core.JavaModelException;
+import org.eclipse.jdt.core.ToolFactory;
+import org.eclipse.jdt.core.compiler.IScanner;
+import org.eclipse.jdt.core.compiler.ITerminalSymbols;
+import org.eclipse.jdt.core.compiler.InvalidInputException;
+import org.eclipse.jdt.ls.core.internal.DocumentAdapter;
+import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.IDocumentExtension4;
+import org.eclipse.lsp4j.DocumentSymbol;
+import org.eclipse.lsp4j.Position;
+import org.eclipse.lsp4j.Range;
+import org.eclipse.lsp4j.SymbolKind;
+
+/**
+ * Caches the document symbols of the latest requested documents, keyed by the
+ * modification stamp of the document.
+ *
+ * When the document changed only inside the body of a method without nested
+ * types, the previous symbols are reused: the symbols before the change are
+ * returned as is, and the symbols after the change are copied with shifted
+ * ranges. The symbols only depend on the source of their document, so other
+ * changes of the Java model don't discard the cache.
+ */
+public class DocumentSymbolCache {
+
+	/**
+	 * Maximum number of documents with cached symbols.
+	 */
+	private static final int MAX_ENTRIES = 16;
+
+	private final Map<String, Entry> entries = Collections.synchronizedMap(new LinkedHashMap<>(MAX_ENTRIES, 0.75f, true) {
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+			return size() > MAX_ENTRIES;
+		}
+	});
+
+	/**
+	 * Captures the current state of the document of the unit.
+	 *
+	 * @return the snapshot, or <code>null</code> if the symbols of the unit
+	 *         cannot be cached
+	 */
+	public Snapshot createSnapshot(ICompilationUnit unit, Object clientPreferences) {
+		try {
+			IBuffer buffer = unit.getBuffer();
+			if (!(buffer instanceof DocumentAdapter adapter) || !(adapter.getDocument() instanceof IDocumentExtension4 extension) || !unit.isConsistent()) {
+				return null;
+			}
+			long modificationStamp = extension.getModificationStamp();
+			String source = adapter.getDocument().get();
+			if (modificationStamp != extension.getModificationStamp()) {
+				return null;
+			}
+			return new Snapshot(unit, adapter.getDocument(), modificationStamp, source, clientPreferences);
+		} catch (JavaModelException e) {
+			return null;
+		}
+	}
+
+	/**
+	 * Returns the symbols of the snapshot, or <code>null</code> if they must be
+	 * computed.
+	 */
+	public List<DocumentSymbol> get(Snapshot snapshot) {
+		Entry entry = entries.get(snapshot.unit().getHandleIdentifier());
+		if (entry == null || entry.document() != snapshot.document() || entry.clientPreferences() != snapshot.clientPreferences()) {
+			return null;
+		}
+		if (entry.modificationStamp() == snapshot.modificationStamp()) {
+			return entry.symbols();
+		}
+		List<DocumentSymbol> symbols = reuse(entry, snapshot);
+		if (symbols != null) {
+			put(snapshot, symbols);
+		}
+		return symbols;
+	}
+
+	/**
+	 * Caches the symbols of the snapshot, unless the document changed since.
+	 */
+	public void put(Snapshot snapshot, List<DocumentSymbol> symbols) {
+		if (((IDocumentExtension4) snapshot.document()).getModificationStamp() == snapshot.modificationStamp()) {
+			entries.put(snapshot.unit().getHandleIdentifier(), new Entry(snapshot.document(), snapshot.modificationStamp(), snapshot.source(), getLineOffsets(snapshot.source()), snapshot.clientPreferences(), symbols));
+		}
+	}
+
+	public void clear() {
+		entries.clear();
+	}
+
+	private List<DocumentSymbol> reuse(Entry entry, Snapshot snapshot) {
+		String oldSource = entry.source();
+		String newSource = snapshot.source();
+		int start = 0;
+		int length = Math.min(oldSource.length(), newSource.length());
+		while (start < length && oldSource.charAt(start) == newSource.charAt(start)) {
+			start++;
+		}
+		int oldEnd = oldSource.length();
+		int newEnd = newSource.length();
+		while (oldEnd > start && newEnd > start && oldSource.charAt(oldEnd - 1) == newSource.charAt(newEnd - 1)) {
+			oldEnd--;
+			newEnd--;
+		}
+		int[] oldLineOffsets = entry.lineOffsets();
+		DocumentSymbol method = findInnermostSymbol(entry.symbols(), start, oldEnd, oldLineOffsets);
+		if (method == null || (method.getKind() != SymbolKind.Method && method.getKind() != SymbolKind.Constructor) || (method.getChildren() != null && !method.getChildren().isEmpty())) {
+			return null;
+		}
+		int methodStart = getOffset(method.getRange().getStart(), oldLineOffsets);
+		int methodEnd = getOffset(method.getRange().getEnd(), oldLineOffsets);
+		int nameStart = getOffset(method.getSelectionRange().getStart(), oldLineOffsets);
+		int nameEnd = getOffset(method.getSelectionRange().getEnd(), oldLineOffsets);
+		int bodyStart = findBodyStart(oldSource, nameEnd, methodEnd);
+		// the closing brace of the body must be kept
+		if (bodyStart < 0 || start <= bodyStart || oldEnd >= methodEnd) {
+			return null;
+		}
+		int delta = newEnd - oldEnd;
+		if (!isSameMethod(snapshot.unit(), start, methodStart, methodEnd + delta, nameStart, nameEnd)) {
+			return null;
+		}
+		return shift(entry.symbols(), start, delta, oldLineOffsets, getLineOffsets(newSource));
+	}
+
+	/**
+	 * Checks the reconciled model still has a method without nested types at
+	 * the shifted position, so that the change didn't alter the structure of
+	 * the document.
+	 */
+	private static boolean isSameMethod(ICompilationUnit unit, int offset, int methodStart, int methodEnd, int nameStart, int nameEnd) {
+		try {
+			IJavaElement element = unit.getElementAt(offset);
+			if (!(element instanceof IMethod method) || method.getChildren().length > 0) {
+				return false;
+			}
+			ISourceRange sourceRange = method.getSourceRange();
+			ISourceRange nameRange = method.getNameRange();
+			return sourceRange != null && nameRange != null && sourceRange.getOffset() == methodStart && sourceRange.getOffset() + sourceRange.getLength() == methodEnd && nameRange.getOffset() == nameStart
+					&& nameRange.getOffset() + nameRange.getLength() == nameEnd;
+		} catch (JavaModelException e) {
+			return false;
+		}
+	}
+
+	private static DocumentSymbol findInnermostSymbol(List<DocumentSymbol> symbols, int start, int end, int[] lineOffsets) {
+		if (symbols == null) {
+			return null;
+		}
+		for (DocumentSymbol symbol : symbols) {
+			int symbolStart = getOffset(symbol.getRange().getStart(), lineOffsets);
+			int symbolEnd = getOffset(symbol.getRange().getEnd(), lineOffsets);
+			if (symbolStart >= 0 && symbolStart <= start && end <= symbolEnd) {
+				DocumentSymbol child = findInnermostSymbol(symbol.getChildren(), start, end, lineOffsets);
+				return child == null ? symbol : child;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Returns the offset of the opening brace of the method body, or -1 if the
+	 * method has no body.
+	 */
+	private static int findBodyStart(String source, int nameEnd, int methodEnd) {
+		IScanner scanner = ToolFactory.createScanner(false, false, false, false);
+		scanner.setSource(source.toCharArray());
+		scanner.resetTo(nameEnd, methodEnd - 1);
+		int depth = 0;
+		try {
+			int token;
+			while ((token = scanner.getNextToken()) != ITerminalSymbols.TokenNameEOF) {
+				switch (token) {
+					case ITerminalSymbols.TokenNameLPAREN:
+						depth++;
+						break;
+					case ITerminalSymbols.TokenNameRPAREN:
+						depth--;
+						break;
+					case ITerminalSymbols.TokenNameLBRACE:
+						if (depth == 0) {
+							return scanner.getCurrentTokenStartPosition();
+						}
+						break;
+					case ITerminalSymbols.TokenNameSEMICOLON:
+						if (depth == 0) {
+							return -1;
+						}
+						break;
+					default:
+						break;
+				}
+			}
+		} catch (InvalidInputException e) {
+			// fall through
+		}
+		return -1;
+	}
+
+	private static List<DocumentSymbol> shift(List<DocumentSymbol> symbols, int start, int delta, int[] oldLineOffsets, int[] newLineOffsets) {
+		if (symbols == null) {
+			return null;
+		}
+		List<DocumentSymbol> result = new ArrayList<>(symbols.size());
+		for (DocumentSymbol symbol : symbols) {
+			if (getOffset(symbol.getRange().getEnd(), oldLineOffsets) <= start) {
+				// before the change
+				result.add(symbol);
+				continue;
+			}
+			DocumentSymbol copy = new DocumentSymbol();
+			copy.setName(symbol.getName());
+			copy.setDetail(symbol.getDetail());
+			copy.setKind(symbol.getKind());
+			copy.setTags(symbol.getTags());
+			copy.setDeprecated(symbol.getDeprecated());
+			copy.setRange(shift(symbol.getRange(), start, delta, oldLineOffsets, newLineOffsets));
+			copy.setSelectionRange(shift(symbol.getSelectionRange(), start, delta, oldLineOffsets, newLineOffsets));
+			copy.setChildren(shift(symbol.getChildren(), start, delta, oldLineOffsets, newLineOffsets));
+			result.add(copy);
+		}
+		return result;
+	}
+
+	private static Range shift(Range range, int start, int delta, int[] oldLineOffsets, int[] newLineOffsets) {
+		return new Range(shift(range.getStart(), start, delta, oldLineOffsets, newLineOffsets), shift(range.getEnd(), start, delta, oldLineOffsets, newLineOffsets));
+	}
+
+	private static Position shift(Position position, int start, int delta, int[] oldLineOffsets, int[] newLineOffsets) {
+		int offset = getOffset(position, oldLineOffsets);
+		if (offset <= start) {
+			return position;
+		}
+		return getPosition(offset + delta, newLineOffsets);
+	}
+
+	private static int getOffset(Position position, int[] lineOffsets) {
+		if (position.getLine() < 0 || position.getLine() >= lineOffsets.length) {
+			return -1;
+		}
+		return lineOffsets[position.getLine()] + position.getCharacter();
+	}
+
+	private static Position getPosition(int offset, int[] lineOffsets) {
+		int line = 0;
+		int low = 0;
+		int high = lineOffsets.length - 1;
+		while (low <= high) {
+			int middle = (low + high) >>> 1;
+			if (lineOffsets[middle] <= offset) {
+				line = middle;
+				low = middle + 1;
+			} else {
+				high = middle - 1;
+			}
+		}
+		return new Position(line, offset - lineOffsets[line]);
+	}
+
+	/**
+	 * Returns the offsets of the lines, delimited like the lines of the
+	 * document.
+	 */
+	private static int[] getLineOffsets(String source) {
+		int[] offsets = new int[16];
+		int count = 1;
+		for (int i = 0; i < source.length(); i++) {
+			char c = source.charAt(i);
+			if (c == '\r' && i + 1 < source.length() && source.charAt(i + 1) == '\n') {
+				i++;
+			} else if (c != '\r' && c != '\n') {
+				continue;
+			}
+			if (count == offsets.length) {
+				offsets = Arrays.copyOf(offsets, count * 2);
+			}
+			offsets[count++] = i + 1;
+		}
+		return Arrays.copyOf(offsets, count);
+	}
+
+	/**
+	 * The document is compared by identity, since a reopened document may reuse
+	 * the modification stamps.
+	 */
+	public record Snapshot(ICompilationUnit unit, IDocument document, long modificationStamp, String source, Object clientPreferences) {
+	}
+
+	private record Entry(IDocument document, long modificationStamp, String source, int[] lineOffsets, Object clientPreferences, List<DocumentSymbol> symbols) {
+	}
+}
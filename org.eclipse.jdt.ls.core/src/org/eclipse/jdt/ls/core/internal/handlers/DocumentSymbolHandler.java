@@ -41,6 +41,7 @@ import org.eclipse.core.runtime.NullProgressMonitor;
 import org.eclipse.core.runtime.OperationCanceledException;
 import org.eclipse.jdt.core.Flags;
 import org.eclipse.jdt.core.IClassFile;
+import org.eclipse.jdt.core.ICompilationUnit;
 import org.eclipse.jdt.core.IField;
 import org.eclipse.jdt.core.IJavaElement;
 import org.eclipse.jdt.core.IMember;
@@ -97,10 +98,17 @@ public class DocumentSymbolHandler {
 
 	private PreferenceManager preferenceManager;
 
+	private DocumentSymbolCache cache;
+
 	private static IScanner fScanner;
 
 	public DocumentSymbolHandler(PreferenceManager preferenceManager) {
+		this(preferenceManager, null);
+	}
+
+	public DocumentSymbolHandler(PreferenceManager preferenceManager, DocumentSymbolCache cache) {
 		this.preferenceManager = preferenceManager;
+		this.cache = cache;
 	}
 
 	public List<Either<SymbolInformation, DocumentSymbol>> documentSymbol(DocumentSymbolParams params, IProgressMonitor monitor) {
@@ -179,6 +187,14 @@ public class DocumentSymbolHandler {
 	}
 
 	private List<DocumentSymbol> getHierarchicalOutline(ITypeRoot unit, IProgressMonitor monitor) {
+		DocumentSymbolCache.Snapshot snapshot = null;
+		if (cache != null && unit instanceof ICompilationUnit cu) {
+			snapshot = cache.createSnapshot(cu, preferenceManager.getClientPreferences());
+			List<DocumentSymbol> symbols = snapshot == null ? null : cache.get(snapshot);
+			if (symbols != null) {
+				return symbols;
+			}
+		}
 		try {
 			if (unit instanceof IClassFile && unit.getSourceRange() == null) { // no source attached
 				return getHierarchicalOutlineFromDecompiledSource(unit, monitor);
@@ -197,7 +213,11 @@ public class DocumentSymbolHandler {
 					scanner.resetTo(shift, shift + sourceRange.getLength());
 				}
 			}
-			return childrenStream.map(child -> toDocumentSymbol(child, unit, monitor)).filter(Objects::nonNull).collect(Collectors.toList());
+			List<DocumentSymbol> symbols = childrenStream.map(child -> toDocumentSymbol(child, unit, monitor)).filter(Objects::nonNull).collect(Collectors.toList());
+			if (snapshot != null) {
+				cache.put(snapshot, symbols);
+			}
+			return symbols;
 		} catch (OperationCanceledException e) {
 			logInfo("User abort while collecting the document symbols.");
 		} catch (JavaModelException e) {
@@ -77,7 +77,7 @@ public class FindLinksHandler {
 			return null;
 		}
 
-		ITypeHierarchy hierarchy = type.newSupertypeHierarchy(monitor);
+		ITypeHierarchy hierarchy = TypeHierarchyCache.getInstance().getSupertypeHierarchy(type, monitor);
 		MethodOverrideTester tester = new MethodOverrideTester(type, hierarchy);
 		IMethod found = tester.findOverriddenMethod(method, true);
 		if (found != null && !found.equals(method)) {
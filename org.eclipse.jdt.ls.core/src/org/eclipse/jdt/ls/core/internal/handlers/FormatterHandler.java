@@ -27,10 +27,15 @@ import org.eclipse.jdt.core.JavaCore;
 import org.eclipse.jdt.core.JavaModelException;
 import org.eclipse.jdt.core.ToolFactory;
 import org.eclipse.jdt.core.dom.ASTNode;
+import org.eclipse.jdt.core.dom.AbstractTypeDeclaration;
+import org.eclipse.jdt.core.dom.Block;
+import org.eclipse.jdt.core.dom.BodyDeclaration;
 import org.eclipse.jdt.core.dom.CompilationUnit;
 import org.eclipse.jdt.core.dom.NodeFinder;
+import org.eclipse.jdt.core.dom.Statement;
 import org.eclipse.jdt.core.formatter.CodeFormatter;
 import org.eclipse.jdt.core.formatter.DefaultCodeFormatterConstants;
+import org.eclipse.jdt.core.formatter.IndentManipulation;
 import org.eclipse.jdt.core.manipulation.CoreASTProvider;
 import org.eclipse.jdt.internal.compiler.env.IModule;
 import org.eclipse.jdt.internal.corext.refactoring.util.TextEditUtil;
@@ -38,6 +43,7 @@ import org.eclipse.jdt.internal.formatter.DefaultCodeFormatterOptions;
 import org.eclipse.jdt.internal.ui.preferences.formatter.ProfileVersionerCore;
 import org.eclipse.jdt.ls.core.internal.JDTUtils;
 import org.eclipse.jdt.ls.core.internal.JavaLanguageServerPlugin;
+import org.eclipse.jdt.ls.core.internal.managers.FormatterManager;
 import org.eclipse.jdt.ls.core.internal.preferences.PreferenceManager;
 import org.eclipse.jface.text.BadLocationException;
 import org.eclipse.jface.text.Document;
@@ -104,25 +110,37 @@ public class FormatterHandler {
 			return Collections.emptyList();
 		}
 
-		return format(cu, document, region, options, preferenceManager.getPreferences().isJavaFormatComments(), monitor);
+		return format(cu, document, region, null, options, preferenceManager.getPreferences().isJavaFormatComments(), monitor);
 	}
 
-	private List<org.eclipse.lsp4j.TextEdit> format(ICompilationUnit cu, IDocument document, IRegion region, FormattingOptions options, boolean includeComments, IProgressMonitor monitor) {
+	private List<org.eclipse.lsp4j.TextEdit> format(ICompilationUnit cu, IDocument document, IRegion region, ASTNode enclosingNode, FormattingOptions options, boolean includeComments, IProgressMonitor monitor) {
 		if (cu == null || document == null || region == null || monitor.isCanceled()) {
 			return Collections.emptyList();
 		}
 
-		CodeFormatter formatter = ToolFactory.createCodeFormatter(getOptions(options, cu));
+		Map<String, String> formatterOptions = getOptions(options, cu);
+		CodeFormatter formatter = FormatterManager.getCodeFormatter(cu.getJavaProject(), formatterOptions);
 
 		String lineDelimiter = TextUtilities.getDefaultLineDelimiter(document);
-		String sourceToFormat = document.get();
-		int kind = getFormattingKind(cu, includeComments);
-		TextEdit format = formatter.format(kind, sourceToFormat, region.getOffset(), region.getLength(), 0, lineDelimiter);
+		TextEdit format = null;
+		synchronized (formatter) {
+			if (enclosingNode != null) {
+				format = formatEnclosingNode(formatter, formatterOptions, document, region, enclosingNode, lineDelimiter);
+			}
+			if (format == null) {
+				String sourceToFormat = document.get();
+				int kind = getFormattingKind(cu, includeComments);
+				format = formatter.format(kind, sourceToFormat, region.getOffset(), region.getLength(), 0, lineDelimiter);
+			}
+		}
+		if (format == null) {
+			return Collections.emptyList();
+		}
 		InsertEdit commaIndentationEdit = computeIndentationIfCommaPresent(cu, document, region, options);
 		if (commaIndentationEdit != null) {
 			format.addChild(commaIndentationEdit);
 		}
-		if (format == null || format.getChildren().length == 0 || monitor.isCanceled()) {
+		if (format.getChildren().length == 0 || monitor.isCanceled()) {
 			// nothing to return
 			return Collections.<org.eclipse.lsp4j.TextEdit>emptyList();
 		}
@@ -130,6 +148,59 @@ public class FormatterHandler {
 		return convertEdits(flatEdit.getChildren(), document);
 	}
 
+	/**
+	 * Formats only the source of the given statement or member, instead of the
+	 * whole compilation unit.
+	 *
+	 * @return the edits, relative to the whole document, or <code>null</code>
+	 *         if the node can't be formatted on its own
+	 */
+	private TextEdit formatEnclosingNode(CodeFormatter formatter, Map<String, String> formatterOptions, IDocument document, IRegion region, ASTNode node, String lineDelimiter) {
+		int kind = (node instanceof BodyDeclaration) ? CodeFormatter.K_CLASS_BODY_DECLARATIONS : CodeFormatter.K_STATEMENTS;
+		try {
+			IRegion startLine = document.getLineInformationOfOffset(node.getStartPosition());
+			String indentation = document.get(startLine.getOffset(), node.getStartPosition() - startLine.getOffset());
+			if (!indentation.isBlank()) {
+				// the node doesn't start its line
+				return null;
+			}
+			int start = startLine.getOffset();
+			int end = node.getStartPosition() + node.getLength();
+			if (region.getOffset() < start || region.getOffset() + region.getLength() > end) {
+				return null;
+			}
+			int tabWidth = IndentManipulation.getTabWidth(formatterOptions);
+			int indentWidth = IndentManipulation.getIndentWidth(formatterOptions);
+			int indentationLevel = IndentManipulation.measureIndentUnits(indentation, tabWidth, indentWidth);
+			String snippet = document.get(start, end - start);
+			TextEdit edit = formatter.format(kind, snippet, region.getOffset() - start, region.getLength(), indentationLevel, lineDelimiter);
+			if (edit != null) {
+				edit.moveTree(start);
+			}
+			return edit;
+		} catch (BadLocationException | IllegalArgumentException e) {
+			return null;
+		}
+	}
+
+	/**
+	 * Finds the smallest statement or member enclosing the given region that
+	 * can be formatted on its own.
+	 */
+	private static ASTNode findEnclosingNode(CompilationUnit astRoot, IRegion region) {
+		ASTNode node = NodeFinder.perform(astRoot, region.getOffset(), region.getLength());
+		while (node != null) {
+			if (node instanceof BodyDeclaration && node.getParent() instanceof AbstractTypeDeclaration) {
+				return node;
+			}
+			if (node instanceof Statement && !(node instanceof Block) && node.getParent() instanceof Block) {
+				return node;
+			}
+			node = node.getParent();
+		}
+		return null;
+	}
+
 	private InsertEdit computeIndentationIfCommaPresent(ICompilationUnit cu, IDocument document, IRegion region, FormattingOptions options) {
 		int length = region.getLength();
 		try {
@@ -270,7 +341,14 @@ public class FormatterHandler {
 		if (region == null) {
 			return Collections.emptyList();
 		}
-		return format(cu, document, region, options, false, monitor);
+		ASTNode enclosingNode = null;
+		if (preferenceManager.getPreferences().isJavaFormatOnTypeIncremental()) {
+			CompilationUnit astRoot = CoreASTProvider.getInstance().getAST(cu, CoreASTProvider.WAIT_YES, monitor);
+			if (astRoot != null) {
+				enclosingNode = findEnclosingNode(astRoot, region);
+			}
+		}
+		return format(cu, document, region, enclosingNode, options, false, monitor);
 	}
 
 	private IRegion getRegion(ICompilationUnit cu, IDocument document, Position position, String trigger) {
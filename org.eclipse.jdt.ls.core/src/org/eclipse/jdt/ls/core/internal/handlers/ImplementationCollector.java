@@ -14,11 +14,11 @@
 package org.eclipse.jdt.ls.core.internal.handlers;
 
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
-import java.util.Objects;
-import java.util.stream.Collectors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.Consumer;
 
 import org.eclipse.core.runtime.Assert;
 import org.eclipse.core.runtime.CoreException;
@@ -54,6 +54,7 @@ import org.eclipse.jdt.internal.core.manipulation.JavaElementLabelsCore;
 import org.eclipse.jdt.internal.corext.dom.Bindings;
 import org.eclipse.jdt.internal.corext.util.JdtFlags;
 import org.eclipse.jdt.internal.corext.util.MethodOverrideTester;
+import org.eclipse.jdt.ls.core.internal.CancellableProgressMonitor;
 import org.eclipse.jdt.ls.core.internal.JavaLanguageServerPlugin;
 import org.eclipse.jdt.ls.core.internal.Messages;
 import org.eclipse.jface.text.IRegion;
@@ -79,12 +80,28 @@ public class ImplementationCollector<T> {
 		T convert(IJavaElement element, int offset, int position);
 	}
 
+	/**
+	 * The number of implementations mapped, and reported, at once.
+	 */
+	private static final int BATCH_SIZE = 100;
+
+	/**
+	 * The number of implementations below which a batch is mapped by a single
+	 * task.
+	 */
+	private static final int MAPPING_THRESHOLD = 8;
+
+	private static ForkJoinPool mappingPool;
+
 	private static final String JavaElementImplementationHyperlink_search_implementors = "Searching for implementors...";
 	private static final String JavaElementImplementationHyperlink_search_method_implementors = "Searching for implementors of ''{0}''...";
 	private final IRegion region;
 	private final IJavaElement javaElement;
 	private ResultMapper<T> mapper;
 	private ITypeRoot typeRoot;
+	private Consumer<List<T>> partialResultConsumer;
+	private int maxResults = Integer.MAX_VALUE;
+	private int omittedCount = 0;
 
 	/**
 	 * @param typeRoot
@@ -106,6 +123,30 @@ public class ImplementationCollector<T> {
 		this.mapper = mapper;
 	}
 
+	/**
+	 * Sets the consumer of the implementations, reported in batches as soon as
+	 * they're mapped.
+	 */
+	public void setPartialResultConsumer(Consumer<List<T>> partialResultConsumer) {
+		this.partialResultConsumer = partialResultConsumer;
+	}
+
+	/**
+	 * Sets the maximum number of implementations to map, the others are only
+	 * counted by {@link #getOmittedCount()}.
+	 */
+	public void setMaxResults(int maxResults) {
+		this.maxResults = maxResults;
+	}
+
+	/**
+	 * Returns the number of implementations found beyond the maximum number of
+	 * results.
+	 */
+	public int getOmittedCount() {
+		return omittedCount;
+	}
+
 	/**
 	 * Finds the implementations for the method or type.
 	 *
@@ -117,10 +158,16 @@ public class ImplementationCollector<T> {
 		}
 		monitor.setTaskName(JavaElementImplementationHyperlink_search_implementors);
 		List<T> implementations = null;
-		if (javaElement instanceof IMethod) {
-			implementations = findMethodImplementations(monitor);
-		} else if (javaElement instanceof IType) {
-			implementations = findTypeImplementations(monitor);
+		try {
+			if (javaElement instanceof IMethod) {
+				implementations = findMethodImplementations(monitor);
+			} else if (javaElement instanceof IType) {
+				implementations = findTypeImplementations(monitor);
+			}
+		} catch (OperationCanceledException e) {
+			if (!CancellableProgressMonitor.isTimedOut(monitor)) {
+				throw e;
+			}
 		}
 		return implementations == null ? Collections.emptyList() : Collections.unmodifiableList(implementations);
 	}
@@ -131,11 +178,13 @@ public class ImplementationCollector<T> {
 		try {
 			String typeLabel = JavaElementLabelsCore.getElementLabel(type, JavaElementLabelsCore.DEFAULT_QUALIFIED);
 			monitor.beginTask(Messages.format(JavaElementImplementationHyperlink_search_method_implementors, typeLabel), 10);
-			IType[] allTypes = type.newTypeHierarchy(monitor).getAllSubtypes(type);
-			results = Arrays.stream(allTypes).map(el -> mapper.convert(el, 0, 0)).filter(Objects::nonNull).collect(Collectors.toList());
-			if (monitor.isCanceled()) {
-				throw new OperationCanceledException();
+			IType[] allTypes = TypeHierarchyCache.getInstance().getTypeHierarchy(type, monitor).getAllSubtypes(type);
+			MatchMapper matches = new MatchMapper(monitor);
+			for (IType subtype : allTypes) {
+				matches.add(new Match(subtype, 0, 0));
 			}
+			results = matches.finish();
+			checkCanceled(monitor);
 		} finally {
 			monitor.done();
 		}
@@ -171,7 +220,9 @@ public class ImplementationCollector<T> {
 				}
 			} else if (parent instanceof SuperMethodInvocation) {
 				// Directly go to the super method definition
-				return Collections.singletonList(mapper.convert(method, 0, 0));
+				MatchMapper matches = new MatchMapper(monitor);
+				matches.add(new Match(method, 0, 0));
+				return matches.finish();
 			} else if (parent instanceof MethodDeclaration) {
 				parentTypeBinding = Bindings.getBindingOfParentType(node);
 			}
@@ -181,21 +232,22 @@ public class ImplementationCollector<T> {
 			return null;
 		}
 
-		final List<T> results = new ArrayList<>();
+		final MatchMapper matches = new MatchMapper(monitor);
+		List<T> results;
 		try {
 			String methodLabel = JavaElementLabelsCore.getElementLabel(method, JavaElementLabelsCore.DEFAULT_QUALIFIED);
 			monitor.beginTask(Messages.format(JavaElementImplementationHyperlink_search_method_implementors, methodLabel), 10);
 			SearchRequestor requestor = new SearchRequestor() {
 				@Override
 				public void acceptSearchMatch(SearchMatch match) throws CoreException {
+					if (monitor.isCanceled()) {
+						throw new OperationCanceledException();
+					}
 					if (match.getAccuracy() == SearchMatch.A_ACCURATE) {
 						Object element = match.getElement();
 						if (element instanceof IMethod methodFound) {
 							if (!JdtFlags.isAbstract(methodFound)) {
-								T result = mapper.convert(methodFound, match.getOffset(), match.getLength());
-								if (result != null) {
-									results.add(result);
-								}
+								matches.add(new Match(methodFound, match.getOffset(), match.getLength()));
 							}
 						}
 					}
@@ -219,16 +271,131 @@ public class ImplementationCollector<T> {
 			Assert.isNotNull(pattern);
 			SearchParticipant[] participants = new SearchParticipant[] { SearchEngine.getDefaultSearchParticipant() };
 			SearchEngine engine = new SearchEngine();
-			engine.search(pattern, participants, hierarchyScope, requestor, new SubProgressMonitor(monitor, 7));
-			if (monitor.isCanceled()) {
-				throw new OperationCanceledException();
+			try {
+				engine.search(pattern, participants, hierarchyScope, requestor, new SubProgressMonitor(monitor, 7));
+			} catch (OperationCanceledException e) {
+				// the matches found so far are mapped when the time budget is exceeded
 			}
+			checkCanceled(monitor);
+			results = matches.finish();
 		} finally {
 			monitor.done();
 		}
 		return results;
 	}
 
+	/**
+	 * Throws an {@link OperationCanceledException} if the monitor is cancelled
+	 * by the client.
+	 */
+	private static void checkCanceled(IProgressMonitor monitor) {
+		if (monitor.isCanceled() && !CancellableProgressMonitor.isTimedOut(monitor)) {
+			throw new OperationCanceledException();
+		}
+	}
+
+	private static synchronized ForkJoinPool getMappingPool() {
+		if (mappingPool == null) {
+			mappingPool = new ForkJoinPool(Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors())));
+		}
+		return mappingPool;
+	}
+
+	private record Match(IJavaElement element, int offset, int length) {
+	}
+
+	/**
+	 * Maps the matches in batches as they're found, partitioning each batch
+	 * across the mapping pool, and reports the mapped batches. The matches
+	 * beyond the maximum number of results are only counted.
+	 */
+	private final class MatchMapper {
+		private final IProgressMonitor monitor;
+		private final List<Match> batch = new ArrayList<>();
+		private final List<T> results = new ArrayList<>();
+
+		private MatchMapper(IProgressMonitor monitor) {
+			this.monitor = monitor;
+		}
+
+		void add(Match match) {
+			if (results.size() + batch.size() >= maxResults) {
+				omittedCount++;
+				return;
+			}
+			batch.add(match);
+			if (batch.size() >= BATCH_SIZE || results.size() + batch.size() >= maxResults) {
+				flush();
+			}
+		}
+
+		/**
+		 * Maps the remaining matches and returns all the results.
+		 */
+		List<T> finish() {
+			flush();
+			return results;
+		}
+
+		private void flush() {
+			if (batch.isEmpty()) {
+				return;
+			}
+			checkCanceled(monitor);
+			if (CancellableProgressMonitor.isTimedOut(monitor)) {
+				// the results mapped so far are returned when the time budget is exceeded
+				omittedCount += batch.size();
+				batch.clear();
+				return;
+			}
+			List<T> mapped = getMappingPool().invoke(new MappingTask(List.copyOf(batch), monitor));
+			batch.clear();
+			results.addAll(mapped);
+			if (partialResultConsumer != null && !mapped.isEmpty()) {
+				partialResultConsumer.accept(mapped);
+			}
+		}
+	}
+
+	/**
+	 * Maps the matches, in their order, splitting them in halves until they're
+	 * few enough.
+	 */
+	private final class MappingTask extends RecursiveTask<List<T>> {
+		private static final long serialVersionUID = 1L;
+
+		private final transient List<Match> matches;
+		private final transient IProgressMonitor monitor;
+
+		private MappingTask(List<Match> matches, IProgressMonitor monitor) {
+			this.matches = matches;
+			this.monitor = monitor;
+		}
+
+		@Override
+		protected List<T> compute() {
+			if (matches.size() > MAPPING_THRESHOLD) {
+				int middle = matches.size() / 2;
+				MappingTask left = new MappingTask(matches.subList(0, middle), monitor);
+				MappingTask right = new MappingTask(matches.subList(middle, matches.size()), monitor);
+				left.fork();
+				List<T> results = new ArrayList<>(right.compute());
+				results.addAll(0, left.join());
+				return results;
+			}
+			List<T> results = new ArrayList<>(matches.size());
+			for (Match match : matches) {
+				if (monitor.isCanceled()) {
+					break;
+				}
+				T result = mapper.convert(match.element(), match.offset(), match.length());
+				if (result != null) {
+					results.add(result);
+				}
+			}
+			return results;
+		}
+	}
 
 	private static IType getType(ITypeBinding typeBinding) {
 		if (typeBinding == null) {
@@ -271,7 +438,7 @@ public class ImplementationCollector<T> {
 	 * @since 3.6
 	 */
 	private static boolean isFullHierarchyNeeded(IProgressMonitor monitor, IMethod method, IType receiverType) throws JavaModelException {
-		ITypeHierarchy superTypeHierarchy= receiverType.newSupertypeHierarchy(monitor);
+		ITypeHierarchy superTypeHierarchy= TypeHierarchyCache.getInstance().getSupertypeHierarchy(receiverType, monitor);
 		MethodOverrideTester methodOverrideTester= new MethodOverrideTester(receiverType, superTypeHierarchy);
 		return methodOverrideTester.findOverriddenMethodInType(receiverType, method) == null;
 	}
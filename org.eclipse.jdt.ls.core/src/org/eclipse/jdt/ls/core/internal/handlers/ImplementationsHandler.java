@@ -34,14 +34,18 @@ import org.eclipse.jdt.core.dom.SuperMethodInvocation;
 import org.eclipse.jdt.core.manipulation.CoreASTProvider;
 import org.eclipse.jdt.internal.corext.util.JdtFlags;
 import org.eclipse.jdt.ls.core.internal.JDTUtils;
+import org.eclipse.jdt.ls.core.internal.JavaClientConnection;
 import org.eclipse.jdt.ls.core.internal.JavaLanguageServerPlugin;
 import org.eclipse.jdt.ls.core.internal.preferences.PreferenceManager;
 import org.eclipse.jface.text.BadLocationException;
 import org.eclipse.jface.text.IDocument;
 import org.eclipse.jface.text.IRegion;
 import org.eclipse.jface.text.Region;
+import org.eclipse.lsp4j.ImplementationParams;
 import org.eclipse.lsp4j.Location;
+import org.eclipse.lsp4j.MessageType;
 import org.eclipse.lsp4j.TextDocumentPositionParams;
+import org.eclipse.lsp4j.jsonrpc.messages.Either;
 
 /**
  * Implementations handler
@@ -78,14 +82,44 @@ public class ImplementationsHandler {
 			boolean useDefaultLocation = primaryType == null ? false : "java.lang.Object".equals(primaryType.getFullyQualifiedName());
 			ImplementationToLocationMapper mapper = new ImplementationToLocationMapper(preferenceManager.isClientSupportsClassFileContent(), useDefaultLocation);
 			ImplementationCollector<Location> collector = new ImplementationCollector<>(typeRoot, region, elementToSearch, mapper);
+			Either<String, Integer> partialResultToken = param instanceof ImplementationParams implementationParams ? implementationParams.getPartialResultToken() : null;
+			JavaClientConnection connection = partialResultToken == null ? null : JavaLanguageServerPlugin.getInstance().getClientConnection();
+			if (connection != null) {
+				collector.setPartialResultConsumer(batch -> connection.sendPartialResult(partialResultToken, batch));
+			}
+			if (preferenceManager != null) {
+				collector.setMaxResults(preferenceManager.getPreferences().getMaxImplementationResults());
+			}
+			boolean atReference = isReference(typeRoot, region);
+			boolean unimplemented = isUnimplementedMember(elementToSearch);
+			Location definition = null;
+			if (atReference && !unimplemented) {
+				// the definition comes first, reported before the implementations
+				definition = NavigateToDefinitionHandler.computeDefinitionNavigation(elementToSearch, typeRoot.getJavaProject());
+				if (definition != null && connection != null) {
+					connection.sendPartialResult(partialResultToken, Collections.singletonList(definition));
+				}
+			}
 			locations = collector.findImplementations(monitor);
-			if (shouldIncludeDefinition(typeRoot, region, elementToSearch, locations)) {
-				Location definition = NavigateToDefinitionHandler.computeDefinitionNavigation(elementToSearch, typeRoot.getJavaProject());
-				if (definition != null) {
-					locations = locations == null ? new ArrayList<>() : new ArrayList<>(locations);
-					locations.add(0, definition);
+			JavaClientConnection client = JavaLanguageServerPlugin.getInstance().getClientConnection();
+			if (collector.getOmittedCount() > 0 && client != null) {
+				client.showNotificationMessage(MessageType.Info, collector.getOmittedCount() + " more implementations of '" + elementToSearch.getElementName() + "' are not shown.");
+			}
+			if (atReference && unimplemented && locations.isEmpty()) {
+				// the definition of an unimplemented member is only shown when it has no implementations
+				definition = NavigateToDefinitionHandler.computeDefinitionNavigation(elementToSearch, typeRoot.getJavaProject());
+				if (definition != null && connection != null) {
+					connection.sendPartialResult(partialResultToken, Collections.singletonList(definition));
 				}
 			}
+			if (definition != null) {
+				locations = new ArrayList<>(locations);
+				locations.add(0, definition);
+			}
+			if (connection != null) {
+				// all results have been reported, the final response must be empty
+				return Collections.emptyList();
+			}
 		} catch (CoreException e) {
 			JavaLanguageServerPlugin.logException("Problem computing definition for" + typeRoot.getElementName(), e);
 			return Collections.emptyList();
@@ -106,18 +140,7 @@ public class ImplementationsHandler {
 		return offset;
 	}
 
-	private boolean shouldIncludeDefinition(ITypeRoot typeRoot, IRegion region, IJavaElement elementToSearch, List<Location> implementations) {
-		boolean isUnimplemented = false;
-		try {
-			isUnimplemented = isUnimplementedMember(elementToSearch);
-		} catch (JavaModelException e) {
-			// do nothing.
-		}
-
-		if (isUnimplemented && implementations != null && !implementations.isEmpty()) {
-			return false;
-		}
-
+	private boolean isReference(ITypeRoot typeRoot, IRegion region) {
 		CompilationUnit ast = CoreASTProvider.getInstance().getAST(typeRoot, CoreASTProvider.WAIT_YES, new NullProgressMonitor());
 		if (ast == null) {
 			return false;
@@ -131,11 +154,15 @@ public class ImplementationsHandler {
 		return false;
 	}
 
-	private boolean isUnimplementedMember(IJavaElement element) throws JavaModelException {
-		if (element instanceof IMethod method) {
-			return isUnimplementedMethod(method);
-		} else if (element instanceof IType type) {
-			return isUnimplementedType(type);
+	private boolean isUnimplementedMember(IJavaElement element) {
+		try {
+			if (element instanceof IMethod method) {
+				return isUnimplementedMethod(method);
+			} else if (element instanceof IType type) {
+				return isUnimplementedType(type);
+			}
+		} catch (JavaModelException e) {
+			// do nothing.
 		}
 
 		return false;
@@ -17,15 +17,28 @@ import java.io.BufferedInputStream;
 import java.io.DataInputStream;
 import java.io.File;
 import java.io.FileInputStream;
+import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.net.URL;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.LinkOption;
 import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Properties;
 import java.util.Set;
 import java.util.zip.CRC32;
 
@@ -37,7 +50,10 @@ import org.eclipse.core.resources.IWorkspace;
 import org.eclipse.core.resources.ResourcesPlugin;
 import org.eclipse.core.runtime.IPath;
 import org.eclipse.core.runtime.Path;
+import org.eclipse.jdt.core.ElementChangedEvent;
 import org.eclipse.jdt.core.IClasspathEntry;
+import org.eclipse.jdt.core.IElementChangedListener;
+import org.eclipse.jdt.core.IJavaElementDelta;
 import org.eclipse.jdt.core.IJavaProject;
 import org.eclipse.jdt.core.JavaCore;
 import org.eclipse.jdt.core.JavaModelException;
@@ -55,7 +71,26 @@ import org.eclipse.jdt.ls.core.internal.JobHelpers;
 import org.eclipse.jdt.ls.core.internal.ProjectUtils;
 
 public class IndexUtils {
+	/**
+	 * Read-only directory of the prebuilt index bundles to use instead of
+	 * indexing the libraries.
+	 */
+	public static final String PREBUILT_INDEX_LOCATION = "java.index.prebuiltLocation";
+	/**
+	 * Directory where the index bundles of the libraries are written, once
+	 * they're indexed.
+	 */
+	public static final String EXPORT_INDEX_LOCATION = "java.index.exportLocation";
+	private static final String INDEX_BUNDLE_SUFFIX = ".index";
+	private static final String CHECKSUM_SUFFIX = ".sha256";
+	/**
+	 * Maps the exported libraries to the digest of their bundle.
+	 */
+	private static final String EXPORT_MANIFEST = "libraries.properties";
+	private static final long MAPPED_REGION_SIZE = 64 * 1024 * 1024;
+
 	private static boolean resourceChangeRegistered = false;
+	private static boolean classpathChangeRegistered = false;
 	private static Map<IPath, Long> externalTimeStamps = null;
 
 	public static void copyIndexesToSharedLocation() {
@@ -71,6 +106,282 @@ public class IndexUtils {
 		copyIndexesToSharedLocation(ProjectUtils.getJavaProjects());
 	}
 
+	/**
+	 * Copies the prebuilt index bundles of the libraries, keyed by the SHA-256
+	 * digest of the library jars, to the shared index location, so that the
+	 * libraries aren't indexed again in a new workspace. The bundles whose
+	 * checksum doesn't match are ignored.
+	 *
+	 * The bundles are imported for the projects already in the workspace, and
+	 * then whenever the classpath of a project is resolved, so that the index
+	 * manager finds them as soon as the libraries are added.
+	 */
+	public static void importPrebuiltIndexes() {
+		if (!isPrebuiltIndexEnabled()) {
+			return;
+		}
+
+		registerClasspathChangeListener();
+		importPrebuiltIndexes(ProjectUtils.getJavaProjects());
+	}
+
+	private static boolean isPrebuiltIndexEnabled() {
+		return JavaModelManager.getIndexManager() != null && StringUtils.isNotBlank(System.getProperty("jdt.core.sharedIndexLocation"))
+				&& StringUtils.isNotBlank(System.getProperty(PREBUILT_INDEX_LOCATION));
+	}
+
+	private static synchronized void registerClasspathChangeListener() {
+		if (classpathChangeRegistered) {
+			return;
+		}
+		classpathChangeRegistered = true;
+		JavaCore.addElementChangedListener(new IElementChangedListener() {
+			@Override
+			public void elementChanged(ElementChangedEvent event) {
+				List<IJavaProject> projects = new ArrayList<>();
+				for (IJavaElementDelta delta : event.getDelta().getAffectedChildren()) {
+					if (delta.getElement() instanceof IJavaProject javaProject
+							&& (delta.getFlags() & (IJavaElementDelta.F_CLASSPATH_CHANGED | IJavaElementDelta.F_RESOLVED_CLASSPATH_CHANGED)) != 0) {
+						projects.add(javaProject);
+					}
+				}
+
+				if (!projects.isEmpty() && isPrebuiltIndexEnabled()) {
+					importPrebuiltIndexes(projects.toArray(new IJavaProject[0]));
+				}
+			}
+		}, ElementChangedEvent.POST_CHANGE);
+	}
+
+	private static void importPrebuiltIndexes(IJavaProject[] javaProjects) {
+		final String PREBUILT_LOCATION = System.getProperty(PREBUILT_INDEX_LOCATION);
+		IndexManager indexManager = JavaModelManager.getIndexManager();
+		File prebuiltDirectory = new File(PREBUILT_LOCATION);
+		if (!prebuiltDirectory.isDirectory()) {
+			return;
+		}
+
+		Set<ClasspathEntry> processedEntries = new HashSet<>();
+		for (IJavaProject javaProject : javaProjects) {
+			try {
+				if (javaProject == null || !javaProject.exists()) {
+					continue;
+				}
+
+				for (IClasspathEntry entry : ((JavaProject) javaProject).getResolvedClasspath()) {
+					if (entry.getEntryKind() != IClasspathEntry.CPE_LIBRARY || !processedEntries.add((ClasspathEntry) entry)) {
+						continue;
+					}
+
+					IPath libraryPath = entry.getPath();
+					if (!(JavaModel.getTarget(libraryPath, true) instanceof File libraryFile)) {
+						continue;
+					}
+
+					IndexLocation sharedIndexLocation = getSharedIndexLocation((ClasspathEntry) entry);
+					File sharedIndexFile = sharedIndexLocation == null ? null : sharedIndexLocation.getIndexFile();
+					if (sharedIndexFile == null || sharedIndexFile.exists()) {
+						continue;
+					}
+
+					String digest = getLibraryDigest(libraryFile);
+					if (digest == null) {
+						continue;
+					}
+
+					File bundle = new File(prebuiltDirectory, digest + INDEX_BUNDLE_SUFFIX);
+					if (!isValidBundle(bundle)) {
+						continue;
+					}
+
+					if (copyIndexFile(bundle, sharedIndexFile, libraryFile.lastModified())) {
+						// replace the index being built, if any, by the prebuilt one
+						indexManager.removeIndex(libraryPath);
+						indexManager.indexLibrary(libraryPath, javaProject.getProject(), sharedIndexLocation.getUrl(), false);
+					}
+				}
+			} catch (JavaModelException e) {
+				JavaLanguageServerPlugin.logException(e);
+			}
+		}
+	}
+
+	/**
+	 * Writes the index bundles of the indexed libraries, keyed by the SHA-256
+	 * digest of the library jars, with their checksum, to the export location.
+	 * The bundles are meant to be used as prebuilt indexes by new workspaces,
+	 * e.g. on CI images. The libraries whose bundle was written after their
+	 * last change, according to the manifest of the export location, aren't
+	 * hashed nor exported again.
+	 */
+	public static void exportPrebuiltIndexes() {
+		final String EXPORT_LOCATION = System.getProperty(EXPORT_INDEX_LOCATION);
+		IndexManager indexManager = JavaModelManager.getIndexManager();
+		if (indexManager == null || StringUtils.isBlank(EXPORT_LOCATION)) {
+			return;
+		}
+
+		JobHelpers.waitUntilIndexesReady();
+		File exportDirectory = new File(EXPORT_LOCATION);
+		Properties manifest = loadExportManifest(exportDirectory);
+		Set<ClasspathEntry> processedEntries = new HashSet<>();
+		int count = 0;
+		for (IJavaProject javaProject : ProjectUtils.getJavaProjects()) {
+			try {
+				for (IClasspathEntry entry : ((JavaProject) javaProject).getResolvedClasspath()) {
+					if (entry.getEntryKind() != IClasspathEntry.CPE_LIBRARY || !processedEntries.add((ClasspathEntry) entry)) {
+						continue;
+					}
+
+					IPath libraryPath = entry.getPath();
+					if (!(JavaModel.getTarget(libraryPath, true) instanceof File libraryFile) || isExported(exportDirectory, manifest, libraryFile)) {
+						continue;
+					}
+
+					IndexLocation sharedIndexLocation = getSharedIndexLocation((ClasspathEntry) entry);
+					IndexLocation indexLocation = sharedIndexLocation != null && indexManager.getIndex(sharedIndexLocation) != null ? sharedIndexLocation : getLocalIndexLocation(libraryPath);
+					Index index = indexManager.getIndex(indexLocation);
+					File indexFile = indexLocation.getIndexFile();
+					if (index == null || index.hasChanged() || indexFile == null || !indexFile.exists()) {
+						continue;
+					}
+
+					String digest = getLibraryDigest(libraryFile);
+					if (digest == null) {
+						continue;
+					}
+
+					ReadWriteMonitor monitor = index.monitor;
+					if (monitor == null) { // index got deleted since acquired
+						continue;
+					}
+
+					File bundle = new File(exportDirectory, digest + INDEX_BUNDLE_SUFFIX);
+					try {
+						monitor.enterRead();
+						copyIndexFile(indexFile, bundle, libraryFile.lastModified());
+					} finally {
+						monitor.exitRead();
+					}
+					if (writeChecksum(bundle)) {
+						manifest.setProperty(libraryFile.getAbsolutePath(), digest);
+						count++;
+					}
+				}
+			} catch (JavaModelException e) {
+				JavaLanguageServerPlugin.logException(e);
+			}
+		}
+		if (count > 0) {
+			storeExportManifest(exportDirectory, manifest);
+		}
+		JavaLanguageServerPlugin.logInfo(String.format("Exported %d index bundles to %s", count, exportDirectory));
+	}
+
+	private static boolean isValidBundle(File bundle) {
+		File checksumFile = new File(bundle.getParentFile(), bundle.getName() + CHECKSUM_SUFFIX);
+		if (!bundle.isFile() || !checksumFile.isFile()) {
+			return false;
+		}
+
+		try {
+			String checksum = Files.readString(checksumFile.toPath(), StandardCharsets.US_ASCII).trim();
+			if (checksum.equals(computeDigest(bundle))) {
+				return true;
+			}
+			JavaLanguageServerPlugin.logError(String.format("Ignoring the prebuilt index %s: checksum mismatch", bundle));
+		} catch (IOException | NoSuchAlgorithmException e) {
+			JavaLanguageServerPlugin.logException(String.format("Failed to validate the prebuilt index %s", bundle), e);
+		}
+		return false;
+	}
+
+	private static boolean writeChecksum(File bundle) {
+		File checksumFile = new File(bundle.getParentFile(), bundle.getName() + CHECKSUM_SUFFIX);
+		try {
+			Files.writeString(checksumFile.toPath(), computeDigest(bundle), StandardCharsets.US_ASCII);
+			return true;
+		} catch (IOException | NoSuchAlgorithmException e) {
+			JavaLanguageServerPlugin.logException(String.format("Failed to write the checksum of the index %s", bundle), e);
+			return false;
+		}
+	}
+
+	/**
+	 * Answer whether the bundle of the library, as recorded by the manifest,
+	 * has a checksum newer than the library, so that the library doesn't need
+	 * to be hashed again.
+	 */
+	private static boolean isExported(File exportDirectory, Properties manifest, File libraryFile) {
+		String digest = manifest.getProperty(libraryFile.getAbsolutePath());
+		if (digest == null) {
+			return false;
+		}
+
+		File checksumFile = new File(exportDirectory, digest + INDEX_BUNDLE_SUFFIX + CHECKSUM_SUFFIX);
+		return checksumFile.lastModified() > libraryFile.lastModified() && new File(exportDirectory, digest + INDEX_BUNDLE_SUFFIX).isFile();
+	}
+
+	private static Properties loadExportManifest(File exportDirectory) {
+		Properties manifest = new Properties();
+		File manifestFile = new File(exportDirectory, EXPORT_MANIFEST);
+		if (manifestFile.isFile()) {
+			try (InputStream in = new FileInputStream(manifestFile)) {
+				manifest.load(in);
+			} catch (IOException e) {
+				JavaLanguageServerPlugin.logError(String.format("Failed to read the index manifest %s: %s", manifestFile, e.getMessage()));
+			}
+		}
+		return manifest;
+	}
+
+	private static void storeExportManifest(File exportDirectory, Properties manifest) {
+		File manifestFile = new File(exportDirectory, EXPORT_MANIFEST);
+		try (OutputStream out = new FileOutputStream(manifestFile)) {
+			manifest.store(out, null);
+		} catch (IOException e) {
+			JavaLanguageServerPlugin.logError(String.format("Failed to write the index manifest %s: %s", manifestFile, e.getMessage()));
+		}
+	}
+
+	/**
+	 * Answer the SHA-256 digest of the library. The digest of the runtime image
+	 * of a JDK also covers its release file, since jrt-fs.jar may be the same
+	 * across JDK builds.
+	 */
+	private static String getLibraryDigest(File libraryFile) {
+		try {
+			MessageDigest md = MessageDigest.getInstance("SHA-256");
+			updateDigest(md, libraryFile);
+			File releaseFile = new File(libraryFile.getParentFile().getParentFile(), "release");
+			if ("jrt-fs.jar".equals(libraryFile.getName()) && releaseFile.isFile()) {
+				updateDigest(md, releaseFile);
+			}
+			return HexFormat.of().formatHex(md.digest());
+		} catch (IOException | NoSuchAlgorithmException e) {
+			JavaLanguageServerPlugin.logException(String.format("Failed to compute the digest of %s", libraryFile), e);
+			return null;
+		}
+	}
+
+	private static String computeDigest(File file) throws IOException, NoSuchAlgorithmException {
+		MessageDigest md = MessageDigest.getInstance("SHA-256");
+		updateDigest(md, file);
+		return HexFormat.of().formatHex(md.digest());
+	}
+
+	/*
+	 * The file is memory-mapped by regions, rather than read through a buffer.
+	 */
+	private static void updateDigest(MessageDigest md, File file) throws IOException {
+		try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+			long size = channel.size();
+			for (long position = 0; position < size; position += MAPPED_REGION_SIZE) {
+				md.update(channel.map(MapMode.READ_ONLY, position, Math.min(MAPPED_REGION_SIZE, size - position)));
+			}
+		}
+	}
+
 	private static synchronized void registerResourceChangeListener() {
 		if (resourceChangeRegistered) {
 			return;
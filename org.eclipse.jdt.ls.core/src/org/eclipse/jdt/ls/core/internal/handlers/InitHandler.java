@@ -236,7 +236,7 @@ final public class InitHandler extends BaseInitHandler {
 
 		SemanticTokensWithRegistrationOptions semanticTokensOptions = new SemanticTokensWithRegistrationOptions();
 		semanticTokensOptions.setFull(new SemanticTokensServerFull(false));
-		semanticTokensOptions.setRange(false);
+		semanticTokensOptions.setRange(true);
 		semanticTokensOptions.setDocumentSelector(List.of(new DocumentFilter("java", "file", null), new DocumentFilter("java", "jdt", null)));
 		semanticTokensOptions.setLegend(SemanticTokensHandler.legend());
 		capabilities.setSemanticTokensProvider(semanticTokensOptions);
@@ -274,6 +274,8 @@ final public class InitHandler extends BaseInitHandler {
 					JobHelpers.waitForRepositoryRegistryUpdateJob();
 					JavaLanguageServerPlugin.logInfo("RepositoryRegistryUpdateJob finished " + (System.currentTimeMillis() - start) + "ms");
 					resetBuildState = ProjectsManager.interruptAutoBuild();
+					// the prebuilt indexes must be in place before the libraries are added to the index manager
+					IndexUtils.importPrebuiltIndexes();
 					projectsManager.initializeProjects(roots, subMonitor);
 					projectsManager.configureFilters(monitor);
 					JavaLanguageServerPlugin.logInfo("Workspace initialized in " + (System.currentTimeMillis() - start) + "ms");
@@ -288,7 +290,7 @@ final public class InitHandler extends BaseInitHandler {
 				} finally {
 					resetBuildState.run();
 					projectsManager.registerListeners();
-					preferenceManager.addPreferencesChangeListener(new InlayHintsPreferenceChangeListener());
+					preferenceManager.addPreferencesChangeListener(new InlayHintsPreferenceChangeListener(), InlayHintsPreferenceChangeListener.PREFERENCE_KEYS);
 				}
 				return Status.OK_STATUS;
 			}
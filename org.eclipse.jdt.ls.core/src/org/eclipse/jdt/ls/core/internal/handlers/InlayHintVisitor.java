@@ -48,6 +48,7 @@ import org.eclipse.lsp4j.jsonrpc.messages.Either;
 @SuppressWarnings("unchecked")
 class InlayHintVisitor extends ASTVisitor {
 	private List<InlayHint> hints;
+	private List<ASTNode> hintNodes;
 	private int startOffset;
 	private int endOffset;
 	private ITypeRoot typeRoot;
@@ -58,15 +59,22 @@ class InlayHintVisitor extends ASTVisitor {
 		this.endOffset = endOffset;
 		this.typeRoot = typeRoot;
 		this.hints = new ArrayList<>();
+		this.hintNodes = new ArrayList<>();
 		this.preferenceManager = preferenceManager;
 	}
 
+	@Override
+	public boolean preVisit2(ASTNode node) {
+		// skip the subtrees outside of the viewport
+		return !isOutOfRange(node);
+	}
+
 	@Override
 	public boolean visit(EnumConstantDeclaration node) {
 		if (isOutOfRange(node) || isGenerated(node)) {
 			return true;
 		}
-		resolveInlayHints(node.resolveConstructorBinding(), node.arguments());
+		resolveInlayHints(node, node.resolveConstructorBinding(), node.arguments());
 		return true;
 	}
 
@@ -75,7 +83,7 @@ class InlayHintVisitor extends ASTVisitor {
 		if (isOutOfRange(node) || isGenerated(node)) {
 			return true;
 		}
-		resolveInlayHints(node.resolveConstructorBinding(), node.arguments());
+		resolveInlayHints(node, node.resolveConstructorBinding(), node.arguments());
 		return true;
 	}
 
@@ -84,7 +92,7 @@ class InlayHintVisitor extends ASTVisitor {
 		if (isOutOfRange(node) || isGenerated(node)) {
 			return true;
 		}
-		resolveInlayHints(node.resolveMethodBinding(), node.arguments());
+		resolveInlayHints(node, node.resolveMethodBinding(), node.arguments());
 		return true;
 	}
 
@@ -93,7 +101,7 @@ class InlayHintVisitor extends ASTVisitor {
 		if (isOutOfRange(node) || isGenerated(node)) {
 			return true;
 		}
-		resolveInlayHints(node.resolveMethodBinding(), node.arguments());
+		resolveInlayHints(node, node.resolveMethodBinding(), node.arguments());
 		return true;
 	}
 
@@ -102,7 +110,7 @@ class InlayHintVisitor extends ASTVisitor {
 		if (isOutOfRange(node) || isGenerated(node)) {
 			return true;
 		}
-		resolveInlayHints(node.resolveConstructorBinding(), node.arguments());
+		resolveInlayHints(node, node.resolveConstructorBinding(), node.arguments());
 		return true;
 	}
 
@@ -111,7 +119,7 @@ class InlayHintVisitor extends ASTVisitor {
 		if (isOutOfRange(node) || isGenerated(node)) {
 			return true;
 		}
-		resolveInlayHints(node.resolveConstructorBinding(), node.arguments());
+		resolveInlayHints(node, node.resolveConstructorBinding(), node.arguments());
 		return true;
 	}
 
@@ -124,6 +132,14 @@ class InlayHintVisitor extends ASTVisitor {
 		return this.hints;
 	}
 
+	/**
+	 * Return the nodes of the inlay hints returned by {@link #getInlayHints()},
+	 * in the same order.
+	 */
+	List<ASTNode> getInlayHintNodes() {
+		return this.hintNodes;
+	}
+
 	/**
 	 * Check if the node is out of the viewport's range
 	 */
@@ -150,10 +166,11 @@ class InlayHintVisitor extends ASTVisitor {
 
 	/**
 	 * Resolve inlay hints. The results can be got by calling {@link #getInlayHints()}.
+	 * @param node
 	 * @param methodBinding
 	 * @param arguments
 	 */
-	private void resolveInlayHints(IMethodBinding methodBinding, List<Expression> arguments) {
+	private void resolveInlayHints(ASTNode node, IMethodBinding methodBinding, List<Expression> arguments) {
 		if (methodBinding == null) {
 			return;
 		}
@@ -193,6 +210,7 @@ class InlayHintVisitor extends ASTVisitor {
 				int[] lineAndColumn = JsonRpcHelpers.toLine(typeRoot.getBuffer(), arg.getStartPosition());
 				InlayHint hint = new InlayHint(new Position(lineAndColumn[0], lineAndColumn[1]), Either.forLeft(label));
 				hints.add(hint);
+				hintNodes.add(node);
 			}
 		} catch (JavaModelException e) {
 			JavaLanguageServerPlugin.logException(e.getMessage(), e);
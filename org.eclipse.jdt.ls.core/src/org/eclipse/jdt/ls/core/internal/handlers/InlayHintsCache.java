@@ -0,0 +1,232 @@
+/*******************************************************************************
+ * Copyright (c) 2024 Red Hat Inc. and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Red Hat Inc. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ls.core.internal.handlers;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.jdt.core.ElementChangedEvent;
+import org.eclipse.jdt.core.IBuffer;
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IElementChangedListener;
+import org.eclipse.jdt.core.ITypeRoot;
+import org.eclipse.jdt.core.JavaCore;
+import org.eclipse.jdt.core.JavaModelException;
+import org.eclipse.jdt.core.dom.ASTNode;
+import org.eclipse.jdt.core.dom.AbstractTypeDeclaration;
+import org.eclipse.jdt.core.dom.CompilationUnit;
+import org.eclipse.jdt.core.dom.EnumDeclaration;
+import org.eclipse.jdt.ls.core.internal.DocumentAdapter;
+import org.eclipse.jdt.ls.core.internal.preferences.PreferenceManager;
+import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.IDocumentExtension4;
+import org.eclipse.lsp4j.InlayHint;
+
+/**
+ * Caches the inlay hints of the latest requested documents, so that scrolling
+ * back to a part of a document doesn't recompute its hints.
+ *
+ * The hints are computed and cached per member of the top level types, and
+ * keyed by the modification stamp of the document and the preferences. Any
+ * change of the Java model discards the cache, since the parameter names may
+ * come from other documents.
+ */
+public class InlayHintsCache implements IElementChangedListener {
+
+	/**
+	 * Maximum number of documents with cached inlay hints.
+	 */
+	private static final int MAX_ENTRIES = 16;
+
+	private final AtomicLong generation = new AtomicLong();
+	private final Map<String, Entry> entries = Collections.synchronizedMap(new LinkedHashMap<>(MAX_ENTRIES, 0.75f, true) {
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+			return size() > MAX_ENTRIES;
+		}
+	});
+
+	public InlayHintsCache() {
+		JavaCore.addElementChangedListener(this, ElementChangedEvent.POST_CHANGE | ElementChangedEvent.POST_RECONCILE);
+	}
+
+	/**
+	 * Captures the current state of the document of the type root.
+	 *
+	 * @return the snapshot, or <code>null</code> if the inlay hints of the type
+	 *         root cannot be cached
+	 */
+	public Snapshot createSnapshot(ITypeRoot typeRoot, Object preferences) {
+		// read the generation first, so that a change happening while the hints are computed discards them
+		long currentGeneration = generation.get();
+		IBuffer buffer;
+		try {
+			buffer = typeRoot.getBuffer();
+		} catch (JavaModelException e) {
+			return null;
+		}
+		if (!(typeRoot instanceof ICompilationUnit) || !(buffer instanceof DocumentAdapter adapter) || !(adapter.getDocument() instanceof IDocumentExtension4 document)) {
+			return null;
+		}
+		return new Snapshot(currentGeneration, (ICompilationUnit) typeRoot, adapter.getDocument(), document.getModificationStamp(), preferences);
+	}
+
+	/**
+	 * Returns the cached inlay hints of the nodes in the range, or
+	 * <code>null</code> if some members in the range have no cached hints.
+	 */
+	public List<InlayHint> get(Snapshot snapshot, int startOffset, int endOffset) {
+		Entry entry = entries.get(snapshot.unit().getHandleIdentifier());
+		if (entry == null || !entry.matches(snapshot)) {
+			return null;
+		}
+		List<InlayHint> result = new ArrayList<>();
+		for (int[] member : entry.members()) {
+			if (isOutOfRange(member[0], member[1], startOffset, endOffset)) {
+				continue;
+			}
+			List<Hint> hints = entry.hints().get(member[0]);
+			if (hints == null) {
+				return null;
+			}
+			addHints(hints, startOffset, endOffset, result);
+		}
+		return result;
+	}
+
+	/**
+	 * Computes the inlay hints of the nodes in the range, visiting the members
+	 * without cached hints.
+	 *
+	 * @return the hints, or <code>null</code> if the AST may not match the
+	 *         snapshot
+	 */
+	public List<InlayHint> compute(Snapshot snapshot, CompilationUnit root, int startOffset, int endOffset, PreferenceManager preferenceManager) {
+		ICompilationUnit unit = snapshot.unit();
+		try {
+			if (!unit.isConsistent()) {
+				return null;
+			}
+		} catch (JavaModelException e) {
+			return null;
+		}
+		List<ASTNode> members = getMembers(root);
+		String key = unit.getHandleIdentifier();
+		Entry entry = entries.get(key);
+		if (entry == null || !entry.matches(snapshot)) {
+			List<int[]> ranges = new ArrayList<>(members.size());
+			for (ASTNode member : members) {
+				ranges.add(new int[] { member.getStartPosition(), member.getStartPosition() + member.getLength() });
+			}
+			entry = new Entry(snapshot.document(), snapshot.modificationStamp(), snapshot.preferences(), ranges, new ConcurrentHashMap<>());
+		}
+		List<InlayHint> result = new ArrayList<>();
+		for (ASTNode member : members) {
+			int memberStart = member.getStartPosition();
+			int memberEnd = memberStart + member.getLength();
+			if (isOutOfRange(memberStart, memberEnd, startOffset, endOffset)) {
+				continue;
+			}
+			List<Hint> hints = entry.hints().get(memberStart);
+			if (hints == null) {
+				InlayHintVisitor visitor = new InlayHintVisitor(memberStart, memberEnd, unit, preferenceManager);
+				member.accept(visitor);
+				hints = new ArrayList<>(visitor.getInlayHints().size());
+				for (int i = 0; i < visitor.getInlayHints().size(); i++) {
+					ASTNode node = visitor.getInlayHintNodes().get(i);
+					hints.add(new Hint(node.getStartPosition(), node.getStartPosition() + node.getLength(), visitor.getInlayHints().get(i)));
+				}
+				entry.hints().put(memberStart, hints);
+			}
+			addHints(hints, startOffset, endOffset, result);
+		}
+		synchronized (entries) {
+			if (snapshot.generation() == generation.get() && ((IDocumentExtension4) snapshot.document()).getModificationStamp() == snapshot.modificationStamp()) {
+				entries.put(key, entry);
+			}
+		}
+		return result;
+	}
+
+	public void clear() {
+		synchronized (entries) {
+			generation.incrementAndGet();
+			entries.clear();
+		}
+	}
+
+	@Override
+	public void elementChanged(ElementChangedEvent event) {
+		if (!entries.isEmpty()) {
+			clear();
+		}
+	}
+
+	/**
+	 * Returns the enum constants and body declarations of the top level types.
+	 */
+	private static List<ASTNode> getMembers(CompilationUnit root) {
+		List<ASTNode> members = new ArrayList<>();
+		for (Object type : root.types()) {
+			if (type instanceof EnumDeclaration enumDeclaration) {
+				for (Object enumConstant : enumDeclaration.enumConstants()) {
+					members.add((ASTNode) enumConstant);
+				}
+			}
+			if (type instanceof AbstractTypeDeclaration typeDeclaration) {
+				for (Object bodyDeclaration : typeDeclaration.bodyDeclarations()) {
+					members.add((ASTNode) bodyDeclaration);
+				}
+			}
+		}
+		return members;
+	}
+
+	private static void addHints(List<Hint> hints, int startOffset, int endOffset, List<InlayHint> result) {
+		for (Hint hint : hints) {
+			if (!isOutOfRange(hint.start(), hint.end(), startOffset, endOffset)) {
+				result.add(hint.inlayHint());
+			}
+		}
+	}
+
+	private static boolean isOutOfRange(int start, int end, int startOffset, int endOffset) {
+		return start > endOffset || end < startOffset;
+	}
+
+	/**
+	 * The document is compared by identity, since a reopened document may reuse
+	 * the modification stamps.
+	 */
+	public record Snapshot(long generation, ICompilationUnit unit, IDocument document, long modificationStamp, Object preferences) {
+	}
+
+	/**
+	 * An inlay hint, with the offsets of its method invocation.
+	 */
+	private record Hint(int start, int end, InlayHint inlayHint) {
+	}
+
+	private record Entry(IDocument document, long modificationStamp, Object preferences, List<int[]> members, Map<Integer, List<Hint>> hints) {
+		private boolean matches(Snapshot snapshot) {
+			return document == snapshot.document() && modificationStamp == snapshot.modificationStamp() && preferences == snapshot.preferences();
+		}
+	}
+}
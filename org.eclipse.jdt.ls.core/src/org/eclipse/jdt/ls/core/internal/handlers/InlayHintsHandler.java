@@ -33,8 +33,15 @@ public class InlayHintsHandler {
 
 	private final PreferenceManager preferenceManager;
 
+	private final InlayHintsCache cache;
+
 	public InlayHintsHandler(PreferenceManager preferenceManager) {
+		this(preferenceManager, null);
+	}
+
+	public InlayHintsHandler(PreferenceManager preferenceManager, InlayHintsCache cache) {
 		this.preferenceManager = preferenceManager;
+		this.cache = cache;
 	}
 
 	/**
@@ -48,25 +55,61 @@ public class InlayHintsHandler {
 			return Collections.emptyList();
 		}
 
-		JobHelpers.waitForJobs(DocumentLifeCycleHandler.DOCUMENT_LIFE_CYCLE_JOBS, monitor);
-
 		String uri = params.getTextDocument().getUri();
 
 		ITypeRoot typeRoot = JDTUtils.resolveTypeRoot(uri);
 		if (typeRoot == null) {
 			return Collections.emptyList();
 		}
+
+		// the cached hints of the current document don't need to wait for the reconcile
+		InlayHintsCache.Snapshot snapshot = cache == null ? null : cache.createSnapshot(typeRoot, preferenceManager.getPreferences());
+		if (snapshot != null) {
+			int[] offsets = getOffsets(snapshot.unit(), params);
+			List<InlayHint> hints = offsets == null ? null : cache.get(snapshot, offsets[0], offsets[1]);
+			if (hints != null) {
+				return hints;
+			}
+		}
+
+		JobHelpers.waitForJobs(DocumentLifeCycleHandler.DOCUMENT_LIFE_CYCLE_JOBS, monitor);
+
 		CompilationUnit root = CoreASTProvider.getInstance().getAST(typeRoot, CoreASTProvider.WAIT_YES, monitor);
 		if (root == null || monitor.isCanceled()) {
 			return Collections.emptyList();
 		}
 
+		int[] offsets = getOffsets(typeRoot, params);
+		if (offsets == null) {
+			return Collections.emptyList();
+		}
+		int startOffset = offsets[0];
+		int endOffset = offsets[1];
+
+		snapshot = cache == null ? null : cache.createSnapshot(typeRoot, preferenceManager.getPreferences());
+		if (snapshot != null) {
+			List<InlayHint> hints = cache.compute(snapshot, root, startOffset, endOffset, preferenceManager);
+			if (hints != null) {
+				return hints;
+			}
+		}
+
+		InlayHintVisitor inlayHintVisitor = new InlayHintVisitor(startOffset, endOffset, typeRoot, preferenceManager);
+		root.accept(inlayHintVisitor);
+		return inlayHintVisitor.getInlayHints();
+	}
+
+	/**
+	 * Returns the start and end offsets of the requested range, or
+	 * <code>null</code> if the buffer is unavailable.
+	 */
+	private static int[] getOffsets(ITypeRoot typeRoot, InlayHintParams params) {
 		IBuffer buffer;
 		try {
 			buffer = typeRoot.getBuffer();
 		} catch (JavaModelException e) {
 			JavaLanguageServerPlugin.logException(e.getMessage(), e);
-			return Collections.emptyList();
+			return null;
 		}
 
 		int startLine = params.getRange().getStart().getLine();
@@ -76,9 +119,6 @@ public class InlayHintsHandler {
 		int endLine = params.getRange().getEnd().getLine();
 		int endCharacter = params.getRange().getEnd().getCharacter();
 		int endOffset = JsonRpcHelpers.toOffset(buffer, endLine, endCharacter);
-
-		InlayHintVisitor inlayHintVisitor = new InlayHintVisitor(startOffset, endOffset, typeRoot, preferenceManager);
-		root.accept(inlayHintVisitor);
-		return inlayHintVisitor.getInlayHints();
+		return new int[] { startOffset, endOffset };
 	}
 }
@@ -21,6 +21,11 @@ import org.eclipse.jdt.ls.core.internal.preferences.Preferences;
 
 public class InlayHintsPreferenceChangeListener implements IPreferencesChangeListener {
 
+    /**
+     * The preference keys the listener depends on.
+     */
+    static final String[] PREFERENCE_KEYS = { Preferences.JAVA_INLAYHINTS_PARAMETERNAMES_ENABLED, Preferences.JAVA_INLAYHINTS_PARAMETERNAMES_EXCLUSIONS };
+
     @Override
     public void preferencesChange(Preferences oldPreferences, Preferences newPreferences) {
         if (!Objects.equals(oldPreferences.getInlayHintsParameterMode(), newPreferences.getInlayHintsParameterMode())) {
@@ -42,6 +42,7 @@ import org.eclipse.jdt.core.WorkingCopyOwner;
 import org.eclipse.jdt.launching.JavaRuntime;
 import org.eclipse.jdt.ls.core.internal.BaseJDTLanguageServer;
 import org.eclipse.jdt.ls.core.internal.BuildWorkspaceStatus;
+import org.eclipse.jdt.ls.core.internal.CancellableProgressMonitor;
 import org.eclipse.jdt.ls.core.internal.IDelegateCommandHandler;
 import org.eclipse.jdt.ls.core.internal.JDTUtils;
 import org.eclipse.jdt.ls.core.internal.JSONUtility;
@@ -52,7 +53,9 @@ import org.eclipse.jdt.ls.core.internal.JavaLanguageServerPlugin;
 import org.eclipse.jdt.ls.core.internal.JobHelpers;
 import org.eclipse.jdt.ls.core.internal.LanguageServerApplication;
 import org.eclipse.jdt.ls.core.internal.LanguageServerWorkingCopyOwner;
+import org.eclipse.jdt.ls.core.internal.ProjectUtils;
 import org.eclipse.jdt.ls.core.internal.ServiceStatus;
+import org.eclipse.jdt.ls.core.internal.StreamingMessageConsumer;
 import org.eclipse.jdt.ls.core.internal.codemanipulation.GenerateGetterSetterOperation.AccessorField;
 import org.eclipse.jdt.ls.core.internal.handlers.CodeActionHandler.CodeActionData;
 import org.eclipse.jdt.ls.core.internal.handlers.ExtractInterfaceHandler.CheckExtractInterfaceResponse;
@@ -80,10 +83,12 @@ import org.eclipse.jdt.ls.core.internal.lsp.JavaProtocolExtensions;
 import org.eclipse.jdt.ls.core.internal.lsp.ValidateDocumentParams;
 import org.eclipse.jdt.ls.core.internal.managers.ContentProviderManager;
 import org.eclipse.jdt.ls.core.internal.managers.ProjectsManager;
+import org.eclipse.jdt.ls.core.internal.managers.SourceAttachmentIndex;
 import org.eclipse.jdt.ls.core.internal.managers.StandardProjectsManager;
 import org.eclipse.jdt.ls.core.internal.managers.TelemetryManager;
 import org.eclipse.jdt.ls.core.internal.preferences.PreferenceManager;
 import org.eclipse.jdt.ls.core.internal.preferences.Preferences;
+import org.eclipse.jdt.ls.core.internal.preferences.PreferencesDiff;
 import org.eclipse.lsp4j.CallHierarchyIncomingCall;
 import org.eclipse.lsp4j.CallHierarchyIncomingCallsParams;
 import org.eclipse.lsp4j.CallHierarchyItem;
@@ -141,6 +146,7 @@ import org.eclipse.lsp4j.SelectionRange;
 import org.eclipse.lsp4j.SelectionRangeParams;
 import org.eclipse.lsp4j.SemanticTokens;
 import org.eclipse.lsp4j.SemanticTokensParams;
+import org.eclipse.lsp4j.SemanticTokensRangeParams;
 import org.eclipse.lsp4j.SetTraceParams;
 import org.eclipse.lsp4j.SignatureHelp;
 import org.eclipse.lsp4j.SignatureHelpParams;
@@ -176,11 +182,22 @@ public class JDTLanguageServer extends BaseJDTLanguageServer implements Language
 
 	public static final String JAVA_LSP_JOIN_ON_COMPLETION = "java.lsp.joinOnCompletion";
 	public static final String JAVA_LSP_INITIALIZE_WORKSPACE = "java.lsp.initializeWorkspace";
+	/**
+	 * Time to wait for more diagnostics before publishing them, in milliseconds.
+	 */
+	private static final long DIAGNOSTICS_PUBLISH_WINDOW = 50;
+	/**
+	 * Maximum number of documents whose diagnostics are published per batch.
+	 */
+	private static final int DIAGNOSTICS_PUBLISH_BATCH_SIZE = 200;
 	private ProjectsManager pm;
 	private LanguageServerWorkingCopyOwner workingCopyOwner;
 	private PreferenceManager preferenceManager;
 	private DocumentLifeCycleHandler documentLifeCycleHandler;
 	private WorkspaceEventsHandler workspaceEventHandler;
+	private CodeActionCache codeActionCache;
+	private InlayHintsCache inlayHintsCache;
+	private DocumentSymbolCache documentSymbolCache = new DocumentSymbolCache();
 	private WorkspaceDiagnosticsHandler workspaceDiagnosticsHandler;
 	private ClasspathUpdateHandler classpathUpdateHandler;
 	private JVMConfigurator jvmConfigurator;
@@ -247,6 +264,13 @@ public class JDTLanguageServer extends BaseJDTLanguageServer implements Language
 	@Override
 	public void connectClient(JavaLanguageClient client) {
 		super.connectClient(client);
+		this.client.enableDiagnosticsPublisher(DIAGNOSTICS_PUBLISH_WINDOW, DIAGNOSTICS_PUBLISH_BATCH_SIZE);
+		if (this.codeActionCache == null) {
+			this.codeActionCache = new CodeActionCache();
+		}
+		if (this.inlayHintsCache == null) {
+			this.inlayHintsCache = new InlayHintsCache();
+		}
 		progressReporterManager = new ProgressReporterManager(client, preferenceManager);
 		this.workingCopyOwner = new LanguageServerWorkingCopyOwner(this.client);
 		pm.setConnection(client);
@@ -324,12 +348,14 @@ public class JDTLanguageServer extends BaseJDTLanguageServer implements Language
 					pm.projectsImported(monitor);
 
 					IndexUtils.copyIndexesToSharedLocation();
+					SourceAttachmentIndex.getInstance().scheduleUpdate(ProjectUtils.getJavaProjects());
 					JobHelpers.waitForBuildJobs(60 * 60 * 1000); // 1 hour
 					logInfo(">> build jobs finished");
 					// https://github.com/redhat-developer/vscode-java/issues/3637 - delay registerWatchers
 					pm.registerWatchers();
 					debugTrace(">> watchers registered");
 					pm.projectsBuildFinished(monitor);
+					IndexUtils.exportPrebuiltIndexes();
 					telemetryManager.onBuildFinished(System.currentTimeMillis());
 					workspaceDiagnosticsHandler.publishDiagnostics(monitor);
 				} catch (OperationCanceledException | CoreException e) {
@@ -463,6 +489,13 @@ public class JDTLanguageServer extends BaseJDTLanguageServer implements Language
 	@Override
 	public CompletableFuture<Object> shutdown() {
 		logInfo(">> shutdown");
+		if (JavaLanguageServerPlugin.getInstance() != null) {
+			logInfo("Message executor: " + JavaLanguageServerPlugin.getMessageExecutor().getStatistics());
+			StreamingMessageConsumer outgoingMessageConsumer = JavaLanguageServerPlugin.getInstance().getOutgoingMessageConsumer();
+			if (outgoingMessageConsumer != null) {
+				logInfo("Outgoing messages: " + outgoingMessageConsumer.getStatistics());
+			}
+		}
 		return computeAsync((monitor) -> {
 			shutdownJob.setSystem(true);
 			shutdownJob.schedule();
@@ -527,7 +560,7 @@ public class JDTLanguageServer extends BaseJDTLanguageServer implements Language
 	public CompletableFuture<Either<List<? extends SymbolInformation>, List<? extends WorkspaceSymbol>>> symbol(WorkspaceSymbolParams params) {
 		debugTrace(">> workspace/symbol");
 		return computeAsync((monitor) -> {
-			return Either.forLeft(WorkspaceSymbolHandler.search(params.getQuery(), monitor));
+			return Either.forLeft(withTimeBudget("workspace/symbol", monitor, m -> WorkspaceSymbolHandler.search(params.getQuery(), m)));
 		});
 	}
 
@@ -539,6 +572,7 @@ public class JDTLanguageServer extends BaseJDTLanguageServer implements Language
 		debugTrace(">> workspace/didChangeConfiguration");
 		Object settings = JSONUtility.toModel(params.getSettings(), Map.class);
 		boolean nullAnalysisOptionsUpdated = false;
+		PreferencesDiff diff = null;
 		if (settings instanceof Map) {
 			Collection<IPath> rootPaths = preferenceManager.getPreferences().getRootPaths();
 			@SuppressWarnings("unchecked")
@@ -547,6 +581,7 @@ public class JDTLanguageServer extends BaseJDTLanguageServer implements Language
 			boolean nullAnalysisConfigurationsChanged =!prefs.getNullableTypes().equals(preferenceManager.getPreferences().getNullableTypes())
 				|| !prefs.getNonnullTypes().equals(preferenceManager.getPreferences().getNonnullTypes())
 				|| !prefs.getNullAnalysisMode().equals(preferenceManager.getPreferences().getNullAnalysisMode());
+			diff = PreferencesDiff.compute(preferenceManager.getPreferences(), prefs);
 			preferenceManager.update(prefs);
 			if (nullAnalysisConfigurationsChanged) {
 				// trigger rebuild all the projects when the null analysis configuration changed **and** the compiler options updated
@@ -559,10 +594,13 @@ public class JDTLanguageServer extends BaseJDTLanguageServer implements Language
 			syncCapabilitiesToSettings();
 		}
 		boolean jvmChanged = false;
-		try {
-			jvmChanged = JVMConfigurator.configureJVMs(preferenceManager.getPreferences(), this.client);
-		} catch (Exception e) {
-			JavaLanguageServerPlugin.logException(e.getMessage(), e);
+		// the JVMs are only reconfigured when their settings changed
+		if (diff != null && diff.affects(Preferences.JAVA_HOME, Preferences.JAVA_CONFIGURATION_RUNTIMES)) {
+			try {
+				jvmChanged = JVMConfigurator.configureJVMs(preferenceManager.getPreferences(), this.client);
+			} catch (Exception e) {
+				JavaLanguageServerPlugin.logException(e.getMessage(), e);
+			}
 		}
 		try {
 			boolean isAutobuildEnabled = preferenceManager.getPreferences().isAutobuildEnabled();
@@ -709,7 +747,7 @@ public class JDTLanguageServer extends BaseJDTLanguageServer implements Language
 	public CompletableFuture<List<? extends Location>> references(ReferenceParams params) {
 		debugTrace(">> document/references");
 		ReferencesHandler handler = new ReferencesHandler(this.preferenceManager);
-		return computeAsync((monitor) -> handler.findReferences(params, monitor));
+		return computeAsync((monitor) -> withTimeBudget("textDocument/references", monitor, m -> handler.findReferences(params, m)));
 	}
 
 	@Override
@@ -733,7 +771,7 @@ public class JDTLanguageServer extends BaseJDTLanguageServer implements Language
 	@Override
 	public CompletableFuture<List<Either<SymbolInformation, DocumentSymbol>>> documentSymbol(DocumentSymbolParams params) {
 		debugTrace(">> document/documentSymbol");
-		DocumentSymbolHandler handler = new DocumentSymbolHandler(preferenceManager);
+		DocumentSymbolHandler handler = new DocumentSymbolHandler(preferenceManager, documentSymbolCache);
 		return computeAsync((monitor) -> {
 			waitForLifecycleJobs(monitor);
 			return handler.documentSymbol(params, monitor);
@@ -746,7 +784,7 @@ public class JDTLanguageServer extends BaseJDTLanguageServer implements Language
 	@Override
 	public CompletableFuture<List<Either<Command, CodeAction>>> codeAction(CodeActionParams params) {
 		debugTrace(">> document/codeAction");
-		CodeActionHandler handler = new CodeActionHandler(this.preferenceManager);
+		CodeActionHandler handler = new CodeActionHandler(this.preferenceManager, this.codeActionCache);
 		return computeAsync((monitor) -> {
 			waitForLifecycleJobs(monitor);
 			// see https://github.com/eclipse-jdtls/eclipse.jdt.ls/issues/2799
@@ -806,7 +844,7 @@ public class JDTLanguageServer extends BaseJDTLanguageServer implements Language
 		CodeLensHandler handler = new CodeLensHandler(preferenceManager);
 		return computeAsync((monitor) -> {
 			waitForLifecycleJobs(monitor);
-			return handler.resolve(unresolved, monitor);
+			return withTimeBudget("codeLens/resolve", monitor, m -> handler.resolve(unresolved, m));
 		});
 	}
 
@@ -896,7 +934,7 @@ public class JDTLanguageServer extends BaseJDTLanguageServer implements Language
 	@Override
 	public void validateDocument(ValidateDocumentParams params) {
 		logInfo(">> java/validateDocument");
-		computeAsync((monitor) -> {
+		computeNotificationAsync((monitor) -> {
 			try {
 				documentLifeCycleHandler.validateDocument(params.getTextDocument().getUri(), true, monitor);
 			} catch (JavaModelException e) {
@@ -931,7 +969,7 @@ public class JDTLanguageServer extends BaseJDTLanguageServer implements Language
 		}
 
 		if (lspCleanups.contains(BaseDocumentLifeCycleHandler.RENAME_FILE_TO_TYPE)) {
-			computeAsync((monitor) -> {
+			computeNotificationAsync((monitor) -> {
 				DocumentLifeCycleHandler.handleFileRenameForTypeDeclaration(documentUri);
 				return null;
 			});
@@ -1015,7 +1053,7 @@ public class JDTLanguageServer extends BaseJDTLanguageServer implements Language
 		debugTrace(">> document/implementation");
 		return computeAsyncWithClientProgress((monitor) -> {
 			ImplementationsHandler handler = new ImplementationsHandler(preferenceManager);
-			return Either.forLeft(handler.findImplementations(position, monitor));
+			return Either.forLeft(withTimeBudget("textDocument/implementation", monitor, m -> handler.findImplementations(position, m)));
 		});
 	}
 
@@ -1164,13 +1202,13 @@ public class JDTLanguageServer extends BaseJDTLanguageServer implements Language
 	@Override
 	public CompletableFuture<List<CallHierarchyIncomingCall>> callHierarchyIncomingCalls(CallHierarchyIncomingCallsParams params) {
 		debugTrace(">> callHierarchy/incomingCalls");
-		return computeAsyncWithClientProgress((monitor) -> new CallHierarchyHandler().callHierarchyIncomingCalls(params, monitor));
+		return computeAsyncWithClientProgress((monitor) -> withTimeBudget("callHierarchy/incomingCalls", monitor, m -> new CallHierarchyHandler().callHierarchyIncomingCalls(params, m)));
 	}
 
 	@Override
 	public CompletableFuture<List<CallHierarchyOutgoingCall>> callHierarchyOutgoingCalls(CallHierarchyOutgoingCallsParams params) {
 		debugTrace(">> callHierarchy/outgoingCalls");
-		return computeAsyncWithClientProgress((monitor) -> new CallHierarchyHandler().callHierarchyOutgoingCalls(params, monitor));
+		return computeAsyncWithClientProgress((monitor) -> withTimeBudget("callHierarchy/outgoingCalls", monitor, m -> new CallHierarchyHandler().callHierarchyOutgoingCalls(params, m)));
 	}
 
 	@Override
@@ -1180,10 +1218,17 @@ public class JDTLanguageServer extends BaseJDTLanguageServer implements Language
 			documentLifeCycleHandler.new DocumentMonitor(params.getTextDocument().getUri())));
 	}
 
+	@Override
+	public CompletableFuture<SemanticTokens> semanticTokensRange(SemanticTokensRangeParams params) {
+		debugTrace(">> textDocument/semanticTokens/range");
+		return computeAsync(monitor -> SemanticTokensHandler.range(monitor, params,
+			documentLifeCycleHandler.new DocumentMonitor(params.getTextDocument().getUri())));
+	}
+
 	@Override
 	public CompletableFuture<List<InlayHint>> inlayHint(InlayHintParams params) {
 		debugTrace(">> textDocument/inlayHint");
-		return computeAsync(monitor -> new InlayHintsHandler(preferenceManager).inlayHint(params, monitor));
+		return computeAsync(monitor -> new InlayHintsHandler(preferenceManager, inlayHintsCache).inlayHint(params, monitor));
 	}
 
 	@Override
@@ -1221,12 +1266,33 @@ public class JDTLanguageServer extends BaseJDTLanguageServer implements Language
 		// FIXME: implement the behavior of this method.
 	}
 	private <R> CompletableFuture<R> computeAsyncWithClientProgress(Function<IProgressMonitor, R> code) {
-		return CompletableFutures.computeAsync((cc) -> {
+		return CompletableFutures.computeAsync(getRequestExecutor(), (cc) -> {
 			IProgressMonitor monitor = progressReporterManager.getProgressReporter(cc);
 			return code.apply(monitor);
 		});
 	}
 
+	/**
+	 * Runs the code of the LSP method within the time budget configured for the
+	 * method, if any. A request exceeding its budget is logged and counted, and
+	 * returns the results found so far.
+	 */
+	private <R> R withTimeBudget(String method, IProgressMonitor monitor, Function<IProgressMonitor, R> code) {
+		long timeBudget = preferenceManager.getPreferences().getRequestTimeBudget(method);
+		if (timeBudget <= 0 || !(monitor instanceof CancellableProgressMonitor cancellable)) {
+			return code.apply(monitor);
+		}
+		long start = System.currentTimeMillis();
+		cancellable.setTimeBudget(timeBudget);
+		R result = code.apply(monitor);
+		if (cancellable.isTimedOut()) {
+			long elapsed = System.currentTimeMillis() - start;
+			logInfo(">> " + method + " exceeded its time budget of " + timeBudget + "ms, returning partial results");
+			telemetryManager.onRequestTimedOut(method, elapsed);
+		}
+		return result;
+	}
+
 	private void waitForLifecycleJobs(IProgressMonitor monitor) {
 		JobHelpers.waitForJobs(DocumentLifeCycleHandler.DOCUMENT_LIFE_CYCLE_JOBS, monitor);
 	}
@@ -0,0 +1,218 @@
+/*******************************************************************************
+ * Copyright (c) 2024 Red Hat Inc. and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Red Hat Inc. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ls.core.internal.handlers;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.JavaCore;
+import org.eclipse.jdt.core.dom.ASTVisitor;
+import org.eclipse.jdt.core.dom.AbstractTypeDeclaration;
+import org.eclipse.jdt.core.dom.CompilationUnit;
+import org.eclipse.jdt.core.dom.IAnnotationBinding;
+import org.eclipse.jdt.core.dom.IBinding;
+import org.eclipse.jdt.core.dom.IMethodBinding;
+import org.eclipse.jdt.core.dom.ITypeBinding;
+import org.eclipse.jdt.core.dom.IVariableBinding;
+import org.eclipse.jdt.core.dom.Modifier;
+import org.eclipse.jdt.core.dom.SimpleName;
+
+/**
+ * Tracks the types referenced by the open units, so that a change of an open
+ * unit only revalidates the open units referencing the types whose shape
+ * changed.
+ *
+ * The shape of a type is the hash of its non private members, supertypes and
+ * modifiers, computed from the bindings of the reconciled AST. The referenced
+ * types are the source types resolved by the names of the unit, and their
+ * supertypes.
+ */
+class OpenUnitDependencies {
+
+	private final Map<ICompilationUnit, Dependencies> units = new ConcurrentHashMap<>();
+
+	/**
+	 * Records the declared and referenced types of the reconciled unit.
+	 *
+	 * @return the other open units to revalidate
+	 */
+	Set<ICompilationUnit> update(ICompilationUnit unit, CompilationUnit ast) {
+		Map<String, Integer> shapes = getShapes(ast);
+		Dependencies previous = units.put(unit, new Dependencies(shapes, getReferencedTypes(ast)));
+		// a unit seen for the first time, or an added, removed or renamed type, may fix or break any unit
+		boolean all = previous == null || !previous.shapes().keySet().equals(shapes.keySet());
+		Set<String> changedTypes = new HashSet<>();
+		if (!all) {
+			shapes.forEach((name, shape) -> {
+				if (!shape.equals(previous.shapes().get(name))) {
+					changedTypes.add(name);
+				}
+			});
+			if (changedTypes.isEmpty()) {
+				return Collections.emptySet();
+			}
+		}
+		Set<ICompilationUnit> dependents = new LinkedHashSet<>();
+		for (ICompilationUnit workingCopy : JavaCore.getWorkingCopies(null)) {
+			if (workingCopy.equals(unit)) {
+				continue;
+			}
+			Dependencies dependencies = units.get(workingCopy);
+			if (all || dependencies == null || !Collections.disjoint(dependencies.referencedTypes(), changedTypes)) {
+				dependents.add(workingCopy);
+			}
+		}
+		return dependents;
+	}
+
+	/**
+	 * Forgets the unit, e.g. when it's closed.
+	 */
+	void remove(ICompilationUnit unit) {
+		units.remove(unit);
+	}
+
+	/**
+	 * Returns the shapes of the types declared in the AST, keyed by their
+	 * qualified names.
+	 */
+	static Map<String, Integer> getShapes(CompilationUnit ast) {
+		Map<String, Integer> shapes = new HashMap<>();
+		ast.accept(new ASTVisitor() {
+			@Override
+			public void endVisit(AbstractTypeDeclaration node) {
+				ITypeBinding type = node.resolveBinding();
+				if (type != null && !type.isLocal()) {
+					shapes.put(type.getQualifiedName(), getShape(type));
+				}
+			}
+		});
+		return shapes;
+	}
+
+	private static int getShape(ITypeBinding type) {
+		StringBuilder buf = new StringBuilder();
+		buf.append(type.getModifiers()).append(type.getKey());
+		if (type.getSuperclass() != null) {
+			buf.append(type.getSuperclass().getKey());
+		}
+		for (ITypeBinding superInterface : type.getInterfaces()) {
+			buf.append(superInterface.getKey());
+		}
+		for (ITypeBinding typeParameter : type.getTypeParameters()) {
+			appendTypeParameter(typeParameter, buf);
+		}
+		appendAnnotations(type.getAnnotations(), buf);
+		for (ITypeBinding memberType : type.getDeclaredTypes()) {
+			if (!Modifier.isPrivate(memberType.getModifiers())) {
+				buf.append(';').append(memberType.getModifiers()).append(memberType.getKey());
+			}
+		}
+		for (IVariableBinding field : type.getDeclaredFields()) {
+			if (!Modifier.isPrivate(field.getModifiers())) {
+				buf.append(';').append(field.getModifiers()).append(field.getName()).append(field.getType().getKey()).append(field.getConstantValue());
+				appendAnnotations(field.getAnnotations(), buf);
+			}
+		}
+		for (IMethodBinding method : type.getDeclaredMethods()) {
+			if (!Modifier.isPrivate(method.getModifiers())) {
+				buf.append(';').append(method.getModifiers()).append(method.getKey()).append(method.getReturnType().getKey());
+				for (ITypeBinding typeParameter : method.getTypeParameters()) {
+					appendTypeParameter(typeParameter, buf);
+				}
+				for (ITypeBinding exceptionType : method.getExceptionTypes()) {
+					buf.append(exceptionType.getKey());
+				}
+				Object defaultValue = method.getDefaultValue();
+				buf.append(defaultValue instanceof Object[] values ? Arrays.deepToString(values) : defaultValue);
+				appendAnnotations(method.getAnnotations(), buf);
+				for (int i = 0; i < method.getParameterTypes().length; i++) {
+					buf.append('(');
+					appendAnnotations(method.getParameterAnnotations(i), buf);
+				}
+			}
+		}
+		return buf.toString().hashCode();
+	}
+
+	private static void appendAnnotations(IAnnotationBinding[] annotations, StringBuilder buf) {
+		for (IAnnotationBinding annotation : annotations) {
+			buf.append('@').append(annotation.getKey());
+		}
+	}
+
+	private static void appendTypeParameter(ITypeBinding typeParameter, StringBuilder buf) {
+		buf.append('<').append(typeParameter.getKey());
+		for (ITypeBinding bound : typeParameter.getTypeBounds()) {
+			buf.append(bound.getKey());
+		}
+	}
+
+	/**
+	 * Returns the qualified names of the source types referenced by the AST,
+	 * including the supertypes of the referenced and declared types.
+	 */
+	static Set<String> getReferencedTypes(CompilationUnit ast) {
+		Set<String> referencedTypes = new HashSet<>();
+		ast.accept(new ASTVisitor() {
+			@Override
+			public boolean visit(SimpleName node) {
+				IBinding binding = node.resolveBinding();
+				if (binding instanceof ITypeBinding type) {
+					addType(type, referencedTypes);
+				} else if (binding instanceof IMethodBinding method) {
+					addType(method.getDeclaringClass(), referencedTypes);
+				} else if (binding instanceof IVariableBinding variable && variable.isField()) {
+					addType(variable.getDeclaringClass(), referencedTypes);
+				}
+				return false;
+			}
+		});
+		return referencedTypes;
+	}
+
+	private static void addType(ITypeBinding type, Set<String> referencedTypes) {
+		if (type == null) {
+			return;
+		}
+		if (type.isArray()) {
+			type = type.getElementType();
+		}
+		type = type.getErasure();
+		// binary types don't change with the open units
+		if (!type.isFromSource() || type.isTypeVariable() || type.isCapture() || type.isWildcardType()) {
+			return;
+		}
+		String name = type.getQualifiedName();
+		if (name.isEmpty() || !referencedTypes.add(name)) {
+			return;
+		}
+		if (type.getDeclaringClass() != null) {
+			addType(type.getDeclaringClass(), referencedTypes);
+		}
+		addType(type.getSuperclass(), referencedTypes);
+		for (ITypeBinding superInterface : type.getInterfaces()) {
+			addType(superInterface, referencedTypes);
+		}
+	}
+
+	private record Dependencies(Map<String, Integer> shapes, Set<String> referencedTypes) {
+	}
+}
@@ -0,0 +1,136 @@
+/*******************************************************************************
+ * Copyright (c) 2024 Red Hat Inc. and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Red Hat Inc. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ls.core.internal.handlers;
+
+import java.util.Collections;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Coalesces the progress of concurrent jobs before it is sent to the client.
+ * <ul>
+ * <li>At most <code>maxVisible</code> reporters get their own progress entry on
+ * the client, the other reporters are merged into a single summary entry.</li>
+ * <li>Intermediate updates are emitted at most once per interval across all
+ * reporters, the other intermediate updates are dropped.</li>
+ * </ul>
+ */
+public class ProgressAggregator {
+
+	private int maxVisible;
+	private long lastEmit = 0;
+	// reporters that are never done release their slot once garbage collected
+	private final Set<Object> visible = Collections.newSetFromMap(new WeakHashMap<>());
+	private final Set<Object> merged = Collections.newSetFromMap(new WeakHashMap<>());
+	private final AtomicLong emitted = new AtomicLong();
+	private final AtomicLong dropped = new AtomicLong();
+
+	public ProgressAggregator(int maxVisible) {
+		this.maxVisible = maxVisible;
+	}
+
+	public synchronized void setMaxVisible(int maxVisible) {
+		this.maxVisible = maxVisible;
+	}
+
+	/**
+	 * Registers a reporter.
+	 *
+	 * @return <code>true</code> if the reporter gets its own progress entry,
+	 *         <code>false</code> if it is merged into the summary
+	 */
+	public synchronized boolean join(Object reporter) {
+		if (visible.contains(reporter)) {
+			return true;
+		}
+		if (merged.contains(reporter)) {
+			return false;
+		}
+		if (visible.size() < maxVisible) {
+			visible.add(reporter);
+			return true;
+		}
+		merged.add(reporter);
+		return false;
+	}
+
+	/**
+	 * Unregisters a reporter.
+	 *
+	 * @return <code>true</code> if the reporter was merged into the summary
+	 */
+	public synchronized boolean leave(Object reporter) {
+		visible.remove(reporter);
+		return merged.remove(reporter);
+	}
+
+	/**
+	 * Returns the number of reporters merged into the summary.
+	 */
+	public synchronized int getMergedCount() {
+		return merged.size();
+	}
+
+	/**
+	 * Decides whether an intermediate update can be emitted, according to the
+	 * rate shared by all reporters. The update is counted as emitted or
+	 * dropped.
+	 *
+	 * @param interval
+	 *            the minimum interval between two intermediate updates, in
+	 *            milliseconds
+	 */
+	public boolean tryEmit(long interval) {
+		boolean emit;
+		synchronized (this) {
+			long currentTime = System.currentTimeMillis();
+			emit = lastEmit == 0 || currentTime - lastEmit >= interval;
+			if (emit) {
+				lastEmit = currentTime;
+			}
+		}
+		if (emit) {
+			emitted.incrementAndGet();
+		} else {
+			dropped.incrementAndGet();
+		}
+		return emit;
+	}
+
+	/**
+	 * Records an update that is always emitted, like the first or the last
+	 * update of a reporter.
+	 */
+	public void emitted() {
+		synchronized (this) {
+			lastEmit = System.currentTimeMillis();
+		}
+		emitted.incrementAndGet();
+	}
+
+	/**
+	 * Records an update that is not emitted.
+	 */
+	public void dropped() {
+		dropped.incrementAndGet();
+	}
+
+	public long getEmittedCount() {
+		return emitted.get();
+	}
+
+	public long getDroppedCount() {
+		return dropped.get();
+	}
+}
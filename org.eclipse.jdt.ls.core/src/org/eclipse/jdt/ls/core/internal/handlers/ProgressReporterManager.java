@@ -45,9 +45,18 @@ import org.eclipse.lsp4j.jsonrpc.messages.Either;
  */
 public class ProgressReporterManager extends ProgressProvider {
 
+	/**
+	 * Default maximum number of progress entries visible at once on the client.
+	 */
+	private static final int DEFAULT_MAX_VISIBLE_PROGRESS = 8;
+	private static final String BACKGROUND_TASKS = "Background tasks";
+
 	private JavaLanguageClient client;
 	private long delay;
 	private PreferenceManager preferenceManager;
+	private final ProgressAggregator aggregator = new ProgressAggregator(DEFAULT_MAX_VISIBLE_PROGRESS);
+	private final String summaryId = UUID.randomUUID().toString();
+	private Either<String, Integer> summaryProgressToken;
 
 	public ProgressReporterManager(JavaLanguageClient client, PreferenceManager preferenceManager) {
 		this.client = client;
@@ -89,6 +98,69 @@ public class ProgressReporterManager extends ProgressProvider {
 		this.delay = delay;
 	}
 
+	//For Unit tests purposes
+	public void setMaxVisibleProgress(int maxVisibleProgress) {
+		aggregator.setMaxVisible(maxVisibleProgress);
+	}
+
+	/**
+	 * Returns the number of progress updates sent to the client.
+	 */
+	public long getEmittedProgressCount() {
+		return aggregator.getEmittedCount();
+	}
+
+	/**
+	 * Returns the number of progress updates dropped by the throttling.
+	 */
+	public long getDroppedProgressCount() {
+		return aggregator.getDroppedCount();
+	}
+
+	/**
+	 * Reports the number of reporters merged into the summary entry.
+	 */
+	private synchronized void sendSummary() {
+		if (client == null || preferenceManager == null || preferenceManager.getClientPreferences() == null) {
+			return;
+		}
+		int count = aggregator.getMergedCount();
+		if (count == 0) {
+			aggregator.emitted();
+		} else if (!aggregator.tryEmit(delay)) {
+			return;
+		}
+		String message = count == 1 ? "1 more task in progress" : count + " more tasks in progress";
+		if (preferenceManager.getClientPreferences().isProgressReportSupported()) {
+			ProgressReport progressReport = new ProgressReport(summaryId);
+			progressReport.setTask(BACKGROUND_TASKS);
+			progressReport.setStatus(message);
+			progressReport.setComplete(count == 0);
+			client.sendProgressReport(progressReport);
+		} else if (preferenceManager.getClientPreferences().isWorkDoneProgressSupported()) {
+			if (summaryProgressToken == null) {
+				if (count == 0) {
+					return;
+				}
+				summaryProgressToken = Either.forLeft(UUID.randomUUID().toString());
+				client.createProgress(new WorkDoneProgressCreateParams(summaryProgressToken));
+				var workDoneProgressBegin = new WorkDoneProgressBegin();
+				workDoneProgressBegin.setTitle(BACKGROUND_TASKS);
+				workDoneProgressBegin.setMessage(message);
+				client.notifyProgress(new ProgressParams(summaryProgressToken, Either.forLeft(workDoneProgressBegin)));
+			} else if (count == 0) {
+				var endNotification = new WorkDoneProgressEnd();
+				endNotification.setMessage(BACKGROUND_TASKS);
+				client.notifyProgress(new ProgressParams(summaryProgressToken, Either.forLeft(endNotification)));
+				summaryProgressToken = null;
+			} else {
+				var reportNotification = new WorkDoneProgressReport();
+				reportNotification.setMessage(message);
+				client.notifyProgress(new ProgressParams(summaryProgressToken, Either.forLeft(reportNotification)));
+			}
+		}
+	}
+
 	private class MulticastProgressReporter implements IProgressMonitor {
 		protected List<IProgressMonitor> monitors;
 
@@ -171,6 +243,8 @@ public class ProgressReporterManager extends ProgressProvider {
 		private boolean sentBegin = false;
 		// It was observed that some tasks were reporting duplicate end messages, so this ensures only one is sent to client
 		private boolean sentEnd = false;
+		// the progress is only reflected in the summary entry
+		private boolean merged = false;
 
 		public ProgressReporter() {
 			super(null);
@@ -232,12 +306,50 @@ public class ProgressReporterManager extends ProgressProvider {
 			if (job != null && job.isSystem() || JobMessages.jobs_blocked0.equals(taskName)) {
 				return;
 			}
-			// throttle the sending of progress
-			long currentTime = System.currentTimeMillis();
-			if (lastReport == 0 || isDone() || (currentTime - lastReport >= delay)) {
-				lastReport = currentTime;
-				sendStatus();
+			if (!isAggregated()) {
+				// throttle the sending of progress
+				long currentTime = System.currentTimeMillis();
+				if (lastReport == 0 || isDone() || (currentTime - lastReport >= delay)) {
+					lastReport = currentTime;
+					sendStatus();
+				}
+				return;
+			}
+			boolean first = lastReport == 0;
+			boolean done = isDone();
+			if (first) {
+				merged = !aggregator.join(this);
+				if (merged) {
+					sendSummary();
+				}
+			}
+			lastReport = System.currentTimeMillis();
+			if (merged) {
+				if (!done) {
+					aggregator.dropped();
+				} else if (aggregator.leave(this)) {
+					sendSummary();
+				}
+				return;
+			}
+			// throttle the sending of progress across all reporters
+			if (first || done) {
+				aggregator.emitted();
+			} else if (!aggregator.tryEmit(delay)) {
+				return;
 			}
+			sendStatus();
+			if (done) {
+				aggregator.leave(this);
+			}
+		}
+
+		/**
+		 * Whether the progress is coalesced with the progress of the other
+		 * reporters.
+		 */
+		protected boolean isAggregated() {
+			return true;
 		}
 
 		protected void sendStatus() {
@@ -316,6 +428,11 @@ public class ProgressReporterManager extends ProgressProvider {
 			return String.format("%.0f%% Starting Java Language Server%s", ((double) progress / totalWork) * 100, message);
 		}
 
+		@Override
+		protected boolean isAggregated() {
+			return false;
+		}
+
 		@Override
 		protected void sendStatus() {
 			if (client == null) {
@@ -0,0 +1,103 @@
+/*******************************************************************************
+ * Copyright (c) 2024 Red Hat Inc. and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Red Hat Inc. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ls.core.internal.handlers;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.JavaCore;
+import org.eclipse.jdt.core.JavaModelException;
+
+/**
+ * Locks of the Java projects, serializing the reconciles of the units whose
+ * projects, or required projects, are shared. Units of independent projects
+ * reconcile concurrently.
+ *
+ * A reconcile locks the project of its unit and the projects it requires,
+ * transitively, in the order of their names so that concurrent reconciles
+ * can't deadlock.
+ */
+class ReconcileLocks {
+
+	private final Map<String, ReentrantLock> locks = new ConcurrentHashMap<>();
+
+	@FunctionalInterface
+	interface ReconcileRunnable {
+		void run() throws JavaModelException;
+	}
+
+	/**
+	 * Runs the reconcile of the unit while holding the locks of its projects.
+	 *
+	 * @return the time waited for the locks, in milliseconds
+	 */
+	long run(ICompilationUnit unit, ReconcileRunnable runnable) throws JavaModelException {
+		List<ReentrantLock> projectLocks = new ArrayList<>();
+		for (String projectName : getProjectNames(unit)) {
+			projectLocks.add(locks.computeIfAbsent(projectName, name -> new ReentrantLock()));
+		}
+		long start = System.nanoTime();
+		int locked = 0;
+		try {
+			for (ReentrantLock lock : projectLocks) {
+				lock.lock();
+				locked++;
+			}
+			long waited = (System.nanoTime() - start) / 1_000_000;
+			runnable.run();
+			return waited;
+		} finally {
+			for (int i = locked - 1; i >= 0; i--) {
+				projectLocks.get(i).unlock();
+			}
+		}
+	}
+
+	/**
+	 * Returns the names of the projects locked by the reconcile of the unit, in
+	 * the order they are locked.
+	 */
+	static SortedSet<String> getProjectNames(ICompilationUnit unit) {
+		SortedSet<String> names = new TreeSet<>();
+		IJavaProject javaProject = unit.getJavaProject();
+		if (javaProject == null) {
+			return names;
+		}
+		Deque<IJavaProject> projects = new ArrayDeque<>();
+		projects.add(javaProject);
+		names.add(javaProject.getElementName());
+		while (!projects.isEmpty()) {
+			IJavaProject project = projects.poll();
+			try {
+				for (String required : project.getRequiredProjectNames()) {
+					if (names.add(required)) {
+						projects.add(JavaCore.create(ResourcesPlugin.getWorkspace().getRoot().getProject(required)));
+					}
+				}
+			} catch (JavaModelException e) {
+				// the project is closed or doesn't exist, it doesn't require other projects
+			}
+		}
+		return names;
+	}
+}
@@ -19,6 +19,7 @@ import java.util.List;
 import org.eclipse.core.resources.ResourcesPlugin;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
 import org.eclipse.jdt.core.IAnnotation;
 import org.eclipse.jdt.core.IClassFile;
 import org.eclipse.jdt.core.IClasspathContainer;
@@ -42,6 +43,7 @@ import org.eclipse.jdt.core.search.SearchParticipant;
 import org.eclipse.jdt.core.search.SearchPattern;
 import org.eclipse.jdt.core.search.SearchRequestor;
 import org.eclipse.jdt.internal.corext.codemanipulation.GetterSetterUtil;
+import org.eclipse.jdt.ls.core.internal.CancellableProgressMonitor;
 import org.eclipse.jdt.ls.core.internal.JDTUtils;
 import org.eclipse.jdt.ls.core.internal.JavaLanguageServerPlugin;
 import org.eclipse.jdt.ls.core.internal.preferences.PreferenceManager;
@@ -62,7 +64,7 @@ public final class ReferencesHandler {
 		if (isInsideJRE(elementToSearch)) {
 			includeMask |= IJavaSearchScope.SYSTEM_LIBRARIES;
 		}
-		return SearchEngine.createJavaSearchScope(projects, includeMask);
+		return SearchScopeCache.getInstance().getScope(projects, includeMask);
 	}
 
 	public List<Location> findReferences(ReferenceParams param, IProgressMonitor monitor) {
@@ -84,7 +86,7 @@ public final class ReferencesHandler {
 			}
 			search(elementToSearch, locations, monitor, param.getContext().isIncludeDeclaration());
 			if (monitor.isCanceled()) {
-				return Collections.emptyList();
+				return cancelled(locations, monitor);
 			}
 			if (preferenceManager.getPreferences().isIncludeAccessors() && elementToSearch instanceof IField field) { // IField
 				IMethod getter = GetterSetterUtil.getGetter(field);
@@ -92,19 +94,19 @@ public final class ReferencesHandler {
 					search(getter, locations, monitor, false);
 				}
 				if (monitor.isCanceled()) {
-					return Collections.emptyList();
+					return cancelled(locations, monitor);
 				}
 				IMethod setter = GetterSetterUtil.getSetter(field);
 				if (setter != null) {
 					search(setter, locations, monitor, false);
 				}
 				if (monitor.isCanceled()) {
-					return Collections.emptyList();
+					return cancelled(locations, monitor);
 				}
 				String builderName = getBuilderName(field);
 				IType builder = field.getJavaProject().findType(builderName);
 				if (monitor.isCanceled()) {
-					return Collections.emptyList();
+					return cancelled(locations, monitor);
 				}
 				if (builder != null) {
 					String fieldSignature = field.getTypeSignature();
@@ -116,7 +118,7 @@ public final class ReferencesHandler {
 					}
 				}
 				if (monitor.isCanceled()) {
-					return Collections.emptyList();
+					return cancelled(locations, monitor);
 				}
 			}
 		} catch (CoreException e) {
@@ -127,6 +129,14 @@ public final class ReferencesHandler {
 		return locations;
 	}
 
+	/**
+	 * Returns the references found so far when the time budget of the request
+	 * is exceeded, and no reference when it's cancelled by the client.
+	 */
+	private static List<Location> cancelled(List<Location> locations, IProgressMonitor monitor) {
+		return CancellableProgressMonitor.isTimedOut(monitor) ? locations : Collections.emptyList();
+	}
+
 	private String getBuilderName(IField field) {
 		IType declaringType = field.getDeclaringType();
 		IAnnotation annotation = declaringType.getAnnotation("Builder");
@@ -179,33 +189,42 @@ public final class ReferencesHandler {
 			SearchPattern patternDecl = SearchPattern.createPattern(elementToSearch, IJavaSearchConstants.DECLARATIONS);
 			pattern = SearchPattern.createOrPattern(pattern, patternDecl);
 		}
-		engine.search(pattern, new SearchParticipant[] { SearchEngine.getDefaultSearchParticipant() }, createSearchScope(elementToSearch), new SearchRequestor() {
+		try {
+			engine.search(pattern, new SearchParticipant[] { SearchEngine.getDefaultSearchParticipant() }, createSearchScope(elementToSearch), new SearchRequestor() {
 
-			@Override
-			public void acceptSearchMatch(SearchMatch match) throws CoreException {
-				if (match.getAccuracy() == SearchMatch.A_INACCURATE) {
-					return;
-				}
-				Object o = match.getElement();
-				if (o instanceof IJavaElement element) {
-					ICompilationUnit compilationUnit = (ICompilationUnit) element.getAncestor(IJavaElement.COMPILATION_UNIT);
-					if (compilationUnit != null) {
-						Location location = JDTUtils.toLocation(compilationUnit, match.getOffset(), match.getLength());
-						locations.add(location);
-					} else if (includeClassFiles) {
-						IClassFile cf = (IClassFile) element.getAncestor(IJavaElement.CLASS_FILE);
-						if (cf != null && cf.getSourceRange() != null) {
-							Location location = JDTUtils.toLocation(cf, match.getOffset(), match.getLength());
+				@Override
+				public void acceptSearchMatch(SearchMatch match) throws CoreException {
+					if (monitor.isCanceled()) {
+						throw new OperationCanceledException();
+					}
+					if (match.getAccuracy() == SearchMatch.A_INACCURATE) {
+						return;
+					}
+					Object o = match.getElement();
+					if (o instanceof IJavaElement element) {
+						ICompilationUnit compilationUnit = (ICompilationUnit) element.getAncestor(IJavaElement.COMPILATION_UNIT);
+						if (compilationUnit != null) {
+							Location location = JDTUtils.toLocation(compilationUnit, match.getOffset(), match.getLength());
 							locations.add(location);
-						} else if (includeDecompiledSources && cf != null) {
-							List<Location> result = JDTUtils.searchDecompiledSources(element, cf, false, false, monitor);
-							locations.addAll(result);
+						} else if (includeClassFiles) {
+							IClassFile cf = (IClassFile) element.getAncestor(IJavaElement.CLASS_FILE);
+							if (cf != null && cf.getSourceRange() != null) {
+								Location location = JDTUtils.toLocation(cf, match.getOffset(), match.getLength());
+								locations.add(location);
+							} else if (includeDecompiledSources && cf != null) {
+								List<Location> result = JDTUtils.searchDecompiledSources(element, cf, false, false, monitor);
+								locations.addAll(result);
+							}
 						}
-					}
 
+					}
 				}
+			}, monitor);
+		} catch (OperationCanceledException e) {
+			if (!CancellableProgressMonitor.isTimedOut(monitor)) {
+				throw e;
 			}
-		}, monitor);
+		}
 	}
 
 }
\ No newline at end of file
@@ -0,0 +1,101 @@
+/*******************************************************************************
+ * Copyright (c) 2024 Red Hat Inc. and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Red Hat Inc. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ls.core.internal.handlers;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.search.IJavaSearchScope;
+import org.eclipse.jdt.core.search.SearchEngine;
+
+/**
+ * Caches the search scopes over Java projects, since creating a scope resolves
+ * the classpath of every project.
+ *
+ * The scopes are keyed by the projects and the include mask. The cache is only
+ * enabled while the {@link ClasspathUpdateHandler} listens to the Java model,
+ * and discarded when it reports a classpath change or an added or removed
+ * project.
+ */
+public final class SearchScopeCache {
+
+	/**
+	 * Maximum number of cached scopes.
+	 */
+	private static final int MAX_ENTRIES = 32;
+
+	private static final SearchScopeCache INSTANCE = new SearchScopeCache();
+
+	private volatile boolean enabled = false;
+	private final AtomicLong generation = new AtomicLong();
+	private final Map<Key, IJavaSearchScope> scopes = Collections.synchronizedMap(new LinkedHashMap<>(MAX_ENTRIES, 0.75f, true) {
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<Key, IJavaSearchScope> eldest) {
+			return size() > MAX_ENTRIES;
+		}
+	});
+
+	private SearchScopeCache() {
+	}
+
+	public static SearchScopeCache getInstance() {
+		return INSTANCE;
+	}
+
+	/**
+	 * Returns the search scope over the given projects, like
+	 * {@link SearchEngine#createJavaSearchScope(org.eclipse.jdt.core.IJavaElement[], int)}.
+	 */
+	public IJavaSearchScope getScope(IJavaProject[] projects, int includeMask) {
+		if (!enabled) {
+			return SearchEngine.createJavaSearchScope(projects, includeMask);
+		}
+		// read the generation first, so that a scope created while the classpath changes isn't cached
+		long currentGeneration = generation.get();
+		Key key = new Key(Arrays.asList(projects), includeMask);
+		IJavaSearchScope scope = scopes.get(key);
+		if (scope == null) {
+			scope = SearchEngine.createJavaSearchScope(projects, includeMask);
+			synchronized (scopes) {
+				if (currentGeneration == generation.get()) {
+					scopes.put(key, scope);
+				}
+			}
+		}
+		return scope;
+	}
+
+	void setEnabled(boolean enabled) {
+		this.enabled = enabled;
+		if (!enabled) {
+			clear();
+		}
+	}
+
+	public void clear() {
+		synchronized (scopes) {
+			generation.incrementAndGet();
+			scopes.clear();
+		}
+	}
+
+	private record Key(List<IJavaProject> projects, int includeMask) {
+	}
+}
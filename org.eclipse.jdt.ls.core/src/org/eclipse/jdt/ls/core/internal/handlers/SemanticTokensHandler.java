@@ -31,14 +31,29 @@ import org.eclipse.jdt.ls.core.internal.handlers.BaseDocumentLifeCycleHandler.Do
 import org.eclipse.jdt.ls.core.internal.semantictokens.SemanticTokensVisitor;
 import org.eclipse.jdt.ls.core.internal.semantictokens.TokenModifier;
 import org.eclipse.jdt.ls.core.internal.semantictokens.TokenType;
+import org.eclipse.lsp4j.Position;
+import org.eclipse.lsp4j.Range;
 import org.eclipse.lsp4j.SemanticTokens;
 import org.eclipse.lsp4j.SemanticTokensLegend;
 import org.eclipse.lsp4j.SemanticTokensParams;
+import org.eclipse.lsp4j.SemanticTokensRangeParams;
 
 public class SemanticTokensHandler {
 
 	public static SemanticTokens full(IProgressMonitor monitor, SemanticTokensParams params, DocumentMonitor documentMonitor) {
-		ITypeRoot typeRoot = JDTUtils.resolveTypeRoot(params.getTextDocument().getUri());
+		return provide(monitor, params.getTextDocument().getUri(), null, documentMonitor);
+	}
+
+	/**
+	 * Provides the semantic tokens of the requested range, visiting only the
+	 * nodes intersecting it.
+	 */
+	public static SemanticTokens range(IProgressMonitor monitor, SemanticTokensRangeParams params, DocumentMonitor documentMonitor) {
+		return provide(monitor, params.getTextDocument().getUri(), params.getRange(), documentMonitor);
+	}
+
+	private static SemanticTokens provide(IProgressMonitor monitor, String uri, Range range, DocumentMonitor documentMonitor) {
+		ITypeRoot typeRoot = JDTUtils.resolveTypeRoot(uri);
 		documentMonitor.checkChanged();
 		if (typeRoot == null || monitor.isCanceled()) {
 			return new SemanticTokens(Collections.emptyList());
@@ -53,7 +68,14 @@ public class SemanticTokensHandler {
 			return new SemanticTokens(Collections.emptyList());
 		}
 
-		SemanticTokensVisitor collector = new SemanticTokensVisitor(root);
+		SemanticTokensVisitor collector;
+		if (range == null) {
+			collector = new SemanticTokensVisitor(root);
+		} else {
+			int startOffset = getOffset(root, range.getStart());
+			int endOffset = getOffset(root, range.getEnd());
+			collector = new SemanticTokensVisitor(root, startOffset, endOffset);
+		}
 		root.accept(collector);
 		return collector.getSemanticTokens();
 	}
@@ -65,6 +87,12 @@ public class SemanticTokensHandler {
 		);
 	}
 
+	private static int getOffset(CompilationUnit root, Position position) {
+		// a position beyond the last line is the end of the document
+		int lineStart = root.getPosition(position.getLine() + 1, 0);
+		return lineStart < 0 ? root.getLength() : lineStart + position.getCharacter();
+	}
+
 	/**
 	 * Get the AST from CoreASTProvider. After getting the AST, it will check if the buffer size is equal to
 	 * the AST's length. If it's not - indicating that the AST is out-of-date. The AST will be disposed and
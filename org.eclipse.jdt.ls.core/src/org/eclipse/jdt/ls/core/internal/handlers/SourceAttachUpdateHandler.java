@@ -31,6 +31,7 @@ import org.eclipse.jdt.ls.core.internal.EventType;
 import org.eclipse.jdt.ls.core.internal.JavaClientConnection;
 import org.eclipse.jdt.ls.core.internal.JavaLanguageServerPlugin;
 import org.eclipse.jdt.ls.core.internal.managers.ISourceDownloader;
+import org.eclipse.jdt.ls.core.internal.managers.SourceAttachmentIndex;
 
 public class SourceAttachUpdateHandler implements IElementChangedListener {
 	private final JavaClientConnection connection;
@@ -49,6 +50,7 @@ public class SourceAttachUpdateHandler implements IElementChangedListener {
 				if (changedElement instanceof JarPackageFragmentRoot jar) {
 					try {
 						if (jar.getSourceAttachmentPath() != null) {
+							SourceAttachmentIndex.getInstance().scheduleRecord(jar);
 							int downloadStatus = JavaLanguageServerPlugin.getDefaultSourceDownloader().getDownloadStatus(jar);
 							if (downloadStatus == ISourceDownloader.DOWNLOAD_REQUESTED) {
 								// The download job completes quickly and the source provider
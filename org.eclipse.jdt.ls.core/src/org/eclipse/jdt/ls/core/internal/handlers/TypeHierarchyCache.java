@@ -0,0 +1,147 @@
+/*******************************************************************************
+ * Copyright (c) 2024 Red Hat Inc. and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Red Hat Inc. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ls.core.internal.handlers;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.jdt.core.IType;
+import org.eclipse.jdt.core.ITypeHierarchy;
+import org.eclipse.jdt.core.ITypeHierarchyChangedListener;
+import org.eclipse.jdt.core.JavaModelException;
+import org.eclipse.jdt.internal.core.DefaultWorkingCopyOwner;
+
+/**
+ * Caches the type hierarchies across requests, since building the hierarchy
+ * of a type with many subtypes or supertypes takes seconds.
+ *
+ * The hierarchies are keyed by their focus type and their kind, and are built
+ * with the primary working copies. A cached hierarchy listens to the Java
+ * model, and is replaced by a new one when it's next requested after a change
+ * affecting it. The hierarchies are never modified once cached, so they can
+ * be read by concurrent requests. The cache is bounded by the number of its
+ * hierarchies and by the number of their types, evicting the least recently
+ * used ones, since each cached hierarchy listens to every Java model change.
+ */
+public final class TypeHierarchyCache {
+
+	/**
+	 * Maximum number of types of the cached hierarchies.
+	 */
+	private static final int MAX_WEIGHT = 100_000;
+
+	/**
+	 * Maximum number of cached hierarchies.
+	 */
+	private static final int MAX_ENTRIES = 32;
+
+	private static final TypeHierarchyCache INSTANCE = new TypeHierarchyCache();
+
+	// guarded by itself
+	private final LinkedHashMap<Key, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+	// guarded by entries
+	private int weight = 0;
+
+	private TypeHierarchyCache() {
+	}
+
+	public static TypeHierarchyCache getInstance() {
+		return INSTANCE;
+	}
+
+	/**
+	 * Returns the supertype hierarchy of the type, like
+	 * {@link IType#newSupertypeHierarchy(org.eclipse.jdt.core.WorkingCopyOwner, IProgressMonitor)}
+	 * with the primary working copies.
+	 */
+	public ITypeHierarchy getSupertypeHierarchy(IType type, IProgressMonitor monitor) throws JavaModelException {
+		return getHierarchy(type, true, monitor);
+	}
+
+	/**
+	 * Returns the type hierarchy of the type, like
+	 * {@link IType#newTypeHierarchy(org.eclipse.jdt.core.WorkingCopyOwner, IProgressMonitor)}
+	 * with the primary working copies.
+	 */
+	public ITypeHierarchy getTypeHierarchy(IType type, IProgressMonitor monitor) throws JavaModelException {
+		return getHierarchy(type, false, monitor);
+	}
+
+	private ITypeHierarchy getHierarchy(IType type, boolean supertypesOnly, IProgressMonitor monitor) throws JavaModelException {
+		Key key = new Key(type, supertypesOnly);
+		synchronized (entries) {
+			Entry entry = entries.get(key);
+			if (entry != null && !entry.stale) {
+				return entry.hierarchy;
+			}
+		}
+		// a stale hierarchy is replaced rather than refreshed, since the requests
+		// it was returned to may still be reading it
+		ITypeHierarchy hierarchy = supertypesOnly ? type.newSupertypeHierarchy(DefaultWorkingCopyOwner.PRIMARY, monitor) : type.newTypeHierarchy(DefaultWorkingCopyOwner.PRIMARY, monitor);
+		Entry entry = new Entry(hierarchy);
+		hierarchy.addTypeHierarchyChangedListener(entry);
+		synchronized (entries) {
+			Entry previous = entries.put(key, entry);
+			if (previous != null) {
+				weight -= previous.weight;
+				dispose(previous);
+			}
+			weight += entry.weight;
+			Iterator<Entry> iterator = entries.values().iterator();
+			while ((weight > MAX_WEIGHT || entries.size() > MAX_ENTRIES) && iterator.hasNext()) {
+				Entry eldest = iterator.next();
+				if (eldest != entry) {
+					iterator.remove();
+					weight -= eldest.weight;
+					dispose(eldest);
+				}
+			}
+		}
+		return hierarchy;
+	}
+
+	/**
+	 * Discards the cached hierarchies.
+	 */
+	public void clear() {
+		synchronized (entries) {
+			entries.values().forEach(TypeHierarchyCache::dispose);
+			entries.clear();
+			weight = 0;
+		}
+	}
+
+	private static void dispose(Entry entry) {
+		entry.hierarchy.removeTypeHierarchyChangedListener(entry);
+	}
+
+	private record Key(IType type, boolean supertypesOnly) {
+	}
+
+	private static final class Entry implements ITypeHierarchyChangedListener {
+		private final ITypeHierarchy hierarchy;
+		private final int weight;
+		private volatile boolean stale = false;
+
+		private Entry(ITypeHierarchy hierarchy) {
+			this.hierarchy = hierarchy;
+			this.weight = hierarchy.getAllTypes().length;
+		}
+
+		@Override
+		public void typeHierarchyChanged(ITypeHierarchy typeHierarchy) {
+			stale = true;
+		}
+	}
+}
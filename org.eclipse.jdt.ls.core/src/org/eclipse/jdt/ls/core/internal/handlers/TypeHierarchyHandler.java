@@ -31,8 +31,6 @@ import org.eclipse.jdt.core.ITypeHierarchy;
 import org.eclipse.jdt.core.ITypeRoot;
 import org.eclipse.jdt.core.JavaCore;
 import org.eclipse.jdt.core.JavaModelException;
-import org.eclipse.jdt.internal.core.DefaultWorkingCopyOwner;
-import org.eclipse.jdt.internal.core.JavaModelManager;
 import org.eclipse.jdt.ls.core.internal.JDTUtils;
 import org.eclipse.jdt.ls.core.internal.JDTUtils.LocationType;
 import org.eclipse.jdt.ls.core.internal.JSONUtility;
@@ -154,11 +152,10 @@ public class TypeHierarchyHandler {
 			List<TypeHierarchyItem> items = new ArrayList<>();
 			IType[] hierarchyTypes = null;
 			if (direction == TypeHierarchyDirection.Supertype) {
-				typeHierarchy = type.newSupertypeHierarchy(DefaultWorkingCopyOwner.PRIMARY, monitor);
+				typeHierarchy = TypeHierarchyCache.getInstance().getSupertypeHierarchy(type, monitor);
 				hierarchyTypes = typeHierarchy.getSupertypes(type);
 			} else {
-				ICompilationUnit[] workingCopies = JavaModelManager.getJavaModelManager().getWorkingCopies(DefaultWorkingCopyOwner.PRIMARY, true);
-				typeHierarchy = type.newTypeHierarchy(workingCopies, monitor);
+				typeHierarchy = TypeHierarchyCache.getInstance().getTypeHierarchy(type, monitor);
 				hierarchyTypes = typeHierarchy.getSubtypes(type);
 			}
 			for (IType hierarchyType : hierarchyTypes) {
@@ -569,7 +569,9 @@ public final class WorkspaceDiagnosticsHandler implements IResourceChangeListene
 			if (addTrailingSlash && !uri.endsWith("/")) {
 				uri = uri + "/";
 			}
-			this.connection.publishDiagnostics(new PublishDiagnosticsParams(ResourceUtils.toClientUri(uri), Collections.emptyList()));
+			String clientUri = ResourceUtils.toClientUri(uri);
+			this.connection.publishDiagnostics(new PublishDiagnosticsParams(clientUri, Collections.emptyList()));
+			this.connection.forgetDiagnostics(clientUri);
 		}
 	}
 
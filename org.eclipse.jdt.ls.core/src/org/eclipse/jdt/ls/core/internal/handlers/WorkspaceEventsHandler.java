@@ -12,10 +12,22 @@
  *******************************************************************************/
 package org.eclipse.jdt.ls.core.internal.handlers;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
 
+import org.eclipse.core.resources.IContainer;
 import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.IWorkspace;
 import org.eclipse.core.resources.IWorkspaceRunnable;
 import org.eclipse.core.resources.ResourcesPlugin;
 import org.eclipse.core.runtime.CoreException;
@@ -33,6 +45,7 @@ import org.eclipse.jdt.internal.core.PackageFragment;
 import org.eclipse.jdt.ls.core.internal.JDTUtils;
 import org.eclipse.jdt.ls.core.internal.JavaClientConnection;
 import org.eclipse.jdt.ls.core.internal.JavaLanguageServerPlugin;
+import org.eclipse.jdt.ls.core.internal.MovingAverage;
 import org.eclipse.jdt.ls.core.internal.ResourceUtils;
 import org.eclipse.jdt.ls.core.internal.managers.ProjectsManager;
 import org.eclipse.jdt.ls.core.internal.managers.ProjectsManager.CHANGE_TYPE;
@@ -45,11 +58,25 @@ import org.eclipse.lsp4j.TextDocumentIdentifier;
 
 public class WorkspaceEventsHandler {
 
+	/**
+	 * Maximum number of file events handled in a single batch.
+	 */
+	private static final int MAX_BATCH_SIZE = 1000;
+
 	private final ProjectsManager pm;
 	private final JavaClientConnection connection;
 	private final BaseDocumentLifeCycleHandler handler;
 	private final LinkedBlockingQueue<FileEvent> queue = new LinkedBlockingQueue<>();
 
+	private final AtomicLong batchCount = new AtomicLong();
+	private final AtomicLong eventCount = new AtomicLong();
+	private final AtomicLong coalescedEventCount = new AtomicLong();
+	// guarded by itself
+	private final MovingAverage batchSize = new MovingAverage();
+	private final MovingAverage batchLatency = new MovingAverage();
+	private volatile long lastBatchSize;
+	private volatile long lastBatchLatency;
+
 	public WorkspaceEventsHandler(ProjectsManager projects, JavaClientConnection connection, BaseDocumentLifeCycleHandler handler) {
 		this.pm = projects;
 		this.connection = connection;
@@ -58,13 +85,16 @@ public class WorkspaceEventsHandler {
 			while(true) {
 				try {
 					// https://github.com/redhat-developer/vscode-java/issues/3637
-					while (!pm.isBuildFinished()) {
-						Thread.sleep(200);
-					}
-					FileEvent event = queue.take();
-					handleFileEvent(event);
+					pm.whenBuildFinished().get();
+					List<FileEvent> batch = new ArrayList<>();
+					batch.add(queue.take());
+					queue.drainTo(batch, MAX_BATCH_SIZE - 1);
+					handleFileEvents(batch);
 				} catch (InterruptedException e) {
 					break;
+				} catch (ExecutionException e) {
+					JavaLanguageServerPlugin.logException(e.getMessage(), e);
+					break;
 				}
 			}
 		}, "WorkspaceEventsHandler");
@@ -96,9 +126,7 @@ public class WorkspaceEventsHandler {
 
 	// for test only
 	public void handleFileEvents(FileEvent... fileEvents) {
-		for (FileEvent fileEvent : fileEvents) {
-			handleFileEvent(fileEvent);
-		}
+		handleFileEvents(Arrays.asList(fileEvents));
 	}
 
 	// for test only
@@ -106,53 +134,204 @@ public class WorkspaceEventsHandler {
 		return queue.isEmpty();
 	}
 
-	private void handleFileEvent(FileEvent fileEvent) {
-		CHANGE_TYPE changeType = toChangeType(fileEvent.getType());
-		if (changeType == CHANGE_TYPE.DELETED) {
-			cleanUpDiagnostics(fileEvent.getUri());
-			handler.didClose(new DidCloseTextDocumentParams(new TextDocumentIdentifier(fileEvent.getUri())));
-			discardWorkingCopies(fileEvent.getUri());
+	public long getBatchCount() {
+		return batchCount.get();
+	}
+
+	/**
+	 * Returns the number of file events received by the batches, before they
+	 * are coalesced.
+	 */
+	public long getEventCount() {
+		return eventCount.get();
+	}
+
+	/**
+	 * Returns the number of file events merged into another event of the same
+	 * URI.
+	 */
+	public long getCoalescedEventCount() {
+		return coalescedEventCount.get();
+	}
+
+	public long getLastBatchSize() {
+		return lastBatchSize;
+	}
+
+	public long getAverageBatchSize() {
+		synchronized (batchSize) {
+			return batchSize.value;
 		}
-		ICompilationUnit unit = JDTUtils.resolveCompilationUnit(fileEvent.getUri());
-		if (unit != null && changeType == CHANGE_TYPE.CREATED && !unit.exists()) {
-			final ICompilationUnit[] units = new ICompilationUnit[1];
-			units[0] = unit;
-			try {
-				ResourcesPlugin.getWorkspace().run(new IWorkspaceRunnable() {
-					@Override
-					public void run(IProgressMonitor monitor) throws CoreException {
-						units[0] = createCompilationUnit(units[0]);
-					}
-				}, new NullProgressMonitor());
-			} catch (CoreException e) {
-				JavaLanguageServerPlugin.logException(e.getMessage(), e);
+	}
+
+	/**
+	 * Returns the time spent handling the last batch, in milliseconds.
+	 */
+	public long getLastBatchLatency() {
+		return lastBatchLatency;
+	}
+
+	/**
+	 * Returns the average time spent handling a batch, in milliseconds.
+	 */
+	public long getAverageBatchLatency() {
+		synchronized (batchLatency) {
+			return batchLatency.value;
+		}
+	}
+
+	private void handleFileEvents(List<FileEvent> fileEvents) {
+		if (fileEvents.isEmpty()) {
+			return;
+		}
+		long start = System.currentTimeMillis();
+		Collection<FileEvent> events = collapse(fileEvents);
+		try {
+			// defer the resource change notifications and the auto build until the whole batch is handled
+			ResourcesPlugin.getWorkspace().run((IWorkspaceRunnable) monitor -> handleCollapsedEvents(events, monitor), null, IWorkspace.AVOID_UPDATE, new NullProgressMonitor());
+		} catch (CoreException e) {
+			JavaLanguageServerPlugin.logException(e.getMessage(), e);
+		}
+		long latency = System.currentTimeMillis() - start;
+		batchCount.incrementAndGet();
+		eventCount.addAndGet(fileEvents.size());
+		coalescedEventCount.addAndGet(fileEvents.size() - events.size());
+		lastBatchSize = fileEvents.size();
+		lastBatchLatency = latency;
+		synchronized (batchSize) {
+			batchSize.update(fileEvents.size());
+		}
+		synchronized (batchLatency) {
+			batchLatency.update(latency);
+		}
+	}
+
+	/**
+	 * Collapses the events of the same URI into a single event, positioned at
+	 * the last event of the URI.
+	 */
+	static Collection<FileEvent> collapse(List<FileEvent> fileEvents) {
+		Map<String, FileEvent> events = new LinkedHashMap<>();
+		for (FileEvent event : fileEvents) {
+			FileEvent previous = events.remove(event.getUri());
+			if (previous == null) {
+				events.put(event.getUri(), event);
+			} else {
+				events.put(event.getUri(), new FileEvent(event.getUri(), collapse(previous.getType(), event.getType())));
 			}
-			unit = units[0];
 		}
-		if (unit != null) {
+		return events.values();
+	}
+
+	private static FileChangeType collapse(FileChangeType previous, FileChangeType next) {
+		if (next == FileChangeType.Deleted) {
+			return FileChangeType.Deleted;
+		}
+		if (previous == FileChangeType.Created) {
+			return FileChangeType.Created;
+		}
+		if (previous == FileChangeType.Deleted) {
+			// the file has been replaced
+			return FileChangeType.Changed;
+		}
+		return next;
+	}
+
+	private void handleCollapsedEvents(Collection<FileEvent> events, IProgressMonitor monitor) {
+		List<IPath> deletedFolders = new ArrayList<>();
+		for (FileEvent event : events) {
+			if (event.getType() == FileChangeType.Deleted) {
+				cleanUpDiagnostics(event.getUri());
+				handler.didClose(new DidCloseTextDocumentParams(new TextDocumentIdentifier(event.getUri())));
+				IPath path = ResourceUtils.filePathFromURI(event.getUri());
+				if (path != null && !JDTUtils.isJavaFile(path)) {
+					deletedFolders.add(path);
+				}
+			}
+		}
+		discardWorkingCopies(deletedFolders);
+
+		Map<ICompilationUnit, FileEvent> units = new LinkedHashMap<>();
+		List<ICompilationUnit> newUnits = new ArrayList<>();
+		Map<IContainer, List<IResource>> newResources = new LinkedHashMap<>();
+		for (FileEvent event : events) {
+			CHANGE_TYPE changeType = toChangeType(event.getType());
+			ICompilationUnit unit = JDTUtils.resolveCompilationUnit(event.getUri());
+			if (unit == null) {
+				continue;
+			}
+			units.put(unit, event);
+			if (changeType == CHANGE_TYPE.CREATED && !unit.exists() && unit.getResource() != null) {
+				newUnits.add(unit);
+				addToContainer(newResources, unit.getResource());
+			}
+		}
+
+		refresh(newResources, monitor);
+		newUnits.forEach(this::addToPackage);
+
+		// the working copies are only refreshed
+		Set<FileEvent> workingCopyEvents = new HashSet<>();
+		Map<IContainer, List<IResource>> workingCopyResources = new LinkedHashMap<>();
+		for (Map.Entry<ICompilationUnit, FileEvent> entry : units.entrySet()) {
+			ICompilationUnit unit = entry.getKey();
+			FileChangeType type = entry.getValue().getType();
 			if (unit.isWorkingCopy()) {
+				workingCopyEvents.add(entry.getValue());
 				try {
 					IResource resource = unit.getUnderlyingResource();
 					if (resource != null && resource.exists()) {
-						resource.refreshLocal(IResource.DEPTH_ZERO, new NullProgressMonitor());
+						addToContainer(workingCopyResources, resource);
 					}
 				} catch (CoreException e) {
 					JavaLanguageServerPlugin.logException(e.getMessage(), e);
 				}
-				return;
-			}
-			if (changeType == CHANGE_TYPE.DELETED || changeType == CHANGE_TYPE.CHANGED) {
+			} else if (type == FileChangeType.Deleted || type == FileChangeType.Changed) {
 				if (unit.equals(CoreASTProvider.getInstance().getActiveJavaElement())) {
 					CoreASTProvider.getInstance().disposeAST();
 				}
 			}
 		}
-		pm.fileChanged(fileEvent.getUri(), changeType);
+		refresh(workingCopyResources, monitor);
+
+		for (FileEvent event : events) {
+			if (workingCopyEvents.contains(event)) {
+				continue;
+			}
+			try {
+				pm.fileChanged(event.getUri(), toChangeType(event.getType()));
+			} catch (RuntimeException e) {
+				JavaLanguageServerPlugin.logException(e.getMessage(), e);
+			}
+		}
+	}
+
+	private static void addToContainer(Map<IContainer, List<IResource>> resources, IResource resource) {
+		IContainer parent = resource.getParent();
+		if (parent != null) {
+			resources.computeIfAbsent(parent, k -> new ArrayList<>()).add(resource);
+		}
+	}
+
+	/**
+	 * Refreshes the resources with a single refresh per container.
+	 */
+	private static void refresh(Map<IContainer, List<IResource>> resources, IProgressMonitor monitor) {
+		for (Map.Entry<IContainer, List<IResource>> entry : resources.entrySet()) {
+			try {
+				if (entry.getValue().size() == 1) {
+					entry.getValue().get(0).refreshLocal(IResource.DEPTH_ZERO, monitor);
+				} else {
+					entry.getKey().refreshLocal(IResource.DEPTH_ONE, monitor);
+				}
+			} catch (CoreException e) {
+				JavaLanguageServerPlugin.logException(e.getMessage(), e);
+			}
+		}
 	}
 
-	private ICompilationUnit createCompilationUnit(ICompilationUnit unit) {
+	private void addToPackage(ICompilationUnit unit) {
 		try {
-			unit.getResource().refreshLocal(IResource.DEPTH_ONE, new NullProgressMonitor());
 			if (unit.getResource().exists()) {
 				IJavaElement parent = unit.getParent();
 				if (parent instanceof PackageFragment pkg) {
@@ -165,30 +344,31 @@ public class WorkspaceEventsHandler {
 		} catch (CoreException e) {
 			JavaLanguageServerPlugin.logException(e.getMessage(), e);
 		}
-		return unit;
 	}
 
 	private void cleanUpDiagnostics(String uri) {
-		this.connection.publishDiagnostics(new PublishDiagnosticsParams(ResourceUtils.toClientUri(uri), Collections.emptyList()));
+		String clientUri = ResourceUtils.toClientUri(uri);
+		this.connection.publishDiagnostics(new PublishDiagnosticsParams(clientUri, Collections.emptyList()));
+		this.connection.forgetDiagnostics(clientUri);
 	}
 
-	private void discardWorkingCopies(String parentUri) {
-		IPath parentPath = ResourceUtils.filePathFromURI(parentUri);
-		if (parentPath != null && !JDTUtils.isJavaFile(parentPath)) {
-			ICompilationUnit[] workingCopies = JavaCore.getWorkingCopies(null);
-			for (ICompilationUnit workingCopy : workingCopies) {
-				IResource resource = workingCopy.getResource();
-				if (resource == null) {
-					continue;
-				}
+	private void discardWorkingCopies(List<IPath> parentPaths) {
+		if (parentPaths.isEmpty()) {
+			return;
+		}
+		ICompilationUnit[] workingCopies = JavaCore.getWorkingCopies(null);
+		for (ICompilationUnit workingCopy : workingCopies) {
+			IResource resource = workingCopy.getResource();
+			if (resource == null) {
+				continue;
+			}
 
-				IPath cuPath = resource.getRawLocation() != null ? resource.getRawLocation() : resource.getLocation();
-				if (cuPath != null && parentPath.isPrefixOf(cuPath)) {
-					try {
-						workingCopy.discardWorkingCopy();
-					} catch (JavaModelException e) {
-						// do nothing.
-					}
+			IPath cuPath = resource.getRawLocation() != null ? resource.getRawLocation() : resource.getLocation();
+			if (cuPath != null && parentPaths.stream().anyMatch(parentPath -> parentPath.isPrefixOf(cuPath))) {
+				try {
+					workingCopy.discardWorkingCopy();
+				} catch (JavaModelException e) {
+					// do nothing.
 				}
 			}
 		}
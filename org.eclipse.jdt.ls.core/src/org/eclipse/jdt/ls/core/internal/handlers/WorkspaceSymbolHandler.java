@@ -127,7 +127,7 @@ public class WorkspaceSymbolHandler {
 			scope |= IJavaSearchScope.APPLICATION_LIBRARIES | IJavaSearchScope.SYSTEM_LIBRARIES;
 		}
 
-		return SearchEngine.createJavaSearchScope(targetProjects, scope);
+		return SearchScopeCache.getInstance().getScope(targetProjects, scope);
 	}
 
 	public static class SearchSymbolParams extends WorkspaceSymbolParams {
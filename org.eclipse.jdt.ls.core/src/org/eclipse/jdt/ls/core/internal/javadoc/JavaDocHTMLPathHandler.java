@@ -32,10 +32,13 @@ import org.eclipse.core.resources.IResource;
 import org.eclipse.core.runtime.IPath;
 import org.eclipse.jdt.core.IJavaElement;
 import org.eclipse.jdt.core.IPackageFragment;
+import org.eclipse.jdt.core.IPackageFragmentRoot;
 import org.eclipse.jdt.core.dom.TextElement;
 import org.eclipse.jdt.core.manipulation.internal.javadoc.CoreJavaDocLocations;
 import org.eclipse.jdt.ls.core.internal.JavaLanguageServerPlugin;
 import org.eclipse.jdt.ls.core.internal.ResourceUtils;
+import org.eclipse.jdt.ls.core.internal.managers.SourceAttachmentIndex;
+import org.eclipse.jdt.ls.core.internal.managers.SourceAttachmentIndex.Attachment;
 
 /**
  * @author Nikolas Komonen - nkomonen@redhat.com
@@ -133,6 +136,13 @@ public class JavaDocHTMLPathHandler {
 			ZipEntry currentZipEntry = null;
 
 			URL javadocJarBaseLocationURL = CoreJavaDocLocations.getJavadocBaseLocation(internalJarFragment); //Absolute location of javadoc jar (not class or source jar)
+			if (javadocJarBaseLocationURL == null) {
+				//The javadoc may have been resolved before, possibly in another workspace
+				Attachment attachment = SourceAttachmentIndex.getInstance().get((IPackageFragmentRoot) internalJarFragment.getAncestor(IJavaElement.PACKAGE_FRAGMENT_ROOT));
+				if (attachment != null && attachment.javadocLocation() != null) {
+					javadocJarBaseLocationURL = new URL(attachment.javadocLocation());
+				}
+			}
 			//Attempt to get file from javadoc jar
 			if (javadocJarBaseLocationURL != null) {
 				URI javadocJarBaseLocationURI = javadocJarBaseLocationURL.toURI();
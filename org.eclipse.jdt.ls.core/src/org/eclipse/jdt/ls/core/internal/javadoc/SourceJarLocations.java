@@ -20,6 +20,8 @@ import org.eclipse.jdt.core.IJavaElement;
 import org.eclipse.jdt.core.IPackageFragmentRoot;
 import org.eclipse.jdt.core.JavaModelException;
 import org.eclipse.jdt.internal.corext.util.JavaModelUtil;
+import org.eclipse.jdt.ls.core.internal.managers.SourceAttachmentIndex;
+import org.eclipse.jdt.ls.core.internal.managers.SourceAttachmentIndex.Attachment;
 
 /**
  * @author Nikolas Komonen - nkomonen@redhat.com
@@ -39,7 +41,9 @@ public class SourceJarLocations {
 		IPath sourceAttachment = entry.getSourceAttachmentPath();
 
 		if (sourceAttachment == null) {
-			return null; //No source jar could be found
+			//The sources may have been resolved before, possibly in another workspace
+			Attachment attachment = SourceAttachmentIndex.getInstance().get(root);
+			return attachment == null ? null : new File(attachment.sourcePath()); //No source jar could be found
 		}
 
 		return sourceAttachment.toFile();
@@ -18,6 +18,7 @@ import java.io.FileInputStream;
 import java.io.IOException;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Objects;
 
@@ -27,6 +28,9 @@ import javax.xml.parsers.SAXParserFactory;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.Status;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.ToolFactory;
+import org.eclipse.jdt.core.formatter.CodeFormatter;
 import org.eclipse.jdt.internal.ui.preferences.formatter.ProfileVersionerCore;
 import org.eclipse.jdt.ls.core.internal.IConstants;
 import org.eclipse.jdt.ls.core.internal.JavaLanguageServerPlugin;
@@ -131,9 +135,54 @@ public class FormatterManager {
 	private final static String XML_ATTRIBUTE_VALUE= "value"; //$NON-NLS-1$
 	private final static String XML_ATTRIBUTE_VERSION= "version"; //$NON-NLS-1$
 
+	/**
+	 * Maximum number of cached {@link CodeFormatter} instances.
+	 */
+	private static final int MAX_CACHED_FORMATTERS = 16;
+
+	/**
+	 * Cached code formatters, keyed by project and effective formatter options.
+	 */
+	private static final Map<FormatterKey, CodeFormatter> formatterCache = Collections.synchronizedMap(new LinkedHashMap<FormatterKey, CodeFormatter>(MAX_CACHED_FORMATTERS, 0.75f, true) {
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<FormatterKey, CodeFormatter> eldest) {
+			return size() > MAX_CACHED_FORMATTERS;
+		}
+	});
+
+	private record FormatterKey(String project, Map<String, String> options) {
+	}
+
 	public FormatterManager() {
 	}
 
+	/**
+	 * Returns a code formatter for the given effective options. Formatters are
+	 * reused as long as the options of the project don't change. The returned
+	 * formatter is not thread-safe, callers must synchronize on it while
+	 * formatting.
+	 *
+	 * @param project
+	 *            the Java project, can be <code>null</code>
+	 * @param options
+	 *            the effective formatter options
+	 * @return the code formatter
+	 */
+	public static CodeFormatter getCodeFormatter(IJavaProject project, Map<String, String> options) {
+		FormatterKey key = new FormatterKey(project == null ? null : project.getElementName(), new HashMap<>(options));
+		return formatterCache.computeIfAbsent(key, k -> ToolFactory.createCodeFormatter(k.options()));
+	}
+
+	/**
+	 * Discards all cached code formatters. Called when the formatter settings
+	 * change.
+	 */
+	public static void clearCodeFormatterCache() {
+		formatterCache.clear();
+	}
+
 	/**
 	 * Read the available profiles from the internal XML file and return them as
 	 * collection or <code>null</code> if the file is not a profile file.
@@ -298,7 +298,7 @@ public class GradleBuildSupport implements IBuildSupport {
 	 */
 	@Override
 	public void registerPreferencesChangeListener(PreferenceManager preferenceManager) throws CoreException {
-		preferenceManager.addPreferencesChangeListener(listener);
+		preferenceManager.addPreferencesChangeListener(listener, GradlePreferenceChangeListener.PREFERENCE_KEYS);
 	}
 
 	/* (non-Javadoc)
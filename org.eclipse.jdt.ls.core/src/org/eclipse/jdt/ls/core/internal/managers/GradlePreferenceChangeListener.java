@@ -39,6 +39,13 @@ import org.eclipse.jdt.ls.internal.gradle.checksums.WrapperValidator;
  *
  */
 public class GradlePreferenceChangeListener implements IPreferencesChangeListener {
+
+	/**
+	 * The preference keys the listener depends on.
+	 */
+	static final String[] PREFERENCE_KEYS = { Preferences.GRADLE_JAVA_HOME, Preferences.JAVA_GRADLE_WRAPPER_SHA256_KEY, Preferences.JAVA_JDT_LS_PROTOBUF_SUPPORT_ENABLED,
+			Preferences.JAVA_JDT_LS_ANDROID_SUPPORT_ENABLED, Preferences.GRADLE_ANNOTATION_PROCESSING_ENABLED };
+
 	@Override
 	public void preferencesChange(Preferences oldPreferences, Preferences newPreferences) {
 		ProjectsManager projectsManager = JavaLanguageServerPlugin.getProjectsManager();
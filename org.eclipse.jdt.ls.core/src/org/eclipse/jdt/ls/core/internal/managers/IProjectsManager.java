@@ -16,6 +16,7 @@ package org.eclipse.jdt.ls.core.internal.managers;
 import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 import org.eclipse.core.resources.IProject;
 import org.eclipse.core.resources.IResource;
@@ -118,6 +119,13 @@ public interface IProjectsManager {
 		return true;
 	};
 
+	/**
+	 * Returns a future completed once the build is finished
+	 */
+	default CompletableFuture<Void> whenBuildFinished() {
+		return CompletableFuture.completedFuture(null);
+	}
+
 	default boolean shouldUpdateProjects() {
 		return false;
 	}
@@ -108,7 +108,7 @@ public class InvisibleProjectBuildSupport extends EclipseBuildSupport implements
 	 */
 	@Override
 	public void registerPreferencesChangeListener(PreferenceManager preferenceManager) throws CoreException {
-		preferenceManager.addPreferencesChangeListener(listener);
+		preferenceManager.addPreferencesChangeListener(listener, InvisibleProjectPreferenceChangeListener.PREFERENCE_KEYS);
 	}
 
 	/* (non-Javadoc)
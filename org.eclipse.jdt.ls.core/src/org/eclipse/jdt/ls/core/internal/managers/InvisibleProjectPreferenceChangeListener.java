@@ -32,6 +32,11 @@ import org.eclipse.lsp4j.MessageType;
 
 public class InvisibleProjectPreferenceChangeListener implements IPreferencesChangeListener {
 
+	/**
+	 * The preference keys the listener depends on.
+	 */
+	static final String[] PREFERENCE_KEYS = { Preferences.JAVA_PROJECT_SOURCE_PATHS_KEY, Preferences.JAVA_PROJECT_OUTPUT_PATH_KEY };
+
 	@Override
 	public void preferencesChange(Preferences oldPreferences, Preferences newPreferences) {
 		try {
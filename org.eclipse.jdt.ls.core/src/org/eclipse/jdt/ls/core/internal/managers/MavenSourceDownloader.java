@@ -62,6 +62,10 @@ public class MavenSourceDownloader implements ISourceDownloader {
 					break;
 				}
 				if (fragment.isArchive()) {
+					if (SourceAttachmentIndex.getInstance().attachSource(fragment, monitor)) {
+						// the sources were resolved before, possibly in another workspace
+						break;
+					}
 					IFile file = ResourcesPlugin.getWorkspace().getRoot().getFile(fragment.getPath());
 					IPath path = file.getFullPath();
 					if (path == null || !path.toFile().exists()) {
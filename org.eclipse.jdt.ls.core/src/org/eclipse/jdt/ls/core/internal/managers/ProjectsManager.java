@@ -73,12 +73,14 @@ import org.eclipse.jdt.launching.IVMInstall;
 import org.eclipse.jdt.launching.JavaRuntime;
 import org.eclipse.jdt.launching.environments.IExecutionEnvironment;
 import org.eclipse.jdt.launching.environments.IExecutionEnvironmentsManager;
+import org.eclipse.jdt.ls.core.internal.DiagnosticsPublisher;
 import org.eclipse.jdt.ls.core.internal.EventNotification;
 import org.eclipse.jdt.ls.core.internal.EventType;
 import org.eclipse.jdt.ls.core.internal.IConstants;
 import org.eclipse.jdt.ls.core.internal.IProjectImporter;
 import org.eclipse.jdt.ls.core.internal.JDTEnvironmentUtils;
 import org.eclipse.jdt.ls.core.internal.JDTUtils;
+import org.eclipse.jdt.ls.core.internal.JavaClientConnection;
 import org.eclipse.jdt.ls.core.internal.JavaClientConnection.JavaLanguageClient;
 import org.eclipse.jdt.ls.core.internal.JavaLanguageServerPlugin;
 import org.eclipse.jdt.ls.core.internal.JobHelpers;
@@ -882,9 +884,15 @@ public abstract class ProjectsManager implements ISaveParticipant, IProjectsMana
 					uris.add(uriString);
 				}
 			}
+			JavaClientConnection connection = JavaLanguageServerPlugin.getInstance().getClientConnection();
+			DiagnosticsPublisher publisher = connection == null ? null : connection.getDiagnosticsPublisher();
 			for (String uri : uris) {
 				PublishDiagnosticsParams diagnostics = new PublishDiagnosticsParams(ResourceUtils.toClientUri(uri), Collections.emptyList());
 				client.publishDiagnostics(diagnostics);
+				if (publisher != null) {
+					// the diagnostics were cleared without the publisher
+					publisher.forget(diagnostics.getUri());
+				}
 			}
 		}
 	}
@@ -0,0 +1,343 @@
+/*******************************************************************************
+ * Copyright (c) 2024 Red Hat Inc. and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Red Hat Inc. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ls.core.internal.managers;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.apache.commons.lang3.StringUtils;
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Path;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.IPackageFragmentRoot;
+import org.eclipse.jdt.core.JavaModelException;
+import org.eclipse.jdt.core.manipulation.internal.javadoc.CoreJavaDocLocations;
+import org.eclipse.jdt.ls.core.internal.JavaLanguageServerPlugin;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+
+/**
+ * Persists the source jar and Javadoc locations resolved for the binary jars,
+ * so that the sources of a jar are attached by a lookup rather than by a new
+ * resolution, possibly waiting for a download.
+ *
+ * The index is keyed by the path, the size and the modification time of the
+ * binary jars, and is stored as JSON in the shared index location of jdt.core
+ * when it's set, so that it's shared across workspaces, or in the state
+ * location of the plugin otherwise.
+ */
+public class SourceAttachmentIndex {
+
+	private static final String SHARED_INDEX_LOCATION_PROPERTY = "jdt.core.sharedIndexLocation";
+	private static final String SERIALIZATION_FILE_NAME = ".source-attachments.json";
+	/**
+	 * The version of the format of the index file, the files of other versions
+	 * are ignored.
+	 */
+	private static final int FORMAT_VERSION = 1;
+	private static final String VERSION = "version";
+	private static final String ATTACHMENTS = "attachments";
+	private static final String SOURCE_PATH = "sourcePath";
+	private static final String JAVADOC_LOCATION = "javadocLocation";
+
+	private static final SourceAttachmentIndex INSTANCE = new SourceAttachmentIndex(null);
+
+	private final File stateFile;
+	// guarded by this
+	private Map<String, Attachment> attachments;
+
+	/**
+	 * @param stateFile
+	 *            the index file, or <code>null</code> for the shared one
+	 */
+	SourceAttachmentIndex(File stateFile) {
+		this.stateFile = stateFile;
+	}
+
+	public static SourceAttachmentIndex getInstance() {
+		return INSTANCE;
+	}
+
+	/**
+	 * Returns the source jar and Javadoc locations indexed for the binary jar of
+	 * the package fragment root, or <code>null</code> if none is indexed or the
+	 * source jar doesn't exist anymore.
+	 */
+	public Attachment get(IPackageFragmentRoot root) {
+		String key = getKey(root);
+		if (key == null) {
+			return null;
+		}
+		Attachment attachment;
+		synchronized (this) {
+			attachment = getAttachments().get(key);
+		}
+		if (attachment == null || attachment.sourcePath() == null || !new File(attachment.sourcePath()).isFile()) {
+			return null;
+		}
+		return attachment;
+	}
+
+	/**
+	 * Attaches the source jar indexed for the binary jar of the package fragment
+	 * root, if it has no source attachment.
+	 *
+	 * @return whether a source jar was attached
+	 */
+	public boolean attachSource(IPackageFragmentRoot root, IProgressMonitor monitor) {
+		try {
+			if (!root.isArchive() || root.getSourceAttachmentPath() != null) {
+				return false;
+			}
+			Attachment attachment = get(root);
+			if (attachment == null) {
+				return false;
+			}
+			root.attachSource(new Path(attachment.sourcePath()), null, monitor);
+			return true;
+		} catch (JavaModelException e) {
+			JavaLanguageServerPlugin.logException("Failed to attach the indexed sources of " + root.getPath(), e);
+			return false;
+		}
+	}
+
+	/**
+	 * Records the source jar and Javadoc locations of the package fragment root,
+	 * if it's a binary jar with an existing source jar.
+	 */
+	public synchronized void record(IPackageFragmentRoot root) {
+		if (update(root)) {
+			serializeAttachments();
+		}
+	}
+
+	/**
+	 * Records in the background the source attachment of the package fragment
+	 * root, e.g. once its sources are downloaded.
+	 */
+	public void scheduleRecord(IPackageFragmentRoot root) {
+		Job job = new Job("Indexing source attachment") {
+			@Override
+			protected IStatus run(IProgressMonitor monitor) {
+				record(root);
+				return Status.OK_STATUS;
+			}
+		};
+		job.setPriority(Job.DECORATE);
+		job.setSystem(true);
+		job.schedule();
+	}
+
+	/**
+	 * Records in the background the source attachments of the binary jars of
+	 * the projects, e.g. once they're imported. The index file is written once.
+	 */
+	public void scheduleUpdate(IJavaProject[] projects) {
+		Job job = new Job("Indexing source attachments") {
+			@Override
+			protected IStatus run(IProgressMonitor monitor) {
+				boolean changed = false;
+				try {
+					for (IJavaProject project : projects) {
+						if (monitor.isCanceled()) {
+							return Status.CANCEL_STATUS;
+						}
+						try {
+							if (project == null || !project.exists()) {
+								continue;
+							}
+							for (IPackageFragmentRoot root : project.getPackageFragmentRoots()) {
+								if (monitor.isCanceled()) {
+									return Status.CANCEL_STATUS;
+								}
+								if (root.getKind() == IPackageFragmentRoot.K_BINARY) {
+									changed |= update(root);
+								}
+							}
+						} catch (JavaModelException e) {
+							JavaLanguageServerPlugin.logException(e);
+						}
+					}
+				} finally {
+					if (changed) {
+						serializeAttachments();
+					}
+				}
+				return Status.OK_STATUS;
+			}
+		};
+		job.setPriority(Job.DECORATE);
+		job.setSystem(true);
+		job.schedule();
+	}
+
+	/**
+	 * Updates the index with the source attachment of the package fragment root,
+	 * without writing it.
+	 *
+	 * @return whether the index changed
+	 */
+	private synchronized boolean update(IPackageFragmentRoot root) {
+		try {
+			if (!root.isArchive()) {
+				return false;
+			}
+			IPath sourceAttachment = root.getSourceAttachmentPath();
+			if (sourceAttachment == null || !sourceAttachment.toFile().isFile()) {
+				return false;
+			}
+			String key = getKey(root);
+			if (key == null) {
+				return false;
+			}
+			URL javadocLocation = CoreJavaDocLocations.getJavadocBaseLocation(root);
+			Attachment attachment = new Attachment(sourceAttachment.toOSString(), javadocLocation == null ? null : javadocLocation.toExternalForm());
+			return !attachment.equals(getAttachments().put(key, attachment));
+		} catch (JavaModelException e) {
+			JavaLanguageServerPlugin.logException("Failed to index the sources of " + root.getPath(), e);
+			return false;
+		}
+	}
+
+	/**
+	 * Returns the key of the binary jar of the package fragment root, made of
+	 * its path, its size and its modification time, so that a modified jar
+	 * isn't attached the sources of its previous version.
+	 */
+	private static String getKey(IPackageFragmentRoot root) {
+		File jar = getJarFile(root);
+		if (jar == null) {
+			return null;
+		}
+		return jar.getAbsolutePath() + '|' + jar.length() + '|' + jar.lastModified();
+	}
+
+	private static File getJarFile(IPackageFragmentRoot root) {
+		if (!root.isArchive()) {
+			return null;
+		}
+		IPath path = root.getPath();
+		File file = path.toFile();
+		if (!file.isFile() && path.segmentCount() > 1) {
+			// a jar inside the workspace
+			IFile resource = ResourcesPlugin.getWorkspace().getRoot().getFile(path);
+			IPath location = resource.getLocation();
+			file = location == null ? null : location.toFile();
+		}
+		return file != null && file.isFile() ? file : null;
+	}
+
+	private Map<String, Attachment> getAttachments() {
+		if (attachments == null) {
+			attachments = deserializeAttachments();
+		}
+		return attachments;
+	}
+
+	private File getStateFile() {
+		if (stateFile != null) {
+			return stateFile;
+		}
+		String sharedIndexLocation = System.getProperty(SHARED_INDEX_LOCATION_PROPERTY);
+		if (StringUtils.isNotBlank(sharedIndexLocation)) {
+			return new File(sharedIndexLocation, SERIALIZATION_FILE_NAME);
+		}
+		return JavaLanguageServerPlugin.getInstance().getStateLocation().append(SERIALIZATION_FILE_NAME).toFile();
+	}
+
+	private synchronized void serializeAttachments() {
+		File file = getStateFile();
+		// other workspaces may have indexed other jars in the meantime
+		Map<String, Attachment> merged = deserializeAttachments();
+		merged.putAll(attachments);
+		attachments = merged;
+		JsonObject entries = new JsonObject();
+		merged.forEach((key, attachment) -> {
+			JsonObject entry = new JsonObject();
+			entry.addProperty(SOURCE_PATH, attachment.sourcePath());
+			entry.addProperty(JAVADOC_LOCATION, attachment.javadocLocation());
+			entries.add(key, entry);
+		});
+		JsonObject index = new JsonObject();
+		index.addProperty(VERSION, FORMAT_VERSION);
+		index.add(ATTACHMENTS, entries);
+		File tmpFile = new File(file.getParentFile(), file.getName() + "." + System.currentTimeMillis());
+		try {
+			file.getParentFile().mkdirs();
+			try (Writer writer = Files.newBufferedWriter(tmpFile.toPath(), StandardCharsets.UTF_8)) {
+				new Gson().toJson(index, writer);
+			}
+			Files.move(tmpFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		} catch (IOException e) {
+			JavaLanguageServerPlugin.logException("Exception occured while serialization of source attachments", e);
+		} finally {
+			try {
+				Files.deleteIfExists(tmpFile.toPath());
+			} catch (IOException e) {
+				// do nothing
+			}
+		}
+	}
+
+	private Map<String, Attachment> deserializeAttachments() {
+		Map<String, Attachment> result = new HashMap<>();
+		File file = getStateFile();
+		if (!file.isFile()) {
+			return result;
+		}
+		try (Reader reader = Files.newBufferedReader(file.toPath(), StandardCharsets.UTF_8)) {
+			JsonObject index = JsonParser.parseReader(reader).getAsJsonObject();
+			JsonElement version = index.get(VERSION);
+			if (version == null || version.getAsInt() != FORMAT_VERSION || !index.has(ATTACHMENTS)) {
+				return result;
+			}
+			for (Map.Entry<String, JsonElement> entry : index.getAsJsonObject(ATTACHMENTS).entrySet()) {
+				JsonObject attachment = entry.getValue().getAsJsonObject();
+				result.put(entry.getKey(), new Attachment(getString(attachment, SOURCE_PATH), getString(attachment, JAVADOC_LOCATION)));
+			}
+		} catch (IOException | JsonParseException | IllegalStateException | ClassCastException | UnsupportedOperationException e) {
+			JavaLanguageServerPlugin.logException("Exception occured while deserialization of source attachments", e);
+			result.clear();
+		}
+		return result;
+	}
+
+	private static String getString(JsonObject object, String name) {
+		JsonElement element = object.get(name);
+		return element == null || element.isJsonNull() ? null : element.getAsString();
+	}
+
+	/**
+	 * The source jar and Javadoc locations of a binary jar.
+	 */
+	public record Attachment(String sourcePath, String javadocLocation) {
+	}
+}
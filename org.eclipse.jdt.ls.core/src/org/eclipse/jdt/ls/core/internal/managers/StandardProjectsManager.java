@@ -37,6 +37,7 @@ import java.util.Optional;
 import java.util.Properties;
 import java.util.Set;
 import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -100,7 +101,7 @@ public class StandardProjectsManager extends ProjectsManager {
 	protected static final String BUILD_SUPPORT_EXTENSION_POINT_ID = "buildSupport";
 	private static final Set<String> watchers = new LinkedHashSet<>();
 	private PreferenceManager preferenceManager;
-	private boolean buildFinished;
+	private final CompletableFuture<Void> buildFinished = new CompletableFuture<>();
 	private boolean shouldUpdateProjects;
 
 	@Override
@@ -194,40 +195,30 @@ public class StandardProjectsManager extends ProjectsManager {
 			return;
 		}
 		boolean configureNeeded = false;
-		String formatterUrl = preferenceManager.getPreferences().getFormatterUrl();
-		if (formatterUrl != null && JavaLanguageServerPlugin.getInstance().getProtocol() != null) {
-			URI uri = JDTUtils.toURI(uriString);
-			List<URI> uris = getURIs(formatterUrl);
-			boolean changed = false;
-			for (URI formatterUri : uris) {
-				if (URIUtil.sameURI(formatterUri, uri)) {
-					changed = true;
-					break;
+		if (JavaLanguageServerPlugin.getInstance().getProtocol() != null) {
+			URI uri = null;
+			for (String url : Arrays.asList(preferenceManager.getPreferences().getFormatterUrl(), preferenceManager.getPreferences().getSettingsUrl())) {
+				// resolving the URL is costly, skip it when the file names differ
+				if (url == null || !hasSameFileName(url, uriString)) {
+					continue;
 				}
-			}
-			if (changed) {
-				if (changeType == CHANGE_TYPE.DELETED || changeType == CHANGE_TYPE.CREATED) {
-					registerWatchers();
+				if (uri == null) {
+					uri = JDTUtils.toURI(uriString);
 				}
-				configureNeeded = true;
-			}
-		}
-		String settingsUrl = preferenceManager.getPreferences().getSettingsUrl();
-		if (settingsUrl != null && JavaLanguageServerPlugin.getInstance().getProtocol() != null) {
-			URI uri = JDTUtils.toURI(uriString);
-			List<URI> uris = getURIs(settingsUrl);
-			boolean changed = false;
-			for (URI settingsURI : uris) {
-				if (URIUtil.sameURI(settingsURI, uri)) {
-					changed = true;
-					break;
+				List<URI> uris = getURIs(url);
+				boolean changed = false;
+				for (URI settingsURI : uris) {
+					if (URIUtil.sameURI(settingsURI, uri)) {
+						changed = true;
+						break;
+					}
 				}
-			}
-			if (changed) {
-				if (changeType == CHANGE_TYPE.DELETED || changeType == CHANGE_TYPE.CREATED) {
-					registerWatchers();
+				if (changed) {
+					if (changeType == CHANGE_TYPE.DELETED || changeType == CHANGE_TYPE.CREATED) {
+						registerWatchers();
+					}
+					configureNeeded = true;
 				}
-				configureNeeded = true;
 			}
 		}
 		if (configureNeeded) {
@@ -362,6 +353,7 @@ public class StandardProjectsManager extends ProjectsManager {
 		}
 		if (!Objects.equals(javaOptions, JavaCore.getOptions())) {
 			JavaCore.setOptions(javaOptions);
+			FormatterManager.clearCodeFormatterCache();
 		}
 		if (cleanWorkspace && preferences.isAutobuildEnabled()) {
 			new WorkspaceJob("Clean workspace...") {
@@ -551,6 +543,15 @@ public class StandardProjectsManager extends ProjectsManager {
 		return Collections.emptyList();
 	}
 
+	private static boolean hasSameFileName(String url, String uriString) {
+		String name = url.substring(Math.max(url.lastIndexOf('/'), url.lastIndexOf('\\')) + 1);
+		if (name.isEmpty() || uriString.endsWith(name)) {
+			return true;
+		}
+		// the URI may be encoded differently than the URL
+		return name.indexOf('%') >= 0 || uriString.indexOf('%') >= 0;
+	}
+
 	private List<URI> getURIs(String url) {
 		if (url == null) {
 			return Collections.emptyList();
@@ -633,7 +634,8 @@ public class StandardProjectsManager extends ProjectsManager {
 					}
 				}
 			};
-			this.preferenceManager.addPreferencesChangeListener(this.preferenceChangeListener);
+			this.preferenceManager.addPreferencesChangeListener(this.preferenceChangeListener, Preferences.JAVA_PROJECT_REFERENCED_LIBRARIES_KEY, Preferences.JAVA_FORMATTER_URL, Preferences.JAVA_FORMATTER_PROFILE_NAME,
+					Preferences.JAVA_SETTINGS_URL, Preferences.JAVA_RESOURCE_FILTERS, Preferences.JAVA_PROJECT_ENCODING);
 		}
 		buildSupports().forEach(p -> {
 			try {
@@ -688,7 +690,7 @@ public class StandardProjectsManager extends ProjectsManager {
 
 	@Override
 	public void projectsBuildFinished(IProgressMonitor monitor) {
-		this.buildFinished = true;
+		this.buildFinished.complete(null);
 		if (this.shouldUpdateProjects) {
 			for (IProject project : ProjectUtils.getAllProjects()) {
 				if (ProjectUtils.isMavenProject(project)) {
@@ -701,6 +703,11 @@ public class StandardProjectsManager extends ProjectsManager {
 
 	@Override
 	public boolean isBuildFinished() {
+		return buildFinished.isDone();
+	}
+
+	@Override
+	public CompletableFuture<Void> whenBuildFinished() {
 		return buildFinished;
 	}
 }
@@ -20,6 +20,8 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -44,6 +46,7 @@ import com.google.gson.JsonPrimitive;
 public class TelemetryManager {
 
 	private static final String JAVA_PROJECT_BUILD = "java.workspace.initialized";
+	private static final String JAVA_REQUEST_TIMEOUT = "java.request.timeout";
 
 	private JavaLanguageClient client;
 	private PreferenceManager prefs;
@@ -52,6 +55,7 @@ public class TelemetryManager {
 	private long serviceReadyTime;
 	private long projectsInitializedTime;
 	private boolean firstTimeInitialization;
+	private final Map<String, AtomicInteger> requestTimeouts = new ConcurrentHashMap<>();
 	public TelemetryManager(JavaLanguageClient client, PreferenceManager prefs) {
 		this.client = client;
 		this.prefs = prefs;
@@ -85,6 +89,31 @@ public class TelemetryManager {
 		this.serviceReadyTime = timeMillis;
 	}
 
+	/**
+	 * Counts a request that exceeded its time budget, and returned partial
+	 * results.
+	 */
+	public void onRequestTimedOut(String method, long elapsedMillis) {
+		int count = requestTimeouts.computeIfAbsent(method, k -> new AtomicInteger()).incrementAndGet();
+		if (prefs == null || client == null) {
+			return;
+		}
+		JsonObject properties = new JsonObject();
+		properties.addProperty("method", method);
+		properties.addProperty("elapsedMillis", elapsedMillis);
+		properties.addProperty("count", count);
+		telemetryEvent(JAVA_REQUEST_TIMEOUT, properties);
+	}
+
+	/**
+	 * Returns the number of requests of the method that exceeded their time
+	 * budget.
+	 */
+	public int getRequestTimeouts(String method) {
+		AtomicInteger count = requestTimeouts.get(method);
+		return count == null ? 0 : count.get();
+	}
+
 	public void onBuildFinished(long buildFinishedTime) {
 		// avoid this computation entirely if disabled
 		if (!prefs.getPreferences().isTelemetryEnabled()) {
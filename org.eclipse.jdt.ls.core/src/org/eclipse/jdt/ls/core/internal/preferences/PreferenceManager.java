@@ -23,6 +23,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 import org.apache.commons.lang3.StringUtils;
@@ -79,6 +80,8 @@ public class PreferenceManager {
 	private static final String CUSTOM_CODE_TEMPLATES = IConstants.PLUGIN_ID + ".custom_code_templates";
 	private ClientPreferences clientPreferences;
 	private ListenerList<IPreferencesChangeListener> preferencesChangeListeners;
+	// the keys the listeners subscribed to, listeners without keys are notified of any change
+	private final Map<IPreferencesChangeListener, String[]> preferencesChangeListenerKeys = new ConcurrentHashMap<>();
 	private IEclipsePreferences eclipsePrefs;
 	private static Map<String, Template> templates = new LinkedHashMap<>();
 
@@ -223,7 +226,7 @@ public class PreferenceManager {
 		}
 		Preferences oldPreferences = this.preferences;
 		this.preferences = preferences;
-		preferencesChanged(oldPreferences, preferences); // listener will get latest preference from getPreferences()
+		preferencesChanged(oldPreferences, preferences, PreferencesDiff.compute(oldPreferences, preferences)); // listener will get latest preference from getPreferences()
 		// Update the templates according to the new preferences.
 		boolean templateChanged = false;
 		List<String> fileHeader = preferences.getFileHeaderTemplate();
@@ -301,8 +304,12 @@ public class PreferenceManager {
 		}
 	}
 
-	private void preferencesChanged(Preferences oldPreferences, Preferences newPreferences) {
+	private void preferencesChanged(Preferences oldPreferences, Preferences newPreferences, PreferencesDiff diff) {
 		for (final IPreferencesChangeListener listener : preferencesChangeListeners) {
+			String[] keys = preferencesChangeListenerKeys.get(listener);
+			if (keys != null && !diff.affects(keys)) {
+				continue;
+			}
 			ISafeRunnable job = new ISafeRunnable() {
 				@Override
 				public void handleException(Throwable e) {
@@ -384,6 +391,26 @@ public class PreferenceManager {
 
 	}
 
+	/**
+	 * Register the given listener for notification of changes of the given
+	 * preference keys. A key also covers the keys nested in it, eg.
+	 * 'java.inlayHints' covers 'java.inlayHints.parameterNames.enabled'.
+	 * Registering the same listener again replaces its keys.
+	 *
+	 * @param listener
+	 *            the preferences change listener to register
+	 * @param keys
+	 *            the preference keys the listener depends on
+	 */
+	public void addPreferencesChangeListener(IPreferencesChangeListener listener, String... keys) {
+		if (keys == null || keys.length == 0) {
+			preferencesChangeListenerKeys.remove(listener);
+		} else {
+			preferencesChangeListenerKeys.put(listener, keys.clone());
+		}
+		preferencesChangeListeners.add(listener);
+	}
+
 	/**
 	 * De-register the given listener from receiving notification of preferences
 	 * changes. Calling this method multiple times with the same listener has no
@@ -394,6 +421,7 @@ public class PreferenceManager {
 	 */
 	public void removePreferencesChangeListener(IPreferencesChangeListener listener) {
 		preferencesChangeListeners.remove(listener);
+		preferencesChangeListenerKeys.remove(listener);
 	}
 
 	/**
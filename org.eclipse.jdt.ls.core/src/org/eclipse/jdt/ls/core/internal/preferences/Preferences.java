@@ -244,6 +244,12 @@ public class Preferences {
 	 */
 	public static final String JAVA_FORMAT_ON_TYPE_ENABLED_KEY = "java.format.onType.enabled";
 
+	/**
+	 * Preference key to enable/disable formatting only the smallest enclosing
+	 * statement or member on-type, instead of the whole compilation unit.
+	 */
+	public static final String JAVA_FORMAT_ON_TYPE_INCREMENTAL_KEY = "java.format.onType.incremental";
+
 	/**
 	 * Preference key to enable/disable organize imports on save
 	 */
@@ -385,6 +391,20 @@ public class Preferences {
 	public static final String JAVA_COMPLETION_MAX_RESULTS_KEY = "java.completion.maxResults";
 	public static final int JAVA_COMPLETION_MAX_RESULTS_DEFAULT = 50;
 
+	/**
+	 * Preference key for maximum number of implementations to be returned.
+	 * Defaults to 0, no limit.
+	 */
+	public static final String JAVA_IMPLEMENTATIONS_MAX_RESULTS_KEY = "java.implementations.maxResults";
+	public static final int JAVA_IMPLEMENTATIONS_MAX_RESULTS_DEFAULT = 0;
+
+	/**
+	 * Preference key for the time budgets, in milliseconds, of the LSP methods,
+	 * keyed by method name (e.g. "textDocument/references"). A request exceeding
+	 * its budget returns the results found so far.
+	 */
+	public static final String JAVA_REQUEST_TIME_BUDGETS_KEY = "java.requestTimeBudgets";
+
 	/**
 	 * A named preference that controls if the Java code assist only inserts
 	 * completions. When set to true, code completion overwrites the current text.
@@ -492,6 +512,11 @@ public class Preferences {
 	public static final String JAVA_TELEMETRY_ENABLED_KEY = "java.telemetry.enabled";
 
 	public static final String JAVA_EDIT_VALIDATE_ALL_OPEN_BUFFERS_ON_CHANGES = "java.edit.validateAllOpenBuffersOnChanges";
+	/**
+	 * Preference key to only revalidate the open buffers referencing the types
+	 * whose shape changed, when all open buffers are validated on changes.
+	 */
+	public static final String JAVA_EDIT_VALIDATE_OPEN_BUFFERS_BY_DEPENDENCIES = "java.edit.validateOpenBuffersByDependencies";
 	public static final String JAVA_DIAGNOSTIC_FILER = "java.diagnostic.filter";
 	/**
 	 * The preferences for generating toString method.
@@ -620,6 +645,7 @@ public class Preferences {
 	private boolean javaFormatEnabled;
 	private String javaQuickFixShowAt;
 	private boolean javaFormatOnTypeEnabled;
+	private boolean javaFormatOnTypeIncremental;
 	private boolean javaSaveActionsOrganizeImportsEnabled;
 	private boolean signatureHelpEnabled;
 	private boolean signatureHelpDescriptionEnabled;
@@ -678,6 +704,8 @@ public class Preferences {
 	private Collection<IPath> projectConfigurations;
 	private int parallelBuildsCount;
 	private int maxCompletionResults;
+	private int maxImplementationResults;
+	private Map<String, Long> requestTimeBudgets;
 	private int importOnDemandThreshold;
 	private int staticImportOnDemandThreshold;
 	private Set<RuntimeEnvironment> runtimes = new HashSet<>();
@@ -702,6 +730,7 @@ public class Preferences {
 	private boolean extractInterfaceReplaceEnabled;
 	private boolean telemetryEnabled;
 	private boolean validateAllOpenBuffersOnChanges;
+	private boolean validateOpenBuffersByDependencies;
 	private boolean chainCompletionEnabled;
 	private List<String> diagnosticFilter;
 
@@ -880,6 +909,7 @@ public class Preferences {
 		javaFormatEnabled = true;
 		javaQuickFixShowAt = LINE;
 		javaFormatOnTypeEnabled = false;
+		javaFormatOnTypeIncremental = false;
 		javaSaveActionsOrganizeImportsEnabled = false;
 		signatureHelpEnabled = false;
 		signatureHelpDescriptionEnabled = false;
@@ -916,6 +946,8 @@ public class Preferences {
 		filteredTypes = JAVA_COMPLETION_FILTERED_TYPES_DEFAULT;
 		parallelBuildsCount = PreferenceInitializer.PREF_MAX_CONCURRENT_BUILDS_DEFAULT;
 		maxCompletionResults = JAVA_COMPLETION_MAX_RESULTS_DEFAULT;
+		maxImplementationResults = Integer.MAX_VALUE;
+		requestTimeBudgets = Collections.emptyMap();
 		importOnDemandThreshold = IMPORTS_ONDEMANDTHRESHOLD_DEFAULT;
 		staticImportOnDemandThreshold = IMPORTS_STATIC_ONDEMANDTHRESHOLD_DEFAULT;
 		referencedLibraries = JAVA_PROJECT_REFERENCED_LIBRARIES_DEFAULT;
@@ -940,6 +972,7 @@ public class Preferences {
 		extractInterfaceReplaceEnabled = false;
 		telemetryEnabled = false;
 		validateAllOpenBuffersOnChanges = true;
+		validateOpenBuffersByDependencies = false;
 		diagnosticFilter = new ArrayList<>();
 	}
 
@@ -1052,6 +1085,9 @@ public class Preferences {
 		boolean javaFormatOnTypeEnabled = getBoolean(configuration, JAVA_FORMAT_ON_TYPE_ENABLED_KEY, false);
 		prefs.setJavaFormatOnTypeEnabled(javaFormatOnTypeEnabled);
 
+		boolean javaFormatOnTypeIncremental = getBoolean(configuration, JAVA_FORMAT_ON_TYPE_INCREMENTAL_KEY, false);
+		prefs.setJavaFormatOnTypeIncremental(javaFormatOnTypeIncremental);
+
 		boolean javaSaveActionAutoOrganizeImportsEnabled = getBoolean(configuration, JAVA_SAVE_ACTIONS_ORGANIZE_IMPORTS_KEY, false);
 		prefs.setJavaSaveActionAutoOrganizeImportsEnabled(javaSaveActionAutoOrganizeImportsEnabled);
 
@@ -1225,6 +1261,20 @@ public class Preferences {
 		int maxCompletions = getInt(configuration, JAVA_COMPLETION_MAX_RESULTS_KEY, JAVA_COMPLETION_MAX_RESULTS_DEFAULT);
 		prefs.setMaxCompletionResults(maxCompletions);
 
+		int maxImplementations = getInt(configuration, JAVA_IMPLEMENTATIONS_MAX_RESULTS_KEY, JAVA_IMPLEMENTATIONS_MAX_RESULTS_DEFAULT);
+		prefs.setMaxImplementationResults(maxImplementations);
+
+		Object timeBudgets = getValue(configuration, JAVA_REQUEST_TIME_BUDGETS_KEY);
+		Map<String, Long> requestTimeBudgets = new HashMap<>();
+		if (timeBudgets instanceof Map<?, ?> map) {
+			map.forEach((method, budget) -> {
+				if (method instanceof String && budget instanceof Number number && number.longValue() > 0) {
+					requestTimeBudgets.put((String) method, number.longValue());
+				}
+			});
+		}
+		prefs.setRequestTimeBudgets(requestTimeBudgets);
+
 		int onDemandThreshold = getInt(configuration, IMPORTS_ONDEMANDTHRESHOLD, IMPORTS_ONDEMANDTHRESHOLD_DEFAULT);
 		prefs.setImportOnDemandThreshold(onDemandThreshold);
 
@@ -1332,6 +1382,8 @@ public class Preferences {
 		prefs.setTelemetryEnabled(telemetryEnabled);
 		boolean validateAllOpenBuffers = getBoolean(configuration, JAVA_EDIT_VALIDATE_ALL_OPEN_BUFFERS_ON_CHANGES, true);
 		prefs.setValidateAllOpenBuffersOnChanges(validateAllOpenBuffers);
+		boolean validateOpenBuffersByDependencies = getBoolean(configuration, JAVA_EDIT_VALIDATE_OPEN_BUFFERS_BY_DEPENDENCIES, false);
+		prefs.setValidateOpenBuffersByDependencies(validateOpenBuffersByDependencies);
 		boolean chainCompletionEnabled = getBoolean(configuration, CHAIN_COMPLETION_KEY, false);
 		prefs.setChainCompletionEnabled(chainCompletionEnabled);
 		List<String> diagnosticFilter = getList(configuration, JAVA_DIAGNOSTIC_FILER, Collections.emptyList());
@@ -2110,6 +2162,15 @@ public class Preferences {
 		return this;
 	}
 
+	public boolean isJavaFormatOnTypeIncremental() {
+		return javaFormatOnTypeIncremental;
+	}
+
+	public Preferences setJavaFormatOnTypeIncremental(boolean javaFormatOnTypeIncremental) {
+		this.javaFormatOnTypeIncremental = javaFormatOnTypeIncremental;
+		return this;
+	}
+
 	public int getMaxCompletionResults() {
 		return maxCompletionResults;
 	}
@@ -2131,6 +2192,38 @@ public class Preferences {
 		return this;
 	}
 
+	public int getMaxImplementationResults() {
+		return maxImplementationResults;
+	}
+
+	/**
+	 * Sets the maximum number of implementations returned. If maxImplementations
+	 * is set to 0 or lower, then the limit is disabled.
+	 *
+	 * @param maxImplementations
+	 */
+	public Preferences setMaxImplementationResults(int maxImplementations) {
+		if (maxImplementations < 1) {
+			this.maxImplementationResults = Integer.MAX_VALUE;
+		} else {
+			this.maxImplementationResults = maxImplementations;
+		}
+		return this;
+	}
+
+	/**
+	 * Returns the time budget of the LSP method, in milliseconds, or 0 if it has
+	 * none.
+	 */
+	public long getRequestTimeBudget(String method) {
+		return requestTimeBudgets.getOrDefault(method, 0L);
+	}
+
+	public Preferences setRequestTimeBudgets(Map<String, Long> requestTimeBudgets) {
+		this.requestTimeBudgets = requestTimeBudgets == null ? Collections.emptyMap() : requestTimeBudgets;
+		return this;
+	}
+
 	public ReferencedLibraries getReferencedLibraries() {
 		return referencedLibraries;
 	}
@@ -2608,6 +2701,14 @@ public class Preferences {
 		this.validateAllOpenBuffersOnChanges = validateAllOpenBuffersOnChanges;
 	}
 
+	public boolean isValidateOpenBuffersByDependencies() {
+		return validateOpenBuffersByDependencies;
+	}
+
+	public void setValidateOpenBuffersByDependencies(boolean validateOpenBuffersByDependencies) {
+		this.validateOpenBuffersByDependencies = validateOpenBuffersByDependencies;
+	}
+
 	public List<String> getDiagnosticFilter() {
 		return this.diagnosticFilter;
 	}
@@ -0,0 +1,117 @@
+/*******************************************************************************
+ * Copyright (c) 2024 Red Hat Inc. and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Red Hat Inc. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ls.core.internal.preferences;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * The keys whose values differ between two {@link Preferences}.
+ *
+ * The keys are compared on the configurations the preferences were created
+ * from, nested configurations being flattened into chained keys like
+ * 'java.format.settings.url'. When the configuration of either preferences is
+ * unknown, every key is considered changed.
+ */
+public final class PreferencesDiff {
+
+	private static final PreferencesDiff ALL = new PreferencesDiff(null);
+
+	// null when every key is considered changed
+	private final Set<String> changedKeys;
+
+	private PreferencesDiff(Set<String> changedKeys) {
+		this.changedKeys = changedKeys;
+	}
+
+	public static PreferencesDiff compute(Preferences oldPreferences, Preferences newPreferences) {
+		if (oldPreferences == null || newPreferences == null || oldPreferences == newPreferences) {
+			// a preferences instance may have been modified in place
+			return ALL;
+		}
+		Map<String, Object> oldConfiguration = oldPreferences.asMap();
+		Map<String, Object> newConfiguration = newPreferences.asMap();
+		if (oldConfiguration == null || newConfiguration == null) {
+			return ALL;
+		}
+		Map<String, Object> oldValues = flatten(oldConfiguration);
+		Map<String, Object> newValues = flatten(newConfiguration);
+		Set<String> changedKeys = new HashSet<>();
+		for (Map.Entry<String, Object> entry : newValues.entrySet()) {
+			if (!Objects.equals(entry.getValue(), oldValues.get(entry.getKey()))) {
+				changedKeys.add(entry.getKey());
+			}
+		}
+		for (String key : oldValues.keySet()) {
+			if (!newValues.containsKey(key)) {
+				changedKeys.add(key);
+			}
+		}
+		return new PreferencesDiff(changedKeys);
+	}
+
+	/**
+	 * Returns <code>true</code> if one of the given keys, or a key nested in one
+	 * of them, has changed.
+	 *
+	 * @param keys
+	 *            the keys or key groups, like 'java.inlayHints'
+	 */
+	public boolean affects(String... keys) {
+		if (changedKeys == null) {
+			return true;
+		}
+		for (String changedKey : changedKeys) {
+			for (String key : keys) {
+				if (changedKey.equals(key) || (changedKey.startsWith(key) && changedKey.charAt(key.length()) == '.')) {
+					return true;
+				}
+			}
+		}
+		return false;
+	}
+
+	public boolean isEmpty() {
+		return changedKeys != null && changedKeys.isEmpty();
+	}
+
+	/**
+	 * Returns the changed keys, or <code>null</code> if every key is considered
+	 * changed.
+	 */
+	public Set<String> getChangedKeys() {
+		return changedKeys == null ? null : Collections.unmodifiableSet(changedKeys);
+	}
+
+	private static Map<String, Object> flatten(Map<String, Object> configuration) {
+		Map<String, Object> values = new HashMap<>();
+		flatten(null, configuration, values);
+		return values;
+	}
+
+	@SuppressWarnings("unchecked")
+	private static void flatten(String prefix, Map<String, Object> configuration, Map<String, Object> values) {
+		for (Map.Entry<String, Object> entry : configuration.entrySet()) {
+			String key = prefix == null ? entry.getKey() : prefix + "." + entry.getKey();
+			if (entry.getValue() instanceof Map<?, ?> map) {
+				flatten(key, (Map<String, Object>) map, values);
+			} else {
+				values.put(key, entry.getValue());
+			}
+		}
+	}
+}
@@ -13,8 +13,11 @@
  *******************************************************************************/
 package org.eclipse.jdt.ls.core.internal.semantictokens;
 
-import java.util.ArrayList;
+import java.util.AbstractList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Objects;
+import java.util.RandomAccess;
 
 import org.eclipse.jdt.core.IJavaProject;
 import org.eclipse.jdt.core.ITypeRoot;
@@ -60,45 +63,37 @@ import org.eclipse.lsp4j.SemanticTokens;
 import org.jsoup.select.NodeVisitor;
 
 public class SemanticTokensVisitor extends ASTVisitor {
+	/**
+	 * The number of ints describing a collected token: its offset, length,
+	 * type and modifiers.
+	 */
+	private static final int TOKEN_SIZE = 4;
+
 	private CompilationUnit cu;
 	private final IScanner scanner;
-	private List<SemanticToken> tokens;
+	private final int rangeStart;
+	private final int rangeEnd;
+	private int[] tokens;
+	private int tokenCount;
 
 	public SemanticTokensVisitor(CompilationUnit cu) {
+		this(cu, 0, Integer.MAX_VALUE);
+	}
+
+	/**
+	 * Creates a visitor collecting the semantic tokens intersecting the range.
+	 *
+	 * @param cu the compilation unit to visit
+	 * @param rangeStart the start offset of the range
+	 * @param rangeEnd the end offset of the range
+	 */
+	public SemanticTokensVisitor(CompilationUnit cu, int rangeStart, int rangeEnd) {
 		super(true);
 		this.cu = cu;
 		this.scanner = createScanner(cu);
-		this.tokens = new ArrayList<>();
-	}
-
-	private class SemanticToken {
-		private final TokenType tokenType;
-		private final int tokenModifiers;
-		private final int offset;
-		private final int length;
-
-		public SemanticToken(int offset, int length, TokenType tokenType, int tokenModifiers) {
-			this.offset = offset;
-			this.length = length;
-			this.tokenType = tokenType;
-			this.tokenModifiers = tokenModifiers;
-		}
-
-		public TokenType getTokenType() {
-			return tokenType;
-		}
-
-		public int getTokenModifiers() {
-			return tokenModifiers;
-		}
-
-		public int getOffset() {
-			return offset;
-		}
-
-		public int getLength() {
-			return length;
-		}
+		this.rangeStart = rangeStart;
+		this.rangeEnd = rangeEnd;
+		this.tokens = new int[256 * TOKEN_SIZE];
 	}
 
 	public SemanticTokens getSemanticTokens() {
@@ -106,14 +101,28 @@ public class SemanticTokensVisitor extends ASTVisitor {
 	}
 
 	private List<Integer> encodedTokens() {
-		int numTokens = tokens.size();
-		List<Integer> data = new ArrayList<>(numTokens * 5);
+		int[] data = new int[tokenCount * 5];
+		int dataLength = 0;
 		int currentLine = 0;
 		int currentColumn = 0;
-		for (int i = 0; i < numTokens; i++) {
-			SemanticToken token = tokens.get(i);
-			int line = cu.getLineNumber(token.getOffset()) - 1;
-			int column = cu.getColumnNumber(token.getOffset());
+		// the tokens are in the order of the document, so a cursor sweeps the lines
+		// instead of looking up the line of every token
+		int line = 0;
+		int lineStart = 0;
+		int nextLineStart = getLineStart(1);
+		for (int i = 0; i < tokenCount * TOKEN_SIZE; i += TOKEN_SIZE) {
+			int offset = tokens[i];
+			if (offset < lineStart) {
+				line = cu.getLineNumber(offset) - 1;
+				lineStart = getLineStart(line);
+				nextLineStart = getLineStart(line + 1);
+			}
+			while (nextLineStart >= 0 && offset >= nextLineStart) {
+				line++;
+				lineStart = nextLineStart;
+				nextLineStart = getLineStart(line + 1);
+			}
+			int column = offset - lineStart;
 			int deltaLine = line - currentLine;
 			if (deltaLine != 0) {
 				currentLine = line;
@@ -123,17 +132,56 @@ public class SemanticTokensVisitor extends ASTVisitor {
 			currentColumn = column;
 			// Disallow duplicate/conflict token (if exists)
 			if (deltaLine != 0 || deltaColumn != 0) {
-				int tokenTypeIndex = token.getTokenType().ordinal();
-				int tokenModifiers = token.getTokenModifiers();
-
-				data.add(deltaLine);
-				data.add(deltaColumn);
-				data.add(token.getLength());
-				data.add(tokenTypeIndex);
-				data.add(tokenModifiers);
+				data[dataLength++] = deltaLine;
+				data[dataLength++] = deltaColumn;
+				data[dataLength++] = tokens[i + 1];
+				data[dataLength++] = tokens[i + 2];
+				data[dataLength++] = tokens[i + 3];
 			}
 		}
-		return data;
+		return new IntList(data, dataLength);
+	}
+
+	/**
+	 * Returns the offset of the start of the zero-based line, or a negative
+	 * value if the line doesn't exist.
+	 */
+	private int getLineStart(int line) {
+		return line == 0 ? 0 : cu.getPosition(line + 1, 0);
+	}
+
+	/**
+	 * A list of ints, boxed only when read, e.g. when the tokens are
+	 * serialized.
+	 */
+	private static final class IntList extends AbstractList<Integer> implements RandomAccess {
+		private final int[] data;
+		private final int size;
+
+		private IntList(int[] data, int size) {
+			this.data = data;
+			this.size = size;
+		}
+
+		@Override
+		public Integer get(int index) {
+			Objects.checkIndex(index, size);
+			return data[index];
+		}
+
+		@Override
+		public int size() {
+			return size;
+		}
+	}
+
+	/**
+	 * Skips the nodes that don't intersect the range.
+	 */
+	@Override
+	public boolean preVisit2(ASTNode node) {
+		int start = node.getStartPosition();
+		return start <= rangeEnd && start + node.getLength() >= rangeStart;
 	}
 
 	/**
@@ -160,7 +208,18 @@ public class SemanticTokensVisitor extends ASTVisitor {
 	 * the encoding algorithm might discard them.
 	 */
 	private void addToken(int offset, int length, TokenType tokenType, int modifiers) {
-		tokens.add(new SemanticToken(offset, length, tokenType, modifiers | staticModifiers));
+		if (offset > rangeEnd || offset + length < rangeStart) {
+			return;
+		}
+		int index = tokenCount * TOKEN_SIZE;
+		if (index == tokens.length) {
+			tokens = Arrays.copyOf(tokens, tokens.length * 2);
+		}
+		tokens[index] = offset;
+		tokens[index + 1] = length;
+		tokens[index + 2] = tokenType.ordinal();
+		tokens[index + 3] = modifiers | staticModifiers;
+		tokenCount++;
 	}
 
 	/**
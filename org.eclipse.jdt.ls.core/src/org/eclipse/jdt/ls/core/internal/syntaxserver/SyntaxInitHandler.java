@@ -93,7 +93,7 @@ public class SyntaxInitHandler extends BaseInitHandler {
 
 		SemanticTokensWithRegistrationOptions semanticTokensOptions = new SemanticTokensWithRegistrationOptions();
 		semanticTokensOptions.setFull(new SemanticTokensServerFull(false));
-		semanticTokensOptions.setRange(false);
+		semanticTokensOptions.setRange(true);
 		semanticTokensOptions.setDocumentSelector(List.of(
 			new DocumentFilter("java", "file", null),
 			new DocumentFilter("java", "jdt", null)
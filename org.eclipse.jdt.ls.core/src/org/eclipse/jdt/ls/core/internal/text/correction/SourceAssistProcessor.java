@@ -23,7 +23,6 @@ import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 import org.eclipse.core.resources.IResource;
 import org.eclipse.core.runtime.CoreException;
@@ -126,15 +125,19 @@ public class SourceAssistProcessor {
 		ASTNode typeDeclaration = CodeActionUtility.findASTNode(coveredNodes, coveringNode, TypeDeclaration.class);
 		boolean isInTypeDeclaration =  typeDeclaration != null;
 		boolean isInImportDeclaration =  CodeActionUtility.findASTNode(coveredNodes, coveringNode, ImportDeclaration.class) != null;
+		// the actions of the kinds not requested are filtered out, skip computing them
+		boolean quickAssistRequested = isRequested(params.getContext(), JavaCodeActionKind.QUICK_ASSIST);
 
 		// Generate Constructor QuickAssist
-		if (isInFieldDeclaration || isInTypeDeclaration) {
+		if ((isInFieldDeclaration || isInTypeDeclaration) && quickAssistRequested) {
 			Optional<Either<Command, CodeAction>> quickAssistGenerateConstructors = getGenerateConstructorsAction(params, context, type, JavaCodeActionKind.QUICK_ASSIST, monitor);
 			addSourceActionCommand($, params.getContext(), quickAssistGenerateConstructors);
 		}
 		// Generate Constructor Source Action
-		Optional<Either<Command, CodeAction>> sourceGenerateConstructors = getGenerateConstructorsAction(params, context, type, JavaCodeActionKind.SOURCE_GENERATE_CONSTRUCTORS, monitor);
-		addSourceActionCommand($, params.getContext(), sourceGenerateConstructors);
+		if (isRequested(params.getContext(), JavaCodeActionKind.SOURCE_GENERATE_CONSTRUCTORS)) {
+			Optional<Either<Command, CodeAction>> sourceGenerateConstructors = getGenerateConstructorsAction(params, context, type, JavaCodeActionKind.SOURCE_GENERATE_CONSTRUCTORS, monitor);
+			addSourceActionCommand($, params.getContext(), sourceGenerateConstructors);
+		}
 
 		// Organize Imports
 		CodeActionProposal organizeImportsProposal = (pm) -> {
@@ -181,16 +184,18 @@ public class SourceAssistProcessor {
 			addSourceActionCommand($, params.getContext(), sourceOverrideMethods);
 		}
 
-		List<String> fieldNames = CodeActionUtility.getFieldNames(coveredNodes, coveringNode);
-		try {
-			addGenerateAccessorsSourceActionCommand(params, context, $, type, fieldNames, isInTypeDeclaration);
-		} catch (JavaModelException e) {
-			JavaLanguageServerPlugin.logException("Failed to generate Getter and Setter source action", e);
+		if (quickAssistRequested || isRequested(params.getContext(), JavaCodeActionKind.SOURCE_GENERATE_ACCESSORS)) {
+			List<String> fieldNames = CodeActionUtility.getFieldNames(coveredNodes, coveringNode);
+			try {
+				addGenerateAccessorsSourceActionCommand(params, context, $, type, fieldNames, isInTypeDeclaration);
+			} catch (JavaModelException e) {
+				JavaLanguageServerPlugin.logException("Failed to generate Getter and Setter source action", e);
+			}
 		}
 
-		boolean hashCodeAndEqualsExists = CodeActionUtility.hasMethod(type, HashCodeEqualsHandler.METHODNAME_HASH_CODE) && CodeActionUtility.hasMethod(type, HashCodeEqualsHandler.METHODNAME_EQUALS, Object.class);
 		// Generate hashCode() and equals()
-		if (supportsHashCodeEquals(context, type, monitor)) {
+		if ((quickAssistRequested || isRequested(params.getContext(), JavaCodeActionKind.SOURCE_GENERATE_HASHCODE_EQUALS)) && supportsHashCodeEquals(context, type, monitor)) {
+			boolean hashCodeAndEqualsExists = CodeActionUtility.hasMethod(type, HashCodeEqualsHandler.METHODNAME_HASH_CODE) && CodeActionUtility.hasMethod(type, HashCodeEqualsHandler.METHODNAME_EQUALS, Object.class);
 			// Generate QuickAssist
 			if (isInTypeDeclaration && !hashCodeAndEqualsExists) {
 				Optional<Either<Command, CodeAction>> quickAssistHashCodeEquals = getHashCodeEqualsAction(params, JavaCodeActionKind.QUICK_ASSIST);
@@ -203,9 +208,9 @@ public class SourceAssistProcessor {
 
 		}
 
-		boolean toStringExists = CodeActionUtility.hasMethod(type, GenerateToStringHandler.METHODNAME_TOSTRING);
 		// Generate toString()
-		if (supportsGenerateToString(type)) {
+		if ((quickAssistRequested || isRequested(params.getContext(), JavaCodeActionKind.SOURCE_GENERATE_TO_STRING)) && supportsGenerateToString(type)) {
+			boolean toStringExists = CodeActionUtility.hasMethod(type, GenerateToStringHandler.METHODNAME_TOSTRING);
 			boolean nonStaticFields = true;
 			try {
 				nonStaticFields = hasFields(type, false);
@@ -241,25 +246,33 @@ public class SourceAssistProcessor {
 		}
 
 		// Generate Delegate Methods
-		Optional<Either<Command, CodeAction>> generateDelegateMethods = getGenerateDelegateMethodsAction(params, context, type);
-		addSourceActionCommand($, params.getContext(), generateDelegateMethods);
+		if (isRequested(params.getContext(), JavaCodeActionKind.SOURCE_GENERATE_DELEGATE_METHODS)) {
+			Optional<Either<Command, CodeAction>> generateDelegateMethods = getGenerateDelegateMethodsAction(params, context, type);
+			addSourceActionCommand($, params.getContext(), generateDelegateMethods);
+		}
 
 		// Add final modifiers where possible
-		Optional<Either<Command, CodeAction>> generateFinalModifiers = addFinalModifierWherePossibleAction(context);
-		addSourceActionCommand($, params.getContext(), generateFinalModifiers);
+		if (isRequested(params.getContext(), JavaCodeActionKind.SOURCE_GENERATE_FINAL_MODIFIERS)) {
+			Optional<Either<Command, CodeAction>> generateFinalModifiers = addFinalModifierWherePossibleAction(context);
+			addSourceActionCommand($, params.getContext(), generateFinalModifiers);
+		}
 
-		Optional<Either<Command, CodeAction>> generateFinalModifiersQuickAssist = addFinalModifierWherePossibleQuickAssist(context);
-		addSourceActionCommand($, params.getContext(), generateFinalModifiersQuickAssist);
+		if (quickAssistRequested) {
+			Optional<Either<Command, CodeAction>> generateFinalModifiersQuickAssist = addFinalModifierWherePossibleQuickAssist(context);
+			addSourceActionCommand($, params.getContext(), generateFinalModifiersQuickAssist);
+		}
 
-		Optional<Either<Command, CodeAction>> sortMembersAction = getSortMembersAction(context, params, JavaCodeActionKind.SOURCE_SORT_MEMBERS, preferenceManager.getPreferences().getAvoidVolatileChanges());
-		addSourceActionCommand($, params.getContext(), sortMembersAction);
+		if (isRequested(params.getContext(), JavaCodeActionKind.SOURCE_SORT_MEMBERS)) {
+			Optional<Either<Command, CodeAction>> sortMembersAction = getSortMembersAction(context, params, JavaCodeActionKind.SOURCE_SORT_MEMBERS, preferenceManager.getPreferences().getAvoidVolatileChanges());
+			addSourceActionCommand($, params.getContext(), sortMembersAction);
+		}
 
-		if (isInTypeDeclaration && ((TypeDeclaration) typeDeclaration).isPackageMemberTypeDeclaration()) {
+		if (quickAssistRequested && isInTypeDeclaration && ((TypeDeclaration) typeDeclaration).isPackageMemberTypeDeclaration()) {
 			Optional<Either<Command, CodeAction>> sortMembersQuickAssistForType = getSortMembersAction(context, params, JavaCodeActionKind.QUICK_ASSIST, preferenceManager.getPreferences().getAvoidVolatileChanges());
 			addSourceActionCommand($, params.getContext(), sortMembersQuickAssistForType);
 		}
 
-		if (coveredNodes.size() > 0) {
+		if (quickAssistRequested && coveredNodes.size() > 0) {
 			Optional<Either<Command, CodeAction>> sortMembersQuickAssistForSelection = getSortMembersForSelectionProposal(context, params, coveredNodes, preferenceManager.getPreferences().getAvoidVolatileChanges());
 			addSourceActionCommand($, params.getContext(), sortMembersQuickAssistForSelection);
 		}
@@ -327,17 +340,21 @@ public class SourceAssistProcessor {
 		}
 
 		Either<Command, CodeAction> targetAction = target.get();
-		if (context.getOnly() != null && !context.getOnly().isEmpty()) {
-			Stream<String> acceptedActionKinds = context.getOnly().stream();
-			String actionKind = targetAction.getLeft() == null ? targetAction.getRight().getKind() : targetAction.getLeft().getCommand();
-			if (!acceptedActionKinds.filter(kind -> actionKind != null && actionKind.startsWith(kind)).findFirst().isPresent()) {
-				return;
-			}
+		String actionKind = targetAction.getLeft() == null ? targetAction.getRight().getKind() : targetAction.getLeft().getCommand();
+		if (actionKind == null ? context.getOnly() != null && !context.getOnly().isEmpty() : !isRequested(context, actionKind)) {
+			return;
 		}
 
 		result.add(targetAction);
 	}
 
+	private static boolean isRequested(CodeActionContext context, String actionKind) {
+		if (context.getOnly() == null || context.getOnly().isEmpty()) {
+			return true;
+		}
+		return context.getOnly().stream().anyMatch(kind -> actionKind.startsWith(kind));
+	}
+
 	private TextEdit getOrganizeImportsTextEdit(IInvocationContext context, boolean restoreExistingImports, boolean isAdvancedOrganizeImportsSupported, IProgressMonitor monitor) {
 		ICompilationUnit cu = context.getCompilationUnit();
 		if (cu == null) {
@@ -2,7 +2,9 @@ package org.eclipse.jdt.ls.core.internal.filesystem;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Pattern;
 
 import org.eclipse.core.runtime.preferences.IEclipsePreferences;
@@ -27,7 +29,14 @@ public class JDTLSFilesystemActivator implements BundleActivator {
 	private static final String JAVA_LS_PLUGIN_ID = "org.eclipse.jdt.ls.core";
 	private static final String JAVA_RESOURCE_FILTERS = "java.project.resourceFilters";
 	private static final String JAVA_RESOURCE_FILTERS_DEFAULT = "node_modules::\\.git";
-	private List<Pattern> resourcePatterns; 
+	private static final Pattern BACK_REFERENCE = Pattern.compile("\\\\(\\d|k<)");
+	/**
+	 * Maximum number of cached segment exclusions, the cache is discarded when
+	 * it grows bigger.
+	 */
+	private static final int MAX_CACHED_SEGMENTS = 10000;
+	// the patterns and the exclusions are published together
+	private volatile ResourceFilter resourceFilter;
 	private String resourceFilters;
 	private static JDTLSFilesystemActivator instance;
 
@@ -62,11 +71,20 @@ public class JDTLSFilesystemActivator implements BundleActivator {
 	}
 
 	protected void setResourcePatterns() {
-		resourcePatterns = new ArrayList<>();
+		List<Pattern> patterns = new ArrayList<>();
+		StringBuilder combined = new StringBuilder();
+		boolean combinable = true;
 		for (String element : resourceFilters.split("::")) {
 			Pattern pattern = Pattern.compile(element);
-			resourcePatterns.add(pattern);
+			patterns.add(pattern);
+			// back references would refer to the wrong group once the patterns are combined
+			combinable &= !BACK_REFERENCE.matcher(element).find();
+			if (combined.length() > 0) {
+				combined.append('|');
+			}
+			combined.append("(?:").append(element).append(')');
 		}
+		resourceFilter = new ResourceFilter(List.copyOf(patterns), combinable ? Pattern.compile(combined.toString()) : null, new ConcurrentHashMap<>());
 	}
 
 	public void stop(BundleContext bundleContext) throws Exception {
@@ -74,10 +92,54 @@ public class JDTLSFilesystemActivator implements BundleActivator {
 	}
 
 	public static List<Pattern> getResourcePatterns() {
-		if (instance != null) {
-			return instance.resourcePatterns;
+		ResourceFilter filter = getResourceFilter();
+		return filter == null ? null : filter.patterns();
+	}
+
+	private static ResourceFilter getResourceFilter() {
+		JDTLSFilesystemActivator activator = instance;
+		return activator == null ? null : activator.resourceFilter;
+	}
+
+	/**
+	 * Check whether the given path segment is matched by one of the resource
+	 * patterns. The result is cached per segment until the patterns change.
+	 *
+	 * @return whether the segment is excluded, or <code>null</code> if the
+	 *         resource patterns are not configured.
+	 */
+	static Boolean isExcludedSegment(String segment) {
+		ResourceFilter filter = getResourceFilter();
+		if (filter == null) {
+			return null;
+		}
+		Boolean excluded = filter.segments().get(segment);
+		if (excluded == null) {
+			excluded = filter.matches(segment);
+			if (filter.segments().size() >= MAX_CACHED_SEGMENTS) {
+				filter.segments().clear();
+			}
+			filter.segments().put(segment, excluded);
+		}
+		return excluded;
+	}
+
+	/**
+	 * The compiled resource patterns, with the exclusions computed so far.
+	 */
+	private record ResourceFilter(List<Pattern> patterns, Pattern combined, Map<String, Boolean> segments) {
+
+		private boolean matches(String segment) {
+			if (combined != null) {
+				return combined.matcher(segment).matches();
+			}
+			for (Pattern pattern : patterns) {
+				if (pattern.matcher(segment).matches()) {
+					return true;
+				}
+			}
+			return false;
 		}
-		return null;
 	}
 
 }
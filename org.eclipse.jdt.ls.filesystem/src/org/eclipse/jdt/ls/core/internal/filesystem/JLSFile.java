@@ -54,7 +54,7 @@ public class JLSFile extends LocalFile {
         if (JLSFsUtils.isExcluded(filePath)) {
             return childNames;
         }
-        String projectName = JLSFsUtils.getProjectNameIfLocationIsProjectRoot(filePath);
+        String projectName = JLSFsUtils.getCachedProjectNameIfLocationIsProjectRoot(filePath);
         if (projectName == null) {
             return childNames;
         }
@@ -14,16 +14,20 @@
 package org.eclipse.jdt.ls.core.internal.filesystem;
 
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.eclipse.core.internal.preferences.EclipsePreferences;
 import org.eclipse.core.resources.IContainer;
 import org.eclipse.core.resources.IProject;
 import org.eclipse.core.resources.IProjectDescription;
+import org.eclipse.core.resources.IResourceChangeEvent;
+import org.eclipse.core.resources.IResourceChangeListener;
+import org.eclipse.core.resources.IResourceDelta;
 import org.eclipse.core.resources.ResourcesPlugin;
 import org.eclipse.core.runtime.IPath;
 import org.eclipse.jdt.core.IJavaProject;
@@ -36,6 +40,10 @@ public class JLSFsUtils {
 
     static final IPath METADATA_FOLDER_PATH = ResourcesPlugin.getPlugin().getStateLocation().append(".projects");
 
+    private static volatile ProjectRoots projectRoots;
+    // incremented when the cached project locations become stale
+    private static final AtomicInteger projectRootsGeneration = new AtomicInteger();
+
     /**
      * The system property key to specify the file system mode.
     */
@@ -120,11 +128,9 @@ public class JLSFsUtils {
     public static boolean isExcluded(IPath path) {
         if (path != null && JDTLSFilesystemActivator.getResourcePatterns() != null) {
             for (String segment : path.segments()) {
-                for (Pattern pattern : JDTLSFilesystemActivator.getResourcePatterns()) {
-                    Matcher m = pattern.matcher(segment);
-                    if (m.matches()) {
-                        return true;
-                    }
+                Boolean excluded = JDTLSFilesystemActivator.isExcludedSegment(segment);
+                if (Boolean.TRUE.equals(excluded)) {
+                    return true;
                 }
             }
             return false;
@@ -162,6 +168,76 @@ public class JLSFsUtils {
         return null;
     }
 
+    /**
+     * Same as {@link #getProjectNameIfLocationIsProjectRoot(IPath)}, but the
+     * project locations are cached until a project is added, removed or its
+     * description changes.
+     * <p>
+     * Since a project being created is visible before its location is set, the
+     * cached lookup must not be used to decide where files are written.
+     * </p>
+     * @param location the location path.
+     * @return The project name
+     */
+    static String getCachedProjectNameIfLocationIsProjectRoot(IPath location) {
+        ProjectRoots roots = projectRoots;
+        if (roots == null || roots.generation() != projectRootsGeneration.get()) {
+            // the listener is registered before the projects are read, so no change is missed
+            ProjectRootsListener.register();
+            int generation = projectRootsGeneration.get();
+            Map<IPath, String> locations = new HashMap<>();
+            for (IProject project : ResourcesPlugin.getWorkspace().getRoot().getProjects(IContainer.INCLUDE_HIDDEN)) {
+                IPath projectLocation = project.getLocation();
+                if (projectLocation != null) {
+                    locations.putIfAbsent(projectLocation, project.getName());
+                }
+            }
+            roots = new ProjectRoots(generation, locations);
+            projectRoots = roots;
+        }
+        return roots.locations().get(location);
+    }
+
+    static void clearProjectRootsCache() {
+        projectRootsGeneration.incrementAndGet();
+    }
+
+    private record ProjectRoots(int generation, Map<IPath, String> locations) {
+    }
+
+    /**
+     * Discards the cached project locations when a project is added, removed,
+     * moved or its description changes.
+     */
+    private static final class ProjectRootsListener implements IResourceChangeListener {
+        private static boolean registered = false;
+
+        private static synchronized void register() {
+            if (!registered) {
+                ResourcesPlugin.getWorkspace().addResourceChangeListener(new ProjectRootsListener(), IResourceChangeEvent.POST_CHANGE | IResourceChangeEvent.PRE_DELETE);
+                registered = true;
+            }
+        }
+
+        @Override
+        public void resourceChanged(IResourceChangeEvent event) {
+            if (event.getType() == IResourceChangeEvent.PRE_DELETE) {
+                clearProjectRootsCache();
+                return;
+            }
+            IResourceDelta delta = event.getDelta();
+            if (delta == null) {
+                return;
+            }
+            for (IResourceDelta projectDelta : delta.getAffectedChildren()) {
+                if (projectDelta.getKind() != IResourceDelta.CHANGED || (projectDelta.getFlags() & (IResourceDelta.DESCRIPTION | IResourceDelta.OPEN | IResourceDelta.MOVED_FROM | IResourceDelta.MOVED_TO)) != 0) {
+                    clearProjectRootsCache();
+                    return;
+                }
+            }
+        }
+    }
+
     /**
      * Get the redirected path of the input path. The path will be redirected to
      * the workspace's metadata folder ({@link JLSFsUtils#METADATA_FOLDER_PATH}).
@@ -44,4 +44,26 @@ public class CancellableProgressMonitorTest {
 		assertFalse(new CancellableProgressMonitor(null).isCanceled());
 		assertFalse(new CancellableProgressMonitor(checker).isCanceled());
 	}
+
+	@Test
+	public void testTimedOut() throws Exception {
+		CancellableProgressMonitor monitor = new CancellableProgressMonitor(checker);
+		monitor.setTimeBudget(10);
+		Thread.sleep(50);
+		assertTrue(monitor.isCanceled());
+		assertTrue(monitor.isTimedOut());
+		assertTrue(CancellableProgressMonitor.isTimedOut(monitor));
+	}
+
+	@Test
+	public void testNotTimedOut() {
+		CancellableProgressMonitor monitor = new CancellableProgressMonitor(checker);
+		monitor.setTimeBudget(60000);
+		assertFalse(monitor.isCanceled());
+		assertFalse(monitor.isTimedOut());
+
+		doThrow(CancellationException.class).when(checker).checkCanceled();
+		assertTrue(monitor.isCanceled());
+		assertFalse("a cancelled request isn't timed out", monitor.isTimedOut());
+	}
 }
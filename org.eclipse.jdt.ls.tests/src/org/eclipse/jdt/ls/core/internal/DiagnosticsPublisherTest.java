@@ -0,0 +1,102 @@
+/*******************************************************************************
+ * Copyright (c) 2024 Red Hat Inc. and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Red Hat Inc. - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.jdt.ls.core.internal;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.eclipse.lsp4j.Diagnostic;
+import org.eclipse.lsp4j.Position;
+import org.eclipse.lsp4j.PublishDiagnosticsParams;
+import org.eclipse.lsp4j.Range;
+import org.junit.Test;
+
+public class DiagnosticsPublisherTest {
+
+	private List<PublishDiagnosticsParams> sent = Collections.synchronizedList(new ArrayList<>());
+
+	@Test
+	public void testSuppressIdenticalDiagnostics() {
+		DiagnosticsPublisher publisher = new DiagnosticsPublisher(sent::add, 0, 10);
+		publisher.publish(createParams("file:///A.java", "error"));
+		publisher.publish(createParams("file:///A.java", "error"));
+		publisher.publish(createParams("file:///B.java", "error"));
+		publisher.publish(createParams("file:///A.java", "another error"));
+
+		assertEquals(3, sent.size());
+		assertEquals(3, publisher.getSentCount());
+		assertEquals(1, publisher.getSuppressedCount());
+
+		publisher.forget("file:///A.java");
+		publisher.publish(createParams("file:///A.java", "another error"));
+		assertEquals(4, sent.size());
+	}
+
+	@Test
+	public void testHashCollision() {
+		DiagnosticsPublisher publisher = new DiagnosticsPublisher(sent::add, 0, 10);
+		PublishDiagnosticsParams first = createParams("file:///A.java", "Aa");
+		PublishDiagnosticsParams second = createParams("file:///A.java", "BB");
+		assertEquals(first.hashCode(), second.hashCode());
+		publisher.publish(first);
+		publisher.publish(second);
+
+		assertEquals(2, sent.size());
+		assertEquals(0, publisher.getSuppressedCount());
+	}
+
+	@Test
+	public void testCoalesceDiagnostics() {
+		DiagnosticsPublisher publisher = new DiagnosticsPublisher(sent::add, 60 * 1000, 2);
+		publisher.publish(createParams("file:///A.java", "error"));
+		publisher.publish(createParams("file:///B.java", "error"));
+		publisher.publish(createParams("file:///A.java", "another error"));
+		publisher.publish(createParams("file:///C.java", "error"));
+		assertEquals(0, sent.size());
+
+		publisher.flush();
+		assertEquals(3, sent.size());
+		assertEquals("another error", sent.get(0).getDiagnostics().get(0).getMessage());
+		assertEquals("file:///B.java", sent.get(1).getUri());
+		assertEquals("file:///C.java", sent.get(2).getUri());
+		assertEquals(1, publisher.getCoalescedCount());
+	}
+
+	@Test
+	public void testForgetPendingDiagnostics() {
+		DiagnosticsPublisher publisher = new DiagnosticsPublisher(sent::add, 60 * 1000, 10);
+		publisher.publish(new PublishDiagnosticsParams("file:///A.java", Collections.emptyList()));
+		publisher.flush();
+		assertEquals(1, sent.size());
+
+		// the diagnostics of a closed document are cleared, then forgotten
+		publisher.publish(new PublishDiagnosticsParams("file:///A.java", Collections.emptyList()));
+		publisher.forget("file:///A.java");
+		publisher.flush();
+		assertEquals(2, sent.size());
+
+		publisher.publish(new PublishDiagnosticsParams("file:///A.java", Collections.emptyList()));
+		publisher.flush();
+		assertEquals(3, sent.size());
+		assertEquals(0, publisher.getSuppressedCount());
+	}
+
+	private static PublishDiagnosticsParams createParams(String uri, String message) {
+		Diagnostic diagnostic = new Diagnostic(new Range(new Position(0, 0), new Position(0, 1)), message);
+		return new PublishDiagnosticsParams(uri, List.of(diagnostic));
+	}
+}
@@ -0,0 +1,77 @@
+/*******************************************************************************
+ * Copyright (c) 2024 Red Hat Inc. and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Red Hat Inc. - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.jdt.ls.core.internal;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.eclipse.jdt.ls.core.internal.DiagnosticsState.ErrorLevel;
+import org.junit.Test;
+
+public class DiagnosticsStateTest {
+
+	@Test
+	public void testErrorLevels() {
+		DiagnosticsState state = new DiagnosticsState();
+		assertEquals(ErrorLevel.SYNTAX_ERROR, state.getGlobalErrorLevel());
+		assertTrue(state.isOnlySyntaxReported("file:///A.java"));
+
+		state.setErrorLevel("file:///A.java", false);
+		assertFalse(state.isOnlySyntaxReported("file:///A.java"));
+		assertTrue(state.isOnlySyntaxReported("file:///B.java"));
+		assertEquals(Map.of("file:///A.java", ErrorLevel.COMPILATION_ERROR), state.getCustomizedErrorLevels());
+
+		state.setGlobalErrorLevel(false);
+		assertEquals(ErrorLevel.COMPILATION_ERROR, state.getGlobalErrorLevel());
+		assertFalse(state.isOnlySyntaxReported("file:///B.java"));
+		assertTrue(state.getCustomizedErrorLevels().isEmpty());
+	}
+
+	@Test
+	public void testConcurrentUpdates() throws Exception {
+		DiagnosticsState state = new DiagnosticsState();
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		try {
+			List<Future<?>> futures = new ArrayList<>();
+			for (int t = 0; t < 4; t++) {
+				final int thread = t;
+				futures.add(executor.submit(() -> {
+					for (int i = 0; i < 1000; i++) {
+						String uri = "file:///" + thread + "/" + i + ".java";
+						state.setErrorLevel(uri, i % 2 == 0);
+						state.isOnlySyntaxReported(uri);
+						state.getCustomizedErrorLevels();
+						if (i % 100 == 0) {
+							state.setGlobalErrorLevel(i % 200 == 0);
+						}
+					}
+				}));
+			}
+			for (Future<?> future : futures) {
+				// rethrows any exception raised by the workers
+				future.get();
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+}
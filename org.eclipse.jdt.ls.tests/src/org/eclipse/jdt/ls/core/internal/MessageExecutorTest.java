@@ -0,0 +1,103 @@
+/*******************************************************************************
+ * Copyright (c) 2024 Red Hat Inc. and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Red Hat Inc. - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.jdt.ls.core.internal;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Test;
+
+public class MessageExecutorTest {
+
+	private MessageExecutor executor;
+	private CountDownLatch release = new CountDownLatch(1);
+
+	@After
+	public void tearDown() {
+		release.countDown();
+		if (executor != null) {
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	public void testPriority() throws Exception {
+		executor = new MessageExecutor(2, 10, false);
+		blockThreads();
+		List<String> executed = Collections.synchronizedList(new ArrayList<>());
+		CountDownLatch done = new CountDownLatch(3);
+		executor.execute(() -> {
+			executed.add("request1");
+			done.countDown();
+		});
+		executor.execute(() -> {
+			executed.add("request2");
+			done.countDown();
+		});
+		executor.getHighPriorityExecutor().execute(() -> {
+			executed.add("notification");
+			done.countDown();
+		});
+		assertEquals(3, executor.getQueueDepth());
+		release.countDown();
+		assertTrue(done.await(10, TimeUnit.SECONDS));
+		assertEquals("notification", executed.get(0));
+		assertTrue(executed.indexOf("request1") < executed.indexOf("request2"));
+	}
+
+	@Test
+	public void testRejection() throws Exception {
+		executor = new MessageExecutor(2, 1, false);
+		blockThreads();
+		executor.execute(() -> {
+		});
+		try {
+			executor.execute(() -> {
+			});
+			fail("The request should have been rejected");
+		} catch (RejectedExecutionException e) {
+			// expected
+		}
+		// notifications are never rejected
+		executor.getHighPriorityExecutor().execute(() -> {
+		});
+		assertEquals(1, executor.getRejectedCount());
+		assertEquals(2, executor.getQueueDepth());
+		assertTrue(executor.getStatistics(), executor.getStatistics().startsWith("2 pending tasks, 1 requests rejected"));
+	}
+
+	private void blockThreads() throws InterruptedException {
+		CountDownLatch started = new CountDownLatch(executor.getMaximumPoolSize());
+		for (int i = 0; i < executor.getMaximumPoolSize(); i++) {
+			executor.execute(() -> {
+				started.countDown();
+				try {
+					release.await();
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+			});
+		}
+		assertTrue(started.await(10, TimeUnit.SECONDS));
+	}
+}
@@ -0,0 +1,76 @@
+/*******************************************************************************
+ * Copyright (c) 2024 Red Hat Inc. and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Red Hat Inc. - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.jdt.ls.core.internal;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.eclipse.lsp4j.CompletionItem;
+import org.eclipse.lsp4j.CompletionList;
+import org.eclipse.lsp4j.jsonrpc.MessageConsumer;
+import org.eclipse.lsp4j.jsonrpc.json.MessageJsonHandler;
+import org.eclipse.lsp4j.jsonrpc.json.StreamMessageConsumer;
+import org.eclipse.lsp4j.jsonrpc.messages.Message;
+import org.eclipse.lsp4j.jsonrpc.messages.NotificationMessage;
+import org.eclipse.lsp4j.jsonrpc.messages.ResponseMessage;
+import org.junit.Test;
+
+public class StreamingMessageConsumerTest {
+
+	private MessageJsonHandler jsonHandler = new MessageJsonHandler(Collections.emptyMap());
+
+	@Test
+	public void testSameOutputAsStreamMessageConsumer() throws Exception {
+		List<CompletionItem> items = new ArrayList<>();
+		for (int i = 0; i < 1000; i++) {
+			items.add(new CompletionItem("itemé" + i));
+		}
+		ResponseMessage response = new ResponseMessage();
+		response.setId("1");
+		response.setResult(new CompletionList(items));
+		NotificationMessage notification = new NotificationMessage();
+		notification.setMethod("window/logMessage");
+
+		ByteArrayOutputStream expected = new ByteArrayOutputStream();
+		StreamMessageConsumer streamConsumer = new StreamMessageConsumer(expected, jsonHandler);
+		ByteArrayOutputStream actual = new ByteArrayOutputStream();
+		StreamingMessageConsumer streamingConsumer = new StreamingMessageConsumer(actual, jsonHandler);
+		for (Message message : List.of(response, notification, response)) {
+			streamConsumer.consume(message);
+			streamingConsumer.consume(message);
+		}
+
+		assertEquals(expected.toString(StandardCharsets.UTF_8), actual.toString(StandardCharsets.UTF_8));
+		assertEquals(3, streamingConsumer.getMessageCount());
+		assertEquals(2 * jsonHandler.serialize(response).getBytes(StandardCharsets.UTF_8).length + jsonHandler.serialize(notification).getBytes(StandardCharsets.UTF_8).length,
+				streamingConsumer.getByteCount());
+		assertTrue(streamingConsumer.getStatistics(), streamingConsumer.getStatistics().startsWith("3 messages, " + streamingConsumer.getByteCount() + " bytes written"));
+	}
+
+	@Test
+	public void testReplaceOutgoing() {
+		StreamingMessageConsumer streamingConsumer = new StreamingMessageConsumer(new ByteArrayOutputStream(), jsonHandler);
+		assertSame(streamingConsumer, streamingConsumer.replaceOutgoing(new StreamMessageConsumer(new ByteArrayOutputStream(), jsonHandler)));
+		MessageConsumer incoming = message -> {
+		};
+		assertSame(incoming, streamingConsumer.replaceOutgoing(incoming));
+	}
+}
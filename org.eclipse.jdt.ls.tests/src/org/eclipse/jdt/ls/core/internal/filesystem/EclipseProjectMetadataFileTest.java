@@ -14,8 +14,10 @@
 package org.eclipse.jdt.ls.core.internal.filesystem;
 
 import static org.eclipse.jdt.ls.core.internal.WorkspaceHelper.getProject;
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 
 import java.io.File;
@@ -81,6 +83,19 @@ public class EclipseProjectMetadataFileTest extends AbstractProjectsManagerBased
 		assertTrue(project.getLocation().isPrefixOf(preferencesPath));
 	}
 
+	@Test
+	public void testProjectRootCache() throws Exception {
+		String name = "hello";
+		importProjects("eclipse/" + name);
+		IProject project = getProject(name);
+		IPath location = project.getLocation();
+		assertEquals(name, JLSFsUtils.getCachedProjectNameIfLocationIsProjectRoot(location));
+		assertNull(JLSFsUtils.getCachedProjectNameIfLocationIsProjectRoot(location.append("src")));
+
+		project.delete(false, true, null);
+		assertNull(JLSFsUtils.getCachedProjectNameIfLocationIsProjectRoot(location));
+	}
+
 	@Test
 	public void testDeleteClasspath() throws Exception {
 		String name = "classpath2";
@@ -18,6 +18,8 @@ import static org.junit.Assert.assertTrue;
 
 import org.eclipse.core.runtime.IPath;
 import org.eclipse.core.runtime.Path;
+import org.eclipse.core.runtime.preferences.IEclipsePreferences;
+import org.eclipse.core.runtime.preferences.InstanceScope;
 import org.junit.After;
 import org.junit.Test;
 
@@ -45,6 +47,34 @@ public class JLSFsUtilsTest {
 		assertTrue(JLSFsUtils.isExcluded(path));
 	}
 
+	@Test
+	public void testExcludedSegments() {
+		assertTrue(JLSFsUtils.isExcluded(new Path("/project/.git/objects")));
+		assertTrue(JLSFsUtils.isExcluded(new Path("/project/src/node_modules/lib")));
+		assertFalse(JLSFsUtils.isExcluded(new Path("/project/src/node_modules_lib")));
+		assertFalse(JLSFsUtils.isExcluded(new Path("/project/src/git")));
+		// cached segments
+		assertTrue(JLSFsUtils.isExcluded(new Path("/other/node_modules")));
+		assertFalse(JLSFsUtils.isExcluded(new Path("/other/src")));
+	}
+
+	@Test
+	public void testNoExclusionFilters() {
+		IEclipsePreferences preferences = InstanceScope.INSTANCE.getNode("org.eclipse.jdt.ls.core");
+		String resourceFilters = preferences.get("java.project.resourceFilters", null);
+		preferences.put("java.project.resourceFilters", "");
+		try {
+			assertFalse(JLSFsUtils.isExcluded(new Path("/project/node_modules")));
+			assertFalse(JLSFsUtils.isExcluded(new Path("/project/src/.git")));
+		} finally {
+			preferences.put("java.project.resourceFilters", resourceFilters == null ? "node_modules::\\.git" : resourceFilters);
+			if (resourceFilters == null) {
+				preferences.remove("java.project.resourceFilters");
+			}
+		}
+		assertTrue(JLSFsUtils.isExcluded(new Path("/project/node_modules")));
+	}
+
 	@After
 	public void cleanUp() throws Exception {
 		System.clearProperty(JLSFsUtils.GENERATES_METADATA_FILES_AT_PROJECT_ROOT);
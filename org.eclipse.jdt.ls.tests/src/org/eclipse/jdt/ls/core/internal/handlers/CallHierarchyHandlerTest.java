@@ -17,6 +17,7 @@ import static org.eclipse.lsp4j.SymbolKind.Constructor;
 import static org.eclipse.lsp4j.SymbolKind.Field;
 import static org.eclipse.lsp4j.SymbolKind.Method;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
@@ -25,7 +26,10 @@ import java.util.Arrays;
 import java.util.List;
 
 import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.jdt.core.IType;
+import org.eclipse.jdt.core.JavaCore;
 import org.eclipse.jdt.core.JavaModelException;
+import org.eclipse.jdt.ls.core.internal.CancellableProgressMonitor;
 import org.eclipse.jdt.ls.core.internal.ClassFileUtil;
 import org.eclipse.jdt.ls.core.internal.WorkspaceHelper;
 import org.eclipse.jdt.internal.core.manipulation.JavaElementLabelsCore;
@@ -102,6 +106,35 @@ public class CallHierarchyHandlerTest extends AbstractProjectsManagerBasedTest {
 		assertItem(calls.get(2).getFrom(), "method_1()" + JavaElementLabelsCore.DECL_STRING + "void", Method, "org.sample.CallHierarchy$Base", false, 35);
 	}
 
+	@Test
+	public void incomingCalls_cacheInvalidatedByNewCaller() throws Exception {
+		// Line 27 from `CallHierarchy`
+		//    public void <|>bar() {
+		String uri = getUriFromSrcProject("org.sample.CallHierarchy");
+		List<CallHierarchyItem> items = prepareCallHierarchy(uri, 26, 16);
+		assertNotNull(items);
+		assertEquals(1, items.size());
+
+		List<CallHierarchyIncomingCall> calls = getIncomingCalls(items.get(0));
+		assertNotNull(calls);
+		assertEquals(3, calls.size());
+
+		IType type = JavaCore.create(WorkspaceHelper.getProject("hello")).findType("org.sample.CallHierarchy");
+		type.getPackageFragment().createCompilationUnit("NewCaller.java", """
+				package org.sample;
+				public class NewCaller {
+				  void call() {
+				    new CallHierarchy.Base().bar();
+				  }
+				}
+				""", true, new NullProgressMonitor());
+
+		calls = getIncomingCalls(items.get(0));
+		assertNotNull(calls);
+		assertEquals(4, calls.size());
+		assertTrue(calls.stream().anyMatch(call -> "org.sample.NewCaller".equals(call.getFrom().getDetail())));
+	}
+
 	@Test
 	public void testSelectionRange() throws Exception {
 		// Line  from `org.sample.Foo`
@@ -146,6 +179,23 @@ public class CallHierarchyHandlerTest extends AbstractProjectsManagerBasedTest {
 		assertItem(call1Calls.get(2).getTo(), "currentThread()" + JavaElementLabelsCore.DECL_STRING + "Thread", Method, "java.lang.Thread", false, 0);
 	}
 
+	@Test
+	public void outgoingCalls_timedOut() throws Exception {
+		// the outgoing calls of `bar()`, called by `method_1()`
+		String uri = getUriFromSrcProject("org.sample.CallHierarchy");
+		List<CallHierarchyItem> items = prepareCallHierarchy(uri, 33, 19);
+		CallHierarchyItem bar = getOutgoings(items.get(0)).get(1).getTo();
+		CallHierarchyOutgoingCallsParams params = new CallHierarchyOutgoingCallsParams(bar);
+		ExpiringMonitor counter = new ExpiringMonitor(Integer.MAX_VALUE);
+		assertEquals(4, new CallHierarchyHandler().callHierarchyOutgoingCalls(params, counter).size());
+
+		// the budget runs out at the last check, before the last call is collected
+		List<CallHierarchyOutgoingCall> calls = new CallHierarchyHandler().callHierarchyOutgoingCalls(params, new ExpiringMonitor(counter.count));
+		assertNotNull(calls);
+		assertFalse(calls.toString(), calls.isEmpty());
+		assertTrue(calls.toString(), calls.size() < 4);
+	}
+
 	@Test
 	public void incomingCalls_maven() throws Exception {
 		// Line 12 from `CallHierarchyOther`
@@ -301,6 +351,31 @@ public class CallHierarchyHandlerTest extends AbstractProjectsManagerBasedTest {
 		return item;
 	}
 
+	/**
+	 * Monitor whose time budget runs out at the given check of its cancellation.
+	 */
+	private static final class ExpiringMonitor extends CancellableProgressMonitor {
+		private final int expireAt;
+		private int count = 0;
+
+		private ExpiringMonitor(int expireAt) {
+			super(null);
+			this.expireAt = expireAt;
+		}
+
+		@Override
+		public boolean isCanceled() {
+			if (++count == expireAt) {
+				setTimeBudget(1);
+				while (!super.isCanceled()) {
+					Thread.onSpinWait();
+				}
+				return true;
+			}
+			return super.isCanceled();
+		}
+	}
+
 	static List<CallHierarchyItem> prepareCallHierarchy(String uri, int line, int character) {
 		CallHierarchyPrepareParams params = createCallHierarchyPrepareParams(uri, line, character);
 		return new CallHierarchyHandler().prepareCallHierarchy(params, new NullProgressMonitor());
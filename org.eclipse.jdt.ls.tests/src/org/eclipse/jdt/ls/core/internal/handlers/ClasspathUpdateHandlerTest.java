@@ -15,6 +15,8 @@ package org.eclipse.jdt.ls.core.internal.handlers;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.reset;
 import static org.mockito.Mockito.times;
@@ -31,9 +33,13 @@ import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IProject;
 import org.eclipse.core.resources.ResourcesPlugin;
 import org.eclipse.core.runtime.CoreException;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.JavaCore;
+import org.eclipse.jdt.core.search.IJavaSearchScope;
 import org.eclipse.jdt.ls.core.internal.DependencyUtil;
 import org.eclipse.jdt.ls.core.internal.EventNotification;
 import org.eclipse.jdt.ls.core.internal.EventType;
+import org.eclipse.jdt.ls.core.internal.JDTUtils;
 import org.eclipse.jdt.ls.core.internal.JavaClientConnection;
 import org.eclipse.jdt.ls.core.internal.JobHelpers;
 import org.eclipse.jdt.ls.core.internal.ResourceUtils;
@@ -159,4 +165,20 @@ public class ClasspathUpdateHandlerTest extends AbstractInvisibleProjectBasedTes
 		assertEquals(Paths.get(projectFolder.getAbsolutePath()), Paths.get(getData(argument)));
 		// assertEquals(projectFolder.toURI(), URI.create((String) argument.getValue().getData()));
 	}
+
+	@Test
+	public void testSearchScopeInvalidatedOnClasspathUpdate() throws Exception {
+		importProjects("eclipse/updatejar");
+		IProject project = ResourcesPlugin.getWorkspace().getRoot().getProject("updatejar");
+		IJavaProject javaProject = JavaCore.create(project);
+		IJavaSearchScope scope = JDTUtils.createSearchScope(javaProject, preferenceManager);
+		assertSame(scope, JDTUtils.createSearchScope(javaProject, preferenceManager));
+
+		IFile classpath = project.getFile("/.classpath");
+		ResourceUtils.setContent(classpath, ResourceUtils.getContent(classpath).replaceAll("<classpathentry kind=\"lib\" path=\"lib/foo.jar\"/>", ""));
+		projectsManager.fileChanged(classpath.getLocationURI().toString(), CHANGE_TYPE.CHANGED);
+		waitForBackgroundJobs();
+
+		assertNotSame(scope, JDTUtils.createSearchScope(javaProject, preferenceManager));
+	}
 }
\ No newline at end of file
@@ -14,6 +14,7 @@ package org.eclipse.jdt.ls.core.internal.handlers;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.when;
 
@@ -701,6 +702,43 @@ public class CodeActionHandlerTest extends AbstractCompilationUnitBasedTest {
 		Assert.assertEquals(CodeActionHandlerTest.getCommand(quickAssistActions.get(6)).getTitle(), "Override/Implement Methods...");
 	}
 
+	@Test
+	public void testCodeAction_cache() throws Exception {
+		//@formatter:off
+		ICompilationUnit unit = getWorkingCopy(
+				"src/java/Foo.java",
+				"import java.sql.*; \n" +
+				"public class Foo {\n"+
+				"	void foo() {\n"+
+				"	}\n"+
+				"}\n");
+		//@formatter:on
+		CodeActionParams params = new CodeActionParams();
+		params.setTextDocument(new TextDocumentIdentifier(JDTUtils.toURI(unit)));
+		final Range range = CodeActionUtil.getRange(unit, "java.sql");
+		params.setRange(range);
+		params.setContext(new CodeActionContext(Arrays.asList(getDiagnostic(Integer.toString(IProblem.UnusedImport), range))));
+		CodeActionCache cache = new CodeActionCache();
+		try {
+			CodeActionHandler handler = new CodeActionHandler(preferenceManager, cache);
+			List<Either<Command, CodeAction>> codeActions = handler.getCodeActionCommands(params, new NullProgressMonitor());
+			CodeActionCache.Key key = cache.createKey(unit, params, Collections.emptyMap(), preferenceManager);
+			assertNotNull(key);
+			List<Either<Command, CodeAction>> cachedCodeActions = handler.getCodeActionCommands(params, new NullProgressMonitor());
+			assertEquals(getTitles(codeActions), getTitles(cachedCodeActions));
+			assertNotNull(cache.get(JDTUtils.toURI(unit), key));
+
+			unit.getBuffer().setContents(unit.getSource().replace("void foo()", "void bar()"));
+			assertNull(cache.get(JDTUtils.toURI(unit), cache.createKey(unit, params, Collections.emptyMap(), preferenceManager)));
+		} finally {
+			JavaCore.removeElementChangedListener(cache);
+		}
+	}
+
+	private static List<String> getTitles(List<Either<Command, CodeAction>> codeActions) {
+		return codeActions.stream().map(action -> action.isLeft() ? action.getLeft().getTitle() : action.getRight().getTitle()).collect(Collectors.toList());
+	}
+
 	private List<Either<Command, CodeAction>> getCodeActions(CodeActionParams params) {
 		return server.codeAction(params).join();
 	}
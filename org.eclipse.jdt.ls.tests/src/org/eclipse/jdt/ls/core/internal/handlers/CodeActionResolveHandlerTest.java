@@ -123,6 +123,45 @@ public class CodeActionResolveHandlerTest extends AbstractCompilationUnitBasedTe
 		Assert.assertEquals(buf.toString(), actual);
 	}
 
+	@Test
+	public void testResolveCodeAction_InlineConstant() throws Exception {
+		when(preferenceManager.getClientPreferences().isResolveCodeActionSupported()).thenReturn(true);
+
+		StringBuilder buf = new StringBuilder();
+		buf.append("public class Foo {\n");
+		buf.append("    private static final String BAR = \"bar\";\n");
+		buf.append("    void foo() {\n");
+		buf.append("        String s = BAR;\n");
+		buf.append("    }\n");
+		buf.append("}\n");
+		ICompilationUnit unit = defaultPackage.createCompilationUnit("Foo.java", buf.toString(), false, null);
+		CodeActionParams params = new CodeActionParams();
+		params.setTextDocument(new TextDocumentIdentifier(JDTUtils.toURI(unit)));
+		params.setRange(CodeActionUtil.getRange(unit, "BAR"));
+		params.setContext(new CodeActionContext(Collections.emptyList(), Collections.singletonList(CodeActionKind.RefactorInline)));
+
+		List<Either<Command, CodeAction>> codeActions = server.codeAction(params).join();
+		Optional<Either<Command, CodeAction>> inlineConstant = codeActions.stream().filter(codeAction -> {
+			return codeAction.isRight() && "Inline Constant".equals(codeAction.getRight().getTitle());
+		}).findFirst();
+		Assert.assertTrue("Should return the refactoring \"Inline Constant\"", inlineConstant.isPresent());
+		CodeAction unresolvedCodeAction = inlineConstant.get().getRight();
+		// the change, which searches the references, is only created on resolve
+		Assert.assertNull(unresolvedCodeAction.getEdit());
+		Assert.assertNotNull(unresolvedCodeAction.getData());
+
+		CodeAction resolvedCodeAction = server.resolveCodeAction(unresolvedCodeAction).join();
+		Assert.assertNotNull(resolvedCodeAction.getEdit());
+		String actual = AbstractQuickFixTest.evaluateWorkspaceEdit(resolvedCodeAction.getEdit());
+		buf = new StringBuilder();
+		buf.append("public class Foo {\n");
+		buf.append("    void foo() {\n");
+		buf.append("        String s = \"bar\";\n");
+		buf.append("    }\n");
+		buf.append("}\n");
+		Assert.assertEquals(buf.toString(), actual);
+	}
+
 	// See https://github.com/redhat-developer/vscode-java/issues/1992
 	@Test
 	public void testResolveCodeAction_AnnotationQuickFixes() throws Exception {
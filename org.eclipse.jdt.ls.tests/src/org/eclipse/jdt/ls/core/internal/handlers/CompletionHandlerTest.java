@@ -49,7 +49,6 @@ import org.eclipse.jdt.core.JavaModelException;
 import org.eclipse.jdt.core.manipulation.CoreASTProvider;
 import org.eclipse.jdt.ls.core.contentassist.CompletionRanking;
 import org.eclipse.jdt.ls.core.internal.JDTUtils;
-import org.eclipse.jdt.ls.core.internal.JSONUtility;
 import org.eclipse.jdt.ls.core.internal.JavaClientConnection;
 import org.eclipse.jdt.ls.core.internal.JavaLanguageServerPlugin;
 import org.eclipse.jdt.ls.core.internal.JsonMessageHelper;
@@ -94,6 +93,9 @@ import org.junit.runner.RunWith;
 import org.mockito.Mockito;
 import org.mockito.junit.MockitoJUnitRunner;
 
+import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+
 /**
  * @author Gorkem Ercan
  *
@@ -266,14 +268,44 @@ public class CompletionHandlerTest extends AbstractCompilationUnitBasedTest {
 			assertTrue(item.getLabel().startsWith(item.getInsertText()));
 			assertTrue(item.getFilterText().contains("Objec"));
 			//Check contains data used for completionItem resolution
-			@SuppressWarnings("unchecked")
-			Map<String,String> data = (Map<String, String>) item.getData();
+			CompletionResolveHandler.ItemData data = CompletionResolveHandler.parseData(item.getData());
 			assertNotNull(data);
-			assertTrue(isNotBlank(data.get(CompletionResolveHandler.DATA_FIELD_PROPOSAL_ID)));
-			assertTrue(isNotBlank(data.get(CompletionResolveHandler.DATA_FIELD_REQUEST_ID)));
+			assertNotNull(CompletionResponses.get(data.requestId()));
 		}
 	}
 
+	@Test
+	public void testCompletion_dataFormat() throws Exception {
+		ICompilationUnit unit = getWorkingCopy(
+			"src/java/Foo.java",
+			"public class Foo {\n"+
+				"	void foo() {\n"+
+				"		Objec\n"+
+				"	}\n"+
+				"}\n");
+		CompletionList list = requestCompletions(unit, "Objec");
+		assertNotNull(list);
+		assertFalse("No proposals were found",list.getItems().isEmpty());
+
+		CompletionItem item = list.getItems().get(0);
+		CompletionResolveHandler.ItemData data = CompletionResolveHandler.parseData(item.getData());
+		assertNotNull(data);
+		assertEquals(0, data.proposalId());
+		// the ids are sent as an array rather than a map
+		JsonElement json = new Gson().toJsonTree(item.getData());
+		assertEquals("[" + data.requestId() + ",0]", json.toString());
+		assertEquals(data, CompletionResolveHandler.parseData(json));
+		assertNull(CompletionResolveHandler.parseData(new Gson().toJsonTree("0")));
+
+		// the map of the previous versions is still resolved
+		Map<String, String> legacyData = Map.of(CompletionResolveHandler.DATA_FIELD_REQUEST_ID, String.valueOf(data.requestId()), CompletionResolveHandler.DATA_FIELD_PROPOSAL_ID, "0");
+		assertEquals(data, CompletionResolveHandler.parseData(new Gson().toJsonTree(legacyData)));
+		item.setData(legacyData);
+		CompletionItem resolved = server.resolveCompletionItem(item).join();
+		assertNotNull(resolved);
+		assertNull(resolved.getData());
+	}
+
 	@Test
 	public void testCompletion_dataFieldURI() throws Exception {
 		ICompilationUnit unit = getWorkingCopy(
@@ -287,8 +319,7 @@ public class CompletionHandlerTest extends AbstractCompilationUnitBasedTest {
 		assertNotNull(list);
 		assertFalse("No proposals were found",list.getItems().isEmpty());
 
-		Map<String,String> data = (Map<String, String>) list.getItems().get(0).getData();
-		long requestId = Long.parseLong(data.get(CompletionResolveHandler.DATA_FIELD_REQUEST_ID));
+		long requestId = CompletionResolveHandler.parseData(list.getItems().get(0).getData()).requestId();
 		CompletionResponse completionResponse = CompletionResponses.get(requestId);
 		assertNotNull(completionResponse);
 		String uri = completionResponse.getCommonData(CompletionResolveHandler.DATA_FIELD_URI);
@@ -309,8 +340,7 @@ public class CompletionHandlerTest extends AbstractCompilationUnitBasedTest {
 		assertNotNull(list);
 		assertFalse("No proposals were found",list.getItems().isEmpty());
 
-		Map<String,String> data = (Map<String, String>) list.getItems().get(0).getData();
-		long requestId = Long.parseLong(data.get(CompletionResolveHandler.DATA_FIELD_REQUEST_ID));
+		long requestId = CompletionResolveHandler.parseData(list.getItems().get(0).getData()).requestId();
 		CompletionResponse completionResponse = CompletionResponses.get(requestId);
 		assertNotNull(completionResponse);
 		String time = completionResponse.getCommonData(CompletionRanking.COMPLETION_EXECUTION_TIME);
@@ -3769,8 +3799,7 @@ public class CompletionHandlerTest extends AbstractCompilationUnitBasedTest {
 
 		CompletionList list = requestCompletions(unit, "sysout");
 		CompletionItem completionItem = list.getItems().get(0);
-		Map<String, String> data = JSONUtility.toModel(completionItem.getData(), Map.class);
-		long requestId = Long.parseLong(data.get("rid"));
+		long requestId = CompletionResolveHandler.parseData(completionItem.getData()).requestId();
 		assertNotNull(CompletionResponses.get(requestId));
 	}
 
@@ -314,6 +314,49 @@ public class DocumentLifeCycleHandlerTest extends AbstractProjectsManagerBasedTe
 		assertNewASTsCreated(0);
 	}
 
+	@Test
+	public void testShareReconcileAST() throws Exception {
+		IJavaProject javaProject = newEmptyProject();
+		IPackageFragmentRoot sourceFolder = javaProject.getPackageFragmentRoot(javaProject.getProject().getFolder("src"));
+		IPackageFragment pack1 = sourceFolder.createPackageFragment("test1", false, null);
+
+		StringBuilder buf = new StringBuilder();
+		buf.append("package test1;\n");
+		buf.append("public class E123 {\n");
+		buf.append("}\n");
+		ICompilationUnit cu1 = pack1.createCompilationUnit("E123.java", buf.toString(), false, null);
+
+		System.setProperty(BaseDocumentLifeCycleHandler.JAVA_LSP_SHARE_RECONCILE_AST, "true");
+		try {
+			openDocument(cu1, cu1.getSource(), 1);
+
+			assertNewProblemReported(new ExpectedProblemReport(cu1, 0));
+			assertEquals(1, getCacheSize());
+			CompilationUnit astRoot = sharedASTProvider.getCachedAST();
+			assertEquals(cu1, astRoot.getJavaElement());
+			assertEquals(cu1.getSource().length(), astRoot.getLength());
+
+			buf = new StringBuilder();
+			buf.append("package test1;\n");
+			buf.append("public class E123 {\n");
+			buf.append("  X x;\n");
+			buf.append("}\n");
+
+			changeDocumentFull(cu1, buf.toString(), 2);
+
+			assertNewProblemReported(new ExpectedProblemReport(cu1, 1));
+			assertEquals(1, getCacheSize());
+			// the request following the edit gets the AST of the reconcile
+			CompilationUnit newAstRoot = sharedASTProvider.getAST(cu1, CoreASTProvider.WAIT_YES, null);
+			assertTrue(newAstRoot == sharedASTProvider.getCachedAST());
+			assertEquals(buf.length(), newAstRoot.getLength());
+			assertEquals(1, newAstRoot.getProblems().length);
+		} finally {
+			System.clearProperty(BaseDocumentLifeCycleHandler.JAVA_LSP_SHARE_RECONCILE_AST);
+			closeDocument(cu1);
+		}
+	}
+
 	@Test
 	public void testReconcile() throws Exception {
 		IJavaProject javaProject = newEmptyProject();
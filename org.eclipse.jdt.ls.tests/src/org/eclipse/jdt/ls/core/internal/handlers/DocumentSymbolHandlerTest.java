@@ -36,8 +36,11 @@ import org.eclipse.core.resources.IProject;
 import org.eclipse.core.resources.ResourcesPlugin;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.JavaCore;
 import org.eclipse.jdt.core.JavaModelException;
 import org.eclipse.jdt.ls.core.internal.ClassFileUtil;
+import org.eclipse.jdt.ls.core.internal.JDTUtils;
 import org.eclipse.jdt.ls.core.internal.WorkspaceHelper;
 import org.eclipse.jdt.ls.core.internal.managers.AbstractProjectsManagerBasedTest;
 import org.eclipse.lsp4j.DocumentSymbol;
@@ -254,6 +257,38 @@ public class DocumentSymbolHandlerTest extends AbstractProjectsManagerBasedTest
 		assertHasHierarchicalSymbol("Foo(int)", "Foo", SymbolKind.Constructor, symbols);
 	}
 
+	@Test
+	public void testHierarchicalSymbolsCache() throws Exception {
+		when(preferenceManager.getClientPreferences().isHierarchicalDocumentSymbolSupported()).thenReturn(true);
+		ICompilationUnit unit = JavaCore.createCompilationUnitFrom(project.getFile("src/main/java/org/sample/Bar.java"));
+		unit.becomeWorkingCopy(monitor);
+		try {
+			DocumentSymbolParams params = new DocumentSymbolParams(new TextDocumentIdentifier(JDTUtils.toURI(unit)));
+			DocumentSymbolHandler handler = new DocumentSymbolHandler(preferenceManager, new DocumentSymbolCache());
+			List<DocumentSymbol> symbols = getDocumentSymbols(handler, params);
+			assertSame(symbols.get(0), getDocumentSymbols(handler, params).get(0));
+
+			// change inside a method body
+			unit.getBuffer().replace(unit.getSource().indexOf("System.out"), 0, "int i = 0;\n");
+			unit.reconcile(ICompilationUnit.NO_AST, false, null, monitor);
+			List<DocumentSymbol> shiftedSymbols = getDocumentSymbols(handler, params);
+			assertEquals(getDocumentSymbols(new DocumentSymbolHandler(preferenceManager), params), shiftedSymbols);
+			// the package declaration precedes the change
+			assertSame(symbols.get(0), shiftedSymbols.get(0));
+
+			// change of a method signature
+			unit.getBuffer().replace(unit.getSource().indexOf("main("), "main".length(), "run");
+			unit.reconcile(ICompilationUnit.NO_AST, false, null, monitor);
+			assertEquals(getDocumentSymbols(new DocumentSymbolHandler(preferenceManager), params), getDocumentSymbols(handler, params));
+		} finally {
+			unit.discardWorkingCopy();
+		}
+	}
+
+	private static List<DocumentSymbol> getDocumentSymbols(DocumentSymbolHandler handler, DocumentSymbolParams params) {
+		return handler.documentSymbol(params, new NullProgressMonitor()).stream().map(Either::getRight).collect(toList());
+	}
+
 	private List<? extends DocumentSymbol> internalGetHierarchicalSymbols(IProject project, IProgressMonitor monitor, String className)
 			throws JavaModelException, UnsupportedEncodingException, InterruptedException, ExecutionException {
 		String uri = ClassFileUtil.getURI(project, className);
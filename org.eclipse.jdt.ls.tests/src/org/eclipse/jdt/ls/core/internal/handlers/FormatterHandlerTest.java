@@ -14,6 +14,8 @@ package org.eclipse.jdt.ls.core.internal.handlers;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
 import java.io.File;
@@ -28,12 +30,14 @@ import org.eclipse.core.runtime.URIUtil;
 import org.eclipse.jdt.core.ICompilationUnit;
 import org.eclipse.jdt.core.IJavaProject;
 import org.eclipse.jdt.core.JavaCore;
+import org.eclipse.jdt.core.formatter.CodeFormatter;
 import org.eclipse.jdt.core.formatter.DefaultCodeFormatterConstants;
 import org.eclipse.jdt.internal.ui.preferences.formatter.ProfileVersionerCore;
 import org.eclipse.jdt.ls.core.internal.JDTUtils;
 import org.eclipse.jdt.ls.core.internal.JavaLanguageServerTestPlugin;
 import org.eclipse.jdt.ls.core.internal.ResourceUtils;
 import org.eclipse.jdt.ls.core.internal.TextEditUtil;
+import org.eclipse.jdt.ls.core.internal.managers.FormatterManager;
 import org.eclipse.jdt.ls.core.internal.managers.StandardProjectsManager;
 import org.eclipse.lsp4j.DocumentFormattingParams;
 import org.eclipse.lsp4j.DocumentOnTypeFormattingParams;
@@ -752,6 +756,58 @@ public class FormatterHandlerTest extends AbstractCompilationUnitBasedTest {
 		assertEquals(expectedText, newText);
 	}
 
+	@Test
+	public void testIncrementalFormattingOnType() throws Exception {
+		ICompilationUnit unit = getWorkingCopy("src/org/sample/Baz.java",
+		//@formatter:off
+			  "package org.sample;\n"
+			+ "\n"
+			+ "    public      class     Baz {  \n"
+			+ "    public void foo() {\n"
+			+ "        int    a   =   1;\n"//typed ; here
+			+ "    }\n"
+			+ "}\n"
+		//@formatter:on
+		);
+
+		String uri = JDTUtils.toURI(unit);
+		TextDocumentIdentifier textDocument = new TextDocumentIdentifier(uri);
+		FormattingOptions options = new FormattingOptions(4, true);// ident == 4 spaces
+
+		DocumentOnTypeFormattingParams params = new DocumentOnTypeFormattingParams(textDocument, options, new Position(4, 25), ";");
+
+		preferences.setJavaFormatOnTypeEnabled(true);
+		preferences.setJavaFormatOnTypeIncremental(true);
+		List<? extends TextEdit> edits = server.onTypeFormatting(params).get();
+		assertNotNull(edits);
+
+		//@formatter:off
+		String expectedText =
+			  "package org.sample;\n"
+			+ "\n"
+			+ "    public      class     Baz {  \n"
+			+ "    public void foo() {\n"
+			+ "        int a = 1;\n"
+			+ "    }\n"
+			+ "}\n";
+		//@formatter:on
+
+		String newText = TextEditUtil.apply(unit, edits);
+		assertEquals(expectedText, newText);
+	}
+
+	@Test
+	public void testCodeFormatterCache() throws Exception {
+		Map<String, String> options = javaProject.getOptions(true);
+		CodeFormatter formatter = FormatterManager.getCodeFormatter(javaProject, options);
+		assertSame(formatter, FormatterManager.getCodeFormatter(javaProject, new HashMap<>(options)));
+		Map<String, String> otherOptions = new HashMap<>(options);
+		otherOptions.put(DefaultCodeFormatterConstants.FORMATTER_TAB_SIZE, "7");
+		assertNotSame(formatter, FormatterManager.getCodeFormatter(javaProject, otherOptions));
+		FormatterManager.clearCodeFormatterCache();
+		assertNotSame(formatter, FormatterManager.getCodeFormatter(javaProject, options));
+	}
+
 	@Test
 	public void testDisableFormattingOnType() throws Exception {
 		//@formatter:off
@@ -1011,6 +1067,7 @@ public class FormatterHandlerTest extends AbstractCompilationUnitBasedTest {
 	public void tearDown() {
 		javaProject.setOption(DefaultCodeFormatterConstants.FORMATTER_TAB_CHAR, originalTabChar);
 		preferences.setJavaFormatOnTypeEnabled(false);
+		preferences.setJavaFormatOnTypeIncremental(false);
 	}
 
 
@@ -19,20 +19,27 @@ import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
 import java.net.URI;
+import java.util.ArrayList;
 import java.util.List;
 
 import org.eclipse.core.resources.IProject;
 import org.eclipse.jdt.ls.core.internal.JDTUtils;
+import org.eclipse.jdt.ls.core.internal.JavaClientConnection;
+import org.eclipse.jdt.ls.core.internal.JavaLanguageServerPlugin;
 import org.eclipse.jdt.ls.core.internal.ResourceUtils;
 import org.eclipse.jdt.ls.core.internal.WorkspaceHelper;
 import org.eclipse.jdt.ls.core.internal.managers.AbstractProjectsManagerBasedTest;
 import org.eclipse.jdt.ls.core.internal.preferences.PreferenceManager;
 import org.eclipse.jdt.ls.core.internal.preferences.Preferences;
+import org.eclipse.lsp4j.ImplementationParams;
 import org.eclipse.lsp4j.Location;
+import org.eclipse.lsp4j.MessageParams;
 import org.eclipse.lsp4j.Position;
+import org.eclipse.lsp4j.ProgressParams;
 import org.eclipse.lsp4j.Range;
 import org.eclipse.lsp4j.TextDocumentIdentifier;
 import org.eclipse.lsp4j.TextDocumentPositionParams;
+import org.eclipse.lsp4j.jsonrpc.messages.Either;
 import org.junit.Before;
 import org.junit.Test;
 
@@ -81,6 +88,62 @@ public class ImplementationsHandlerTest extends AbstractProjectsManagerBasedTest
 		assertEquals(JDTUtils.newLineRange(5, 13, 17), foo3.getRange());
 	}
 
+	@Test
+	public void testInterfaceImplementation_maxResults() {
+		Preferences preferences = new Preferences();
+		preferences.setMaxImplementationResults(1);
+		when(preferenceManager.getPreferences()).thenReturn(preferences);
+		URI uri = project.getFile("src/org/sample/IFoo.java").getRawLocationURI();
+		String fileURI = ResourceUtils.fixURI(uri);
+		TextDocumentPositionParams param = new TextDocumentPositionParams();
+		param.setPosition(new Position(2, 20)); //Position over IFoo
+		param.setTextDocument(new TextDocumentIdentifier(fileURI));
+		JDTLanguageServer server = mock(JDTLanguageServer.class);
+		when(server.getClientConnection()).thenReturn(new JavaClientConnection(client));
+		JavaLanguageServerPlugin.getInstance().setProtocol(server);
+		try {
+			List<? extends Location> implementations = handler.findImplementations(param, monitor);
+			assertNotNull("findImplementations should not return null", implementations);
+			assertEquals(implementations.toString(), 1, implementations.size());
+			// the omitted implementation is counted
+			List<Object> messages = clientRequests.get("showMessage");
+			assertNotNull(messages);
+			assertEquals("1 more implementations of 'IFoo' are not shown.", ((MessageParams) messages.get(0)).getMessage());
+		} finally {
+			JavaLanguageServerPlugin.getInstance().setProtocol(null);
+		}
+	}
+
+	@Test
+	public void testInterfaceImplementation_partialResults() {
+		JDTLanguageServer server = mock(JDTLanguageServer.class);
+		when(server.getClientConnection()).thenReturn(new JavaClientConnection(client));
+		JavaLanguageServerPlugin.getInstance().setProtocol(server);
+		try {
+			URI uri = project.getFile("src/org/sample/IFoo.java").getRawLocationURI();
+			String fileURI = ResourceUtils.fixURI(uri);
+			ImplementationParams param = new ImplementationParams(new TextDocumentIdentifier(fileURI), new Position(2, 20)); //Position over IFoo
+			param.setPartialResultToken(Either.forLeft("token"));
+			List<? extends Location> implementations = handler.findImplementations(param, monitor);
+			// the implementations are all reported as partial results
+			assertNotNull("findImplementations should not return null", implementations);
+			assertTrue(implementations.toString(), implementations.isEmpty());
+			List<Location> reported = new ArrayList<>();
+			for (Object notification : clientRequests.get("notifyProgress")) {
+				ProgressParams progress = (ProgressParams) notification;
+				assertEquals(Either.forLeft("token"), progress.getToken());
+				for (Object location : (List<?>) progress.getValue().getRight()) {
+					reported.add((Location) location);
+				}
+			}
+			assertEquals(reported.toString(), 2, reported.size());
+			assertTrue(reported.toString(), reported.stream().anyMatch(i -> i.getUri().contains("org/sample/Foo2.java")));
+			assertTrue(reported.toString(), reported.stream().anyMatch(i -> i.getUri().contains("org/sample/Foo3.java")));
+		} finally {
+			JavaLanguageServerPlugin.getInstance().setProtocol(null);
+		}
+	}
+
 	@Test
 	public void testClassImplementation() {
 		URI uri = project.getFile("src/org/sample/Foo2.java").getRawLocationURI();
@@ -14,6 +14,7 @@
 package org.eclipse.jdt.ls.core.internal.handlers;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
 import java.util.List;
@@ -507,4 +508,44 @@ public class InlayHintHandlerTest extends AbstractCompilationUnitBasedTest {
 		assertEquals(5, inlayHints.get(0).getPosition().getLine());
 		assertEquals(16, inlayHints.get(0).getPosition().getCharacter());
 	}
+
+	@Test
+	public void testCache() throws JavaModelException {
+		preferences.setInlayHintsParameterMode(InlayHintsParameterMode.LITERALS);
+		ICompilationUnit unit = getWorkingCopy(
+			"src/Foo.java",
+			"public class Foo {\n" +
+			"	void foo(int i) {}\n" +
+			"	void bar() {\n" +
+			"		foo(123);\n" +
+			"	}\n" +
+			"	void baz() {\n" +
+			"		foo(456);\n" +
+			"	}\n" +
+			"}\n"
+		);
+		InlayHintsCache cache = new InlayHintsCache();
+		try {
+			InlayHintsHandler handler = new InlayHintsHandler(preferenceManager, cache);
+			InlayHintParams params = new InlayHintParams();
+			params.setTextDocument(new TextDocumentIdentifier(unit.getResource().getLocationURI().toString()));
+			params.setRange(new Range(new Position(3, 0), new Position(4, 0)));
+			List<InlayHint> inlayHints = handler.inlayHint(params, new NullProgressMonitor());
+			assertEquals(1, inlayHints.size());
+			assertEquals(3, inlayHints.get(0).getPosition().getLine());
+			assertSame(inlayHints.get(0), handler.inlayHint(params, new NullProgressMonitor()).get(0));
+
+			params.setRange(new Range(new Position(0, 0), new Position(9, 0)));
+			inlayHints = handler.inlayHint(params, new NullProgressMonitor());
+			assertEquals(2, inlayHints.size());
+			assertEquals(6, inlayHints.get(1).getPosition().getLine());
+
+			unit.getBuffer().setContents(unit.getSource().replace("foo(456)", "foo(4, 5)"));
+			unit.makeConsistent(new NullProgressMonitor());
+			inlayHints = handler.inlayHint(params, new NullProgressMonitor());
+			assertEquals(1, inlayHints.size());
+		} finally {
+			JavaCore.removeElementChangedListener(cache);
+		}
+	}
 }
@@ -0,0 +1,119 @@
+/*******************************************************************************
+ * Copyright (c) 2024 Red Hat Inc. and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Red Hat Inc. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ls.core.internal.handlers;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Set;
+
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.IPackageFragment;
+import org.eclipse.jdt.core.IPackageFragmentRoot;
+import org.eclipse.jdt.core.JavaCore;
+import org.eclipse.jdt.core.JavaModelException;
+import org.eclipse.jdt.core.dom.CompilationUnit;
+import org.eclipse.jdt.internal.corext.dom.IASTSharedValues;
+import org.eclipse.jdt.ls.core.internal.managers.AbstractProjectsManagerBasedTest;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class OpenUnitDependenciesTest extends AbstractProjectsManagerBasedTest {
+
+	private ICompilationUnit a;
+	private ICompilationUnit b;
+	private ICompilationUnit c;
+
+	@Before
+	public void setup() throws Exception {
+		IJavaProject javaProject = newEmptyProject();
+		IPackageFragmentRoot sourceFolder = javaProject.getPackageFragmentRoot(javaProject.getProject().getFolder("src"));
+		IPackageFragment pack = sourceFolder.createPackageFragment("test1", false, null);
+		a = pack.createCompilationUnit("A.java", "package test1;\npublic class A {\n	public void foo() {\n	}\n}\n", false, null);
+		b = pack.createCompilationUnit("B.java", "package test1;\npublic class B {\n	void bar() {\n		new A().foo();\n	}\n}\n", false, null);
+		c = pack.createCompilationUnit("C.java", "package test1;\npublic class C {\n}\n", false, null);
+		a.becomeWorkingCopy(null);
+		b.becomeWorkingCopy(null);
+		c.becomeWorkingCopy(null);
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		for (ICompilationUnit cu : JavaCore.getWorkingCopies(null)) {
+			cu.discardWorkingCopy();
+		}
+	}
+
+	@Test
+	public void testReferencedTypes() throws Exception {
+		Set<String> referencedTypes = OpenUnitDependencies.getReferencedTypes(reconcile(b));
+		assertTrue(referencedTypes.toString(), referencedTypes.contains("test1.A"));
+		assertTrue(referencedTypes.toString(), referencedTypes.contains("test1.B"));
+		// binary types aren't tracked
+		assertFalse(referencedTypes.toString(), referencedTypes.contains("java.lang.Object"));
+	}
+
+	@Test
+	public void testUpdate() throws Exception {
+		OpenUnitDependencies dependencies = new OpenUnitDependencies();
+		// the units seen for the first time revalidate the others
+		assertEquals(Set.of(b, c), dependencies.update(a, reconcile(a)));
+		assertEquals(Set.of(a, c), dependencies.update(b, reconcile(b)));
+		assertEquals(Set.of(a, b), dependencies.update(c, reconcile(c)));
+
+		// a change of a method body doesn't change the shape of A
+		a.getBuffer().setContents("package test1;\npublic class A {\n	public void foo() {\n		System.out.println();\n	}\n}\n");
+		assertEquals(Set.of(), dependencies.update(a, reconcile(a)));
+
+		// a change of a method signature only revalidates B
+		a.getBuffer().setContents("package test1;\npublic class A {\n	public void foo(int i) {\n	}\n}\n");
+		assertEquals(Set.of(b), dependencies.update(a, reconcile(a)));
+
+		// an added type revalidates all the units
+		a.getBuffer().setContents("package test1;\npublic class A {\n	public void foo(int i) {\n	}\n}\nclass D {\n}\n");
+		assertEquals(Set.of(b, c), dependencies.update(a, reconcile(a)));
+
+		// a unit forgotten once closed is revalidated
+		dependencies.remove(b);
+		a.getBuffer().setContents("package test1;\npublic class A {\n	public void foo() {\n	}\n}\nclass D {\n}\n");
+		assertEquals(Set.of(b), dependencies.update(a, reconcile(a)));
+	}
+
+	@Test
+	public void testShapeAnnotations() throws Exception {
+		int shape = OpenUnitDependencies.getShapes(reconcile(a)).get("test1.A");
+
+		a.getBuffer().setContents("package test1;\npublic class A {\n	@Deprecated\n	public void foo() {\n	}\n}\n");
+		int methodAnnotated = OpenUnitDependencies.getShapes(reconcile(a)).get("test1.A");
+		assertNotEquals(shape, methodAnnotated);
+
+		a.getBuffer().setContents("package test1;\npublic class A {\n	public void foo(@Deprecated int i) {\n	}\n}\n");
+		int parameterAnnotated = OpenUnitDependencies.getShapes(reconcile(a)).get("test1.A");
+		a.getBuffer().setContents("package test1;\npublic class A {\n	public void foo(int i) {\n	}\n}\n");
+		assertNotEquals(parameterAnnotated, (int) OpenUnitDependencies.getShapes(reconcile(a)).get("test1.A"));
+
+		a.getBuffer().setContents("package test1;\npublic class A {\n	@Deprecated\n	public int bar;\n}\n");
+		int fieldAnnotated = OpenUnitDependencies.getShapes(reconcile(a)).get("test1.A");
+		a.getBuffer().setContents("package test1;\npublic class A {\n	public int bar;\n}\n");
+		assertNotEquals(fieldAnnotated, (int) OpenUnitDependencies.getShapes(reconcile(a)).get("test1.A"));
+	}
+
+	private static CompilationUnit reconcile(ICompilationUnit unit) throws JavaModelException {
+		int flags = ICompilationUnit.FORCE_PROBLEM_DETECTION | ICompilationUnit.ENABLE_BINDINGS_RECOVERY | ICompilationUnit.ENABLE_STATEMENTS_RECOVERY;
+		return unit.reconcile(IASTSharedValues.SHARED_AST_LEVEL, flags, null, null);
+	}
+}
@@ -13,6 +13,7 @@
 package org.eclipse.jdt.ls.core.internal.handlers;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -84,6 +85,35 @@ public class ProgressReporterManagerTest {
 		monitor.done();
 	}
 
+	@Test
+	public void testProgressAggregation() throws InterruptedException {
+		manager.setReportThrottle(0);
+		manager.setMaxVisibleProgress(1);
+		IProgressMonitor monitor1 = manager.getDefaultMonitor();
+		IProgressMonitor monitor2 = manager.getDefaultMonitor();
+		monitor1.beginTask("Task 1", 10);
+		monitor2.beginTask("Task 2", 10);
+		monitor2.worked(5);
+		monitor2.done();
+		monitor1.done();
+
+		ArgumentCaptor<ProgressReport> captor = ArgumentCaptor.forClass(ProgressReport.class);
+		verify(client, times(4)).sendProgressReport(captor.capture());
+
+		List<ProgressReport> reports = captor.getAllValues();
+		assertEquals("Task 1", reports.get(0).getTask());
+		assertEquals("Background tasks", reports.get(1).getTask());
+		assertEquals("1 more task in progress", reports.get(1).getStatus());
+		assertFalse(reports.get(1).isComplete());
+		assertEquals("Background tasks", reports.get(2).getTask());
+		assertTrue(reports.get(2).isComplete());
+		assertEquals("Task 1", reports.get(3).getTask());
+		assertTrue(reports.get(3).isComplete());
+
+		assertEquals(4, manager.getEmittedProgressCount());
+		assertEquals(2, manager.getDroppedProgressCount());
+	}
+
 	@Test
 	public void testJobReporting() throws InterruptedException {
 		manager.setReportThrottle(275);
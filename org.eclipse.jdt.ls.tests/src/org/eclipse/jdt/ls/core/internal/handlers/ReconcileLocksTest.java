@@ -0,0 +1,95 @@
+/*******************************************************************************
+ * Copyright (c) 2024 Red Hat Inc. and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Red Hat Inc. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ls.core.internal.handlers;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.JavaCore;
+import org.eclipse.jdt.ls.core.internal.WorkspaceHelper;
+import org.eclipse.jdt.ls.core.internal.managers.AbstractProjectsManagerBasedTest;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ReconcileLocksTest extends AbstractProjectsManagerBasedTest {
+
+	private ICompilationUnit hello;
+	private ICompilationUnit hello2;
+	private ICompilationUnit salut;
+
+	@Before
+	public void setup() throws Exception {
+		importProjects(Arrays.asList("eclipse/hello", "maven/salut"));
+		hello = (ICompilationUnit) JavaCore.create(WorkspaceHelper.getProject("hello").getFile("src/org/sample/Foo.java"));
+		hello2 = (ICompilationUnit) JavaCore.create(WorkspaceHelper.getProject("hello").getFile("src/org/sample/Baz.java"));
+		salut = (ICompilationUnit) JavaCore.create(WorkspaceHelper.getProject("salut").getFile("src/main/java/org/sample/Bar.java"));
+	}
+
+	@Test
+	public void testProjectNames() {
+		assertEquals("[hello]", ReconcileLocks.getProjectNames(hello).toString());
+	}
+
+	@Test
+	public void testIndependentProjects() throws Exception {
+		ReconcileLocks locks = new ReconcileLocks();
+		CountDownLatch locked = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		Thread thread = new Thread(() -> {
+			try {
+				locks.run(hello, () -> {
+					locked.countDown();
+					try {
+						release.await(10, TimeUnit.SECONDS);
+					} catch (InterruptedException e) {
+						Thread.currentThread().interrupt();
+					}
+				});
+			} catch (Exception e) {
+				// ignore
+			}
+		});
+		thread.start();
+		try {
+			assertTrue(locked.await(10, TimeUnit.SECONDS));
+			// a unit of another project doesn't wait
+			boolean[] reconciled = new boolean[1];
+			locks.run(salut, () -> reconciled[0] = true);
+			assertTrue(reconciled[0]);
+
+			// a unit of the same project waits
+			CountDownLatch sameProject = new CountDownLatch(1);
+			Thread other = new Thread(() -> {
+				try {
+					locks.run(hello2, sameProject::countDown);
+				} catch (Exception e) {
+					// ignore
+				}
+			});
+			other.start();
+			assertFalse(sameProject.await(200, TimeUnit.MILLISECONDS));
+			release.countDown();
+			assertTrue(sameProject.await(10, TimeUnit.SECONDS));
+			other.join();
+		} finally {
+			release.countDown();
+			thread.join();
+		}
+	}
+}
@@ -12,12 +12,14 @@
  *******************************************************************************/
 package org.eclipse.jdt.ls.core.internal.handlers;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.mock;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Hashtable;
 import java.util.List;
@@ -35,9 +37,12 @@ import org.eclipse.jdt.ls.core.internal.WorkspaceHelper;
 import org.eclipse.jdt.ls.core.internal.correction.TestOptions;
 import org.eclipse.jdt.ls.core.internal.handlers.BaseDocumentLifeCycleHandler.DocumentMonitor;
 import org.eclipse.jdt.ls.core.internal.managers.AbstractProjectsManagerBasedTest;
+import org.eclipse.lsp4j.Position;
+import org.eclipse.lsp4j.Range;
 import org.eclipse.lsp4j.SemanticTokens;
 import org.eclipse.lsp4j.SemanticTokensLegend;
 import org.eclipse.lsp4j.SemanticTokensParams;
+import org.eclipse.lsp4j.SemanticTokensRangeParams;
 import org.eclipse.lsp4j.TextDocumentIdentifier;
 import org.junit.Before;
 import org.junit.Test;
@@ -481,6 +486,41 @@ public class SemanticTokensHandlerTest extends AbstractProjectsManagerBasedTest
 		.endAssertion();
 	}
 
+	@Test
+	public void testSemanticTokens_Range() throws JavaModelException {
+		String uri = getURI("Methods.java");
+		SemanticTokens full = SemanticTokensHandler.full(new NullProgressMonitor(), new SemanticTokensParams(new TextDocumentIdentifier(uri)), mock(DocumentMonitor.class));
+		Range range = new Range(new Position(12, 0), new Position(16, 0));
+		SemanticTokens tokens = SemanticTokensHandler.range(new NullProgressMonitor(), new SemanticTokensRangeParams(new TextDocumentIdentifier(uri), range), mock(DocumentMonitor.class));
+
+		List<int[]> expected = decode(full.getData()).stream().filter(token -> token[0] >= 12 && token[0] < 16).toList();
+		List<int[]> actual = decode(tokens.getData());
+		assertFalse(expected.isEmpty());
+		assertEquals(expected.size(), actual.size());
+		for (int i = 0; i < expected.size(); i++) {
+			assertArrayEquals(expected.get(i), actual.get(i));
+		}
+	}
+
+	/**
+	 * Decodes the semantic tokens data into the absolute line, column, length,
+	 * type and modifiers of each token.
+	 */
+	private static List<int[]> decode(List<Integer> data) {
+		List<int[]> tokens = new ArrayList<>();
+		int line = 0;
+		int column = 0;
+		for (int i = 0; i < data.size(); i += 5) {
+			if (data.get(i) != 0) {
+				line += data.get(i);
+				column = 0;
+			}
+			column += data.get(i + 1);
+			tokens.add(new int[] { line, column, data.get(i + 2), data.get(i + 3), data.get(i + 4) });
+		}
+		return tokens;
+	}
+
 	private String getURI(String compilationUnitName) {
 		return JDTUtils.toURI(fooPackage.getCompilationUnit(compilationUnitName));
 	}
@@ -13,14 +13,20 @@
 
 package org.eclipse.jdt.ls.core.internal.handlers;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
 
 import java.io.File;
 import java.lang.reflect.Field;
 import java.net.URI;
 import java.net.URL;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
 
 import org.eclipse.jdt.core.IClasspathEntry;
 import org.eclipse.jdt.core.IJavaProject;
@@ -64,4 +70,78 @@ public class SharedIndexTest extends AbstractProjectsManagerBasedTest {
 			SHARED_INDEX_LOCATION.set(ClasspathEntry.class, null);
 		}
 	}
+
+	@Test
+	public void testPrebuiltIndexes() throws Exception {
+		final String sharedIndexKey = "jdt.core.sharedIndexLocation";
+		Field SHARED_INDEX_LOCATION = ClasspathEntry.class.getDeclaredField("SHARED_INDEX_LOCATION");
+		SHARED_INDEX_LOCATION.setAccessible(true);
+		try {
+			Path newIndexPath = Paths.get(getWorkingProjectDirectory().toString(), ".index");
+			Path exportPath = Paths.get(getWorkingProjectDirectory().toString(), ".export");
+			Path prebuiltPath = Paths.get(getWorkingProjectDirectory().toString(), ".prebuilt");
+			System.setProperty(sharedIndexKey, newIndexPath.toString());
+			System.setProperty(IndexUtils.EXPORT_INDEX_LOCATION, exportPath.toString());
+			SHARED_INDEX_LOCATION.set(ClasspathEntry.class, newIndexPath.toString());
+
+			IJavaProject javaProject = newEmptyProject();
+			IndexUtils.copyIndexesToSharedLocation();
+			IndexUtils.exportPrebuiltIndexes();
+			String[] bundles = exportPath.toFile().list((dir, name) -> name.endsWith(".index"));
+			assertNotNull(bundles);
+			assertTrue("index bundles should be exported", bundles.length > 0);
+			Files.createDirectories(prebuiltPath);
+			for (String bundle : bundles) {
+				Path checksum = exportPath.resolve(bundle + ".sha256");
+				assertTrue("index bundles should have a checksum", checksum.toFile().exists());
+				Files.copy(exportPath.resolve(bundle), prebuiltPath.resolve(bundle));
+				Files.copy(checksum, prebuiltPath.resolve(bundle + ".sha256"));
+			}
+
+			// the libraries whose bundle is up to date aren't exported again
+			Path checksum = exportPath.resolve(bundles[0] + ".sha256");
+			FileTime exported = Files.getLastModifiedTime(checksum);
+			IndexUtils.exportPrebuiltIndexes();
+			assertEquals(exported, Files.getLastModifiedTime(checksum));
+
+			System.setProperty(IndexUtils.PREBUILT_INDEX_LOCATION, prebuiltPath.toString());
+			IClasspathEntry[] entries = ((JavaProject) javaProject).getResolvedClasspath();
+			deleteSharedIndexes(entries);
+			IndexUtils.importPrebuiltIndexes();
+			for (IClasspathEntry entry : entries) {
+				if (entry.getEntryKind() == IClasspathEntry.CPE_LIBRARY) {
+					assertTrue("prebuilt index should be copied to the shared location", getSharedIndexFile(entry).exists());
+				}
+			}
+
+			// the bundles that don't match their checksum are rejected
+			for (String bundle : bundles) {
+				Files.write(prebuiltPath.resolve(bundle), new byte[] { 0 }, StandardOpenOption.APPEND);
+			}
+			deleteSharedIndexes(entries);
+			IndexUtils.importPrebuiltIndexes();
+			for (IClasspathEntry entry : entries) {
+				if (entry.getEntryKind() == IClasspathEntry.CPE_LIBRARY) {
+					assertFalse("tampered index should not be copied to the shared location", getSharedIndexFile(entry).exists());
+				}
+			}
+		} finally {
+			System.clearProperty(sharedIndexKey);
+			System.clearProperty(IndexUtils.EXPORT_INDEX_LOCATION);
+			System.clearProperty(IndexUtils.PREBUILT_INDEX_LOCATION);
+			SHARED_INDEX_LOCATION.set(ClasspathEntry.class, null);
+		}
+	}
+
+	private static void deleteSharedIndexes(IClasspathEntry[] entries) throws Exception {
+		for (IClasspathEntry entry : entries) {
+			if (entry.getEntryKind() == IClasspathEntry.CPE_LIBRARY) {
+				Files.deleteIfExists(getSharedIndexFile(entry).toPath());
+			}
+		}
+	}
+
+	private static File getSharedIndexFile(IClasspathEntry entry) throws Exception {
+		return new File(new URI(((ClasspathEntry) entry).getLibraryIndexLocation().toExternalForm()));
+	}
 }
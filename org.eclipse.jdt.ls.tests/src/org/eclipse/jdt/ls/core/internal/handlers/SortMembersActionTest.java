@@ -26,6 +26,7 @@ import org.eclipse.jdt.ls.core.internal.JavaClientConnection;
 import org.eclipse.jdt.ls.core.internal.JavaCodeActionKind;
 import org.eclipse.jdt.ls.core.internal.LanguageServerWorkingCopyOwner;
 import org.eclipse.lsp4j.CodeAction;
+import org.eclipse.lsp4j.CodeActionKind;
 import org.eclipse.lsp4j.CodeActionParams;
 import org.eclipse.lsp4j.Command;
 import org.eclipse.lsp4j.jsonrpc.messages.Either;
@@ -92,6 +93,26 @@ public class SortMembersActionTest extends AbstractCompilationUnitBasedTest {
 		Assert.assertNull(sortMemberAction);
 	}
 
+	@Test
+	public void testSortMemberActionNotRequested() throws JavaModelException {
+		//@formatter:off
+		ICompilationUnit unit = fPackageP.createCompilationUnit("A.java", "package p;\r\n" +
+				"\r\n" +
+				"public class A {\r\n" +
+				"	private String name;\r\n" +
+				"	private String getPrivateStr() { return \"private\"; }\r\n" +
+				"	public String publicName;\r\n" +
+				"}"
+				, true, null);
+		//@formatter:on
+		CodeActionParams params = CodeActionUtil.constructCodeActionParams(unit, "String name");
+		params.getContext().setOnly(List.of(CodeActionKind.SourceOrganizeImports));
+		List<Either<Command, CodeAction>> codeActions = server.codeAction(params).join();
+		Assert.assertNotNull(codeActions);
+		Either<Command, CodeAction> sortMemberAction = CodeActionHandlerTest.findAction(codeActions, JavaCodeActionKind.SOURCE_SORT_MEMBERS, "Sort Members for 'A.java'");
+		Assert.assertNull(sortMemberAction);
+	}
+
 	@Test
 	public void testSortMemberActionExistsWithVolatileChanges() throws JavaModelException {
 		//@formatter:off
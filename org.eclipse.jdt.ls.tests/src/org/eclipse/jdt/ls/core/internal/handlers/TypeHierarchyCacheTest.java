@@ -0,0 +1,93 @@
+/*******************************************************************************
+ * Copyright (c) 2024 Red Hat Inc. and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Red Hat Inc. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ls.core.internal.handlers;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.IPackageFragment;
+import org.eclipse.jdt.core.IPackageFragmentRoot;
+import org.eclipse.jdt.core.IType;
+import org.eclipse.jdt.core.ITypeHierarchy;
+import org.eclipse.jdt.ls.core.internal.managers.AbstractProjectsManagerBasedTest;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class TypeHierarchyCacheTest extends AbstractProjectsManagerBasedTest {
+
+	private IPackageFragment pack;
+	private IType base;
+
+	@Before
+	public void setup() throws Exception {
+		IJavaProject javaProject = newEmptyProject();
+		IPackageFragmentRoot sourceFolder = javaProject.getPackageFragmentRoot(javaProject.getProject().getFolder("src"));
+		pack = sourceFolder.createPackageFragment("test1", false, null);
+		ICompilationUnit unit = pack.createCompilationUnit("Base.java", "package test1;\npublic class Base {\n}\n", false, null);
+		pack.createCompilationUnit("A.java", "package test1;\npublic class A extends Base {\n}\n", false, null);
+		base = unit.getType("Base");
+		TypeHierarchyCache.getInstance().clear();
+	}
+
+	@After
+	public void tearDown() {
+		TypeHierarchyCache.getInstance().clear();
+	}
+
+	@Test
+	public void testCachedHierarchy() throws Exception {
+		TypeHierarchyCache cache = TypeHierarchyCache.getInstance();
+		ITypeHierarchy hierarchy = cache.getTypeHierarchy(base, new NullProgressMonitor());
+		assertEquals(1, hierarchy.getAllSubtypes(base).length);
+		assertSame(hierarchy, cache.getTypeHierarchy(base, new NullProgressMonitor()));
+		assertNotSame(hierarchy, cache.getSupertypeHierarchy(base, new NullProgressMonitor()));
+	}
+
+	@Test
+	public void testReplacedHierarchy() throws Exception {
+		TypeHierarchyCache cache = TypeHierarchyCache.getInstance();
+		ITypeHierarchy hierarchy = cache.getTypeHierarchy(base, new NullProgressMonitor());
+		assertEquals(1, hierarchy.getAllSubtypes(base).length);
+
+		pack.createCompilationUnit("B.java", "package test1;\npublic class B extends Base {\n}\n", false, null);
+
+		// the stale hierarchy is replaced, rather than modified under its readers
+		ITypeHierarchy newHierarchy = cache.getTypeHierarchy(base, new NullProgressMonitor());
+		assertNotSame(hierarchy, newHierarchy);
+		assertEquals(2, newHierarchy.getAllSubtypes(base).length);
+		assertEquals(1, hierarchy.getAllSubtypes(base).length);
+	}
+
+	@Test
+	public void testEvictedHierarchy() throws Exception {
+		TypeHierarchyCache cache = TypeHierarchyCache.getInstance();
+		ITypeHierarchy hierarchy = cache.getSupertypeHierarchy(base, new NullProgressMonitor());
+		StringBuilder source = new StringBuilder("package test1;\npublic class Many {\n");
+		for (int i = 0; i < 40; i++) {
+			source.append("	static class Member").append(i).append(" {\n	}\n");
+		}
+		source.append("}\n");
+		IType many = pack.createCompilationUnit("Many.java", source.toString(), false, null).getType("Many");
+		for (IType member : many.getTypes()) {
+			cache.getSupertypeHierarchy(member, new NullProgressMonitor());
+		}
+
+		// the cache is bounded by its number of hierarchies, however small
+		assertNotSame(hierarchy, cache.getSupertypeHierarchy(base, new NullProgressMonitor()));
+	}
+}
@@ -19,6 +19,8 @@ import static org.junit.Assert.assertTrue;
 
 import java.io.File;
 import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 
@@ -158,6 +160,39 @@ public class WorkspaceEventHandlerTest extends AbstractProjectsManagerBasedTest
 		assertEquals(0L, diags.get(6).getDiagnostics().size());
 	}
 
+	@Test
+	public void testCollapseFileEvents() throws Exception {
+		// @formatter:off
+		List<FileEvent> events = new ArrayList<>(WorkspaceEventsHandler.collapse(Arrays.asList(
+			new FileEvent("file:///a/A.java", FileChangeType.Created),
+			new FileEvent("file:///a/B.java", FileChangeType.Changed),
+			new FileEvent("file:///a/A.java", FileChangeType.Changed),
+			new FileEvent("file:///a/C.java", FileChangeType.Deleted),
+			new FileEvent("file:///a/B.java", FileChangeType.Deleted),
+			new FileEvent("file:///a/C.java", FileChangeType.Created)
+		)));
+		// @formatter:on
+		assertEquals(3, events.size());
+		assertEquals(new FileEvent("file:///a/A.java", FileChangeType.Created), events.get(0));
+		assertEquals(new FileEvent("file:///a/B.java", FileChangeType.Deleted), events.get(1));
+		assertEquals(new FileEvent("file:///a/C.java", FileChangeType.Changed), events.get(2));
+	}
+
+	@Test
+	public void testBatchStatistics() throws Exception {
+		importProjects("eclipse/hello");
+		IProject project = ResourcesPlugin.getWorkspace().getRoot().getProject("hello");
+		String uri = JDTUtils.getFileURI(project.getFile("src/org/sample/Foo.java"));
+		WorkspaceEventsHandler eventsHandler = new WorkspaceEventsHandler(projectsManager, javaClient, lifeCycleHandler);
+		eventsHandler.handleFileEvents(new FileEvent(uri, FileChangeType.Changed), new FileEvent(uri, FileChangeType.Changed));
+		waitForBackgroundJobs();
+		assertEquals(1, eventsHandler.getBatchCount());
+		assertEquals(2, eventsHandler.getEventCount());
+		assertEquals(1, eventsHandler.getCoalescedEventCount());
+		assertEquals(2, eventsHandler.getLastBatchSize());
+		assertTrue(eventsHandler.getLastBatchLatency() >= 0);
+	}
+
 	private void assertEndsWith(String target, String suffix) {
 		if (target.endsWith("/")) {
 			target = target.substring(0, target.length() - 1);
@@ -0,0 +1,89 @@
+/*******************************************************************************
+ * Copyright (c) 2024 Red Hat Inc. and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Red Hat Inc. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ls.core.internal.managers;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.nio.file.Files;
+
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.IPackageFragmentRoot;
+import org.eclipse.jdt.core.JavaCore;
+import org.eclipse.jdt.ls.core.internal.WorkspaceHelper;
+import org.eclipse.jdt.ls.core.internal.managers.SourceAttachmentIndex.Attachment;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class SourceAttachmentIndexTest extends AbstractProjectsManagerBasedTest {
+
+	private IProject project;
+	private IPackageFragmentRoot root;
+	private File stateFile;
+
+	@Before
+	public void setup() throws Exception {
+		// the shared index file isn't modified by the tests
+		stateFile = Files.createTempFile("source-attachments", ".json").toFile();
+		Files.delete(stateFile.toPath());
+		importProjects("eclipse/source-attachment");
+		project = WorkspaceHelper.getProject("source-attachment");
+		IJavaProject javaProject = JavaCore.create(project);
+		root = javaProject.getPackageFragmentRoot(project.getFile("foo.jar"));
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		Files.deleteIfExists(stateFile.toPath());
+	}
+
+	@Test
+	public void testIndexedSourceAttachment() throws Exception {
+		SourceAttachmentIndex index = new SourceAttachmentIndex(stateFile);
+		assertNull(root.getSourceAttachmentPath());
+		assertNull(index.get(root));
+		assertFalse(index.attachSource(root, monitor));
+
+		IPath sourcePath = project.getFile("foo-sources.jar").getLocation();
+		root.attachSource(sourcePath, null, monitor);
+		index.record(root);
+		root.attachSource(null, null, monitor);
+		assertNull(root.getSourceAttachmentPath());
+
+		Attachment attachment = index.get(root);
+		assertNotNull(attachment);
+		assertEquals(sourcePath.toOSString(), attachment.sourcePath());
+		assertTrue(index.attachSource(root, monitor));
+		assertEquals(sourcePath, root.getSourceAttachmentPath());
+	}
+
+	@Test
+	public void testPersistedSourceAttachment() throws Exception {
+		IPath sourcePath = project.getFile("foo-sources.jar").getLocation();
+		root.attachSource(sourcePath, null, monitor);
+		new SourceAttachmentIndex(stateFile).record(root);
+		root.attachSource(null, null, monitor);
+		assertTrue(stateFile.isFile());
+
+		Attachment attachment = new SourceAttachmentIndex(stateFile).get(root);
+		assertNotNull(attachment);
+		assertEquals(sourcePath.toOSString(), attachment.sourcePath());
+	}
+}
@@ -190,6 +190,22 @@ public class PreferenceManagerTest {
 		assertFalse("A listener has been called", called[0]);
 	}
 
+	@Test
+	public void testPreferencesChangeListenerKeys() throws Exception {
+		PreferenceManager.initialize();
+		int called[] = new int[1];
+		IPreferencesChangeListener listener = (oldPreferences, newPreferences) -> called[0]++;
+		preferenceManager.addPreferencesChangeListener(listener, Preferences.JAVA_INLAYHINTS_PARAMETERNAMES_ENABLED);
+		// the configuration of the initial preferences is unknown
+		preferenceManager.update(Preferences.createFrom(Map.<String, Object>of(Preferences.JAVA_INLAYHINTS_PARAMETERNAMES_ENABLED, "all")));
+		assertEquals(1, called[0]);
+		preferenceManager.update(Preferences.createFrom(Map.<String, Object>of(Preferences.JAVA_INLAYHINTS_PARAMETERNAMES_ENABLED, "all", Preferences.JAVA_CODEACTION_SORTMEMBER_AVOIDVOLATILECHANGES, false)));
+		assertEquals("A listener has been called for an unrelated key", 1, called[0]);
+		preferenceManager.update(Preferences.createFrom(Map.<String, Object>of("java", Map.of("inlayHints", Map.of("parameterNames", Map.of("enabled", "none"))))));
+		assertEquals(2, called[0]);
+		preferenceManager.removePreferencesChangeListener(listener);
+	}
+
 	@Test
 	public void testUpdateFileHeaderTemplate() {
 		PreferenceManager.initialize();
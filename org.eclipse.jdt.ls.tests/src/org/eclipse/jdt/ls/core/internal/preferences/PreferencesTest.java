@@ -14,6 +14,9 @@
 package org.eclipse.jdt.ls.core.internal.preferences;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -66,4 +69,27 @@ public class PreferencesTest {
 		assertEquals(CompletionGuessMethodArgumentsMode.INSERT_BEST_GUESSED_ARGUMENTS, preferences.getGuessMethodArgumentsMode());
 	}
 
+	@Test
+	public void testDiff() throws Exception {
+		Map<String, Object> configuration = new HashMap<>();
+		configuration.put(Preferences.JAVA_FORMATTER_URL, "formatter.xml");
+		configuration.put("java", Map.of("inlayHints", Map.of("parameterNames", Map.of("enabled", "all"))));
+		Preferences oldPreferences = Preferences.createFrom(configuration);
+		Map<String, Object> newConfiguration = new HashMap<>(configuration);
+		newConfiguration.put("java", Map.of("inlayHints", Map.of("parameterNames", Map.of("enabled", "none"))));
+		PreferencesDiff diff = PreferencesDiff.compute(oldPreferences, Preferences.createFrom(newConfiguration));
+		assertTrue(diff.affects(Preferences.JAVA_INLAYHINTS_PARAMETERNAMES_ENABLED));
+		assertTrue(diff.affects("java.inlayHints"));
+		assertFalse(diff.affects("java.inlay"));
+		assertFalse(diff.affects(Preferences.JAVA_FORMATTER_URL, Preferences.JAVA_HOME));
+
+		diff = PreferencesDiff.compute(oldPreferences, Preferences.createFrom(new HashMap<>(configuration)));
+		assertTrue(diff.isEmpty());
+		assertFalse(diff.affects(Preferences.JAVA_FORMATTER_URL));
+
+		// the configuration of preferences created programmatically is unknown
+		diff = PreferencesDiff.compute(oldPreferences, new Preferences());
+		assertNull(diff.getChangedKeys());
+		assertTrue(diff.affects(Preferences.JAVA_HOME));
+	}
 }